@@ -0,0 +1,242 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.checker;
+
+import static java.util.Arrays.asList;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.STATIC;
+import static org.checkerframework.javacutil.TreeUtils.elementFromDeclaration;
+import static org.checkerframework.javacutil.TreeUtils.elementFromUse;
+
+import java.io.PrintWriter;
+import java.util.List;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+
+import org.jooq.ConstantQuery;
+import org.jooq.QueryPart;
+import org.jooq.SQLDialect;
+import org.jooq.Support;
+
+import org.checkerframework.framework.source.SourceVisitor;
+
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreeScanner;
+
+/**
+ * A checker to verify that queries annotated with {@link ConstantQuery} are
+ * statically constant, and that all of their jOOQ API usage is
+ * {@link Support}-ed by the dialects listed in the annotation.
+ * <p>
+ * Rendering the queries' SQL at compile time is not possible, as that would
+ * require executing code that is still being compiled. Constant queries are
+ * rendered only once at runtime instead, through
+ * {@link org.jooq.DSLContext#prepareTemplate(org.jooq.ResultQuery)}.
+ */
+public class ConstantQueryChecker extends AbstractChecker {
+
+    @Override
+    protected SourceVisitor<Void, Void> createSourceVisitor() {
+        return new SourceVisitor<Void, Void>(getChecker()) {
+
+            @Override
+            public Void visitVariable(VariableTree node, Void p) {
+                try {
+                    Element element = elementFromDeclaration(node);
+                    ConstantQuery constant = element.getAnnotation(ConstantQuery.class);
+
+                    if (constant != null) {
+                        if (!element.getModifiers().contains(STATIC) || !element.getModifiers().contains(FINAL))
+                            error(node, "@ConstantQuery fields must be static final.");
+                        else if (node.getInitializer() == null)
+                            error(node, "@ConstantQuery fields must be initialised.");
+                        else
+                            check(node.getInitializer(), constant);
+                    }
+                }
+                catch (final Exception e) {
+                    print(e);
+                }
+
+                return super.visitVariable(node, p);
+            }
+
+            @Override
+            public Void visitMethod(MethodTree node, Void p) {
+                try {
+                    Element element = elementFromDeclaration(node);
+                    ConstantQuery constant = element.getAnnotation(ConstantQuery.class);
+
+                    if (constant != null) {
+                        List<? extends StatementTree> statements = node.getBody() == null ? null : node.getBody().getStatements();
+
+                        if (!element.getModifiers().contains(STATIC) || !node.getParameters().isEmpty())
+                            error(node, "@ConstantQuery methods must be static and must not have any parameters.");
+                        else if (statements == null || statements.size() != 1 || !(statements.get(0) instanceof ReturnTree))
+                            error(node, "@ConstantQuery methods must consist of a single return statement.");
+                        else
+                            check(((ReturnTree) statements.get(0)).getExpression(), constant);
+                    }
+                }
+                catch (final Exception e) {
+                    print(e);
+                }
+
+                return super.visitMethod(node, p);
+            }
+
+            private void check(ExpressionTree expression, final ConstantQuery constant) {
+                final TypeMirror queryPart = types.erasure(elements.getTypeElement(QueryPart.class.getName()).asType());
+
+                expression.accept(new TreeScanner<Void, Void>() {
+
+                    @Override
+                    public Void visitIdentifier(IdentifierTree node, Void p) {
+                        Element element = elementFromUse(node);
+
+                        if (element != null && isVariable(element) && !isConstant(element, true))
+                            error(node, "Only static final fields may be referenced from a @ConstantQuery: " + node.getName());
+
+                        return super.visitIdentifier(node, p);
+                    }
+
+                    @Override
+                    public Void visitMemberSelect(MemberSelectTree node, Void p) {
+                        Element element = elementFromUse(node);
+
+                        // Instance members are constant if their (scanned) receiver is
+                        if (element != null && isVariable(element) && !isConstant(element, false))
+                            error(node, "Only final fields may be referenced from a @ConstantQuery: " + node.getIdentifier());
+
+                        return super.visitMemberSelect(node, p);
+                    }
+
+                    @Override
+                    public Void visitMethodInvocation(MethodInvocationTree node, Void p) {
+                        ExecutableElement method = elementFromUse(node);
+                        TypeElement type = (TypeElement) method.getEnclosingElement();
+
+                        if (!elements.getPackageOf(type).getQualifiedName().toString().startsWith("org.jooq")
+                                && !types.isSubtype(types.erasure(type.asType()), queryPart))
+                            error(node, "Only jOOQ API may be called from a @ConstantQuery: " + method.getSimpleName());
+
+                        Support support = method.getAnnotation(Support.class);
+
+                        // [#7929] "Empty" @Support annotations expand to all SQLDialects
+                        if (support != null && support.value().length > 0)
+                            requiredLoop:
+                            for (SQLDialect r : constant.value()) {
+                                for (SQLDialect s : support.value())
+                                    if (r.supports(s))
+                                        continue requiredLoop;
+
+                                error(node, "Method " + method.getSimpleName() + " cannot be rendered for " + r + ". Supported dialects: " + asList(support.value()));
+                            }
+
+                        return super.visitMethodInvocation(node, p);
+                    }
+
+                    @Override
+                    public Void visitNewClass(NewClassTree node, Void p) {
+                        error(node, "Objects may not be created in a @ConstantQuery.");
+                        return super.visitNewClass(node, p);
+                    }
+
+                    @Override
+                    public Void visitLambdaExpression(LambdaExpressionTree node, Void p) {
+                        error(node, "Lambda expressions are not allowed in a @ConstantQuery.");
+                        return null;
+                    }
+
+                    @Override
+                    public Void visitMemberReference(MemberReferenceTree node, Void p) {
+                        error(node, "Method references are not allowed in a @ConstantQuery.");
+                        return null;
+                    }
+                }, null);
+            }
+        };
+    }
+
+    static boolean isVariable(Element element) {
+        switch (element.getKind()) {
+            case FIELD:
+            case ENUM_CONSTANT:
+            case LOCAL_VARIABLE:
+            case PARAMETER:
+            case EXCEPTION_PARAMETER:
+            case RESOURCE_VARIABLE:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    static boolean isConstant(Element element, boolean requireStatic) {
+        if (element.getKind() == ElementKind.ENUM_CONSTANT)
+            return true;
+        else if (element.getKind() != ElementKind.FIELD || !element.getModifiers().contains(FINAL))
+            return false;
+        else
+            return !requireStatic || element.getModifiers().contains(STATIC);
+    }
+
+    static void print(final Exception e) {
+        print(new Printer() {
+            @Override
+            public void print(PrintWriter t) {
+                e.printStackTrace(t);
+            }
+        });
+    }
+}
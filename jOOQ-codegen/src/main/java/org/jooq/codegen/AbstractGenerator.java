@@ -124,6 +124,7 @@ abstract class AbstractGenerator implements Generator {
     boolean                            generateEmptyCatalogs              = false;
     boolean                            generateEmptySchemas               = false;
     boolean                            generatePrimaryKeyTypes            = false;
+    boolean                            generateLazyReferences             = false;
 
     protected GeneratorStrategyWrapper strategy;
     protected String                   targetEncoding                     = "UTF-8";
@@ -893,6 +894,16 @@ abstract class AbstractGenerator implements Generator {
         this.generatePrimaryKeyTypes = generatePrimaryKeyTypes;
     }
 
+    @Override
+    public boolean generateLazyReferences() {
+        return generateLazyReferences;
+    }
+
+    @Override
+    public void setGenerateLazyReferences(boolean generateLazyReferences) {
+        this.generateLazyReferences = generateLazyReferences;
+    }
+
     // ----
 
     @Override
@@ -54,6 +54,7 @@ import java.io.StringReader;
 import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
@@ -560,6 +561,9 @@ public class GenerationTool {
                     log.warn("Order provider must be of type java.util.Comparator: " + orderProvider);
             }
 
+            if (!StringUtils.isBlank(d.getQueryFiles()))
+                database.setQueryFiles(queryFiles(d.getQueryFiles()));
+
             if (d.getEnumTypes().size() > 0)
                 log.warn("DEPRECATED", "The configuration property /configuration/generator/database/enumTypes is experimental and deprecated and will be removed in the future.");
             if (Boolean.TRUE.equals(d.isDateAsTimestamp()))
@@ -718,6 +722,8 @@ public class GenerationTool {
                 generator.setGenerateEmptySchemas(g.getGenerate().isEmptySchemas());
             if (g.getGenerate().isPrimaryKeyTypes() != null)
                 generator.setGeneratePrimaryKeyTypes(g.getGenerate().isPrimaryKeyTypes());
+            if (g.getGenerate().isLazyReferences() != null)
+                generator.setGenerateLazyReferences(g.getGenerate().isLazyReferences());
 
 
             // [#3669] Optional Database element
@@ -780,6 +786,37 @@ public class GenerationTool {
         return result;
     }
 
+    private List<File> queryFiles(String paths) {
+        List<File> result = new ArrayList<File>();
+
+        for (String path : paths.split(",")) {
+            File file = new File(path.trim());
+
+            if (file.isDirectory())
+                queryFiles(file, result);
+            else if (file.isFile())
+                result.add(file);
+            else
+                log.warn("Query file not found", file);
+        }
+
+        return result;
+    }
+
+    private void queryFiles(File directory, List<File> result) {
+        File[] files = directory.listFiles();
+
+        if (files != null) {
+            Arrays.sort(files);
+
+            for (File file : files)
+                if (file.isDirectory())
+                    queryFiles(file, result);
+                else if (file.getName().toLowerCase().endsWith(".sql"))
+                    result.add(file);
+        }
+    }
+
     private String driverClass(Jdbc j) {
         String result = j.getDriver();
 
@@ -763,6 +763,18 @@ public interface Generator {
      */
     void setGeneratePrimaryKeyTypes(boolean generatePrimaryKeyTypes);
 
+    /**
+     * Whether keys, indexes and schema table lookups should be initialised
+     * lazily, per table.
+     */
+    boolean generateLazyReferences();
+
+    /**
+     * Whether keys, indexes and schema table lookups should be initialised
+     * lazily, per table.
+     */
+    void setGenerateLazyReferences(boolean generateLazyReferences);
+
     /**
      * The target directory
      */
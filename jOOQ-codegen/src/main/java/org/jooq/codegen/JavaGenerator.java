@@ -54,6 +54,7 @@ import static org.jooq.tools.StringUtils.defaultString;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.io.Serializable;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
 import java.sql.Date;
@@ -70,6 +71,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.regex.Matcher;
@@ -81,6 +83,7 @@ import org.jooq.AggregateFunction;
 import org.jooq.Catalog;
 import org.jooq.Configuration;
 import org.jooq.Constants;
+import org.jooq.DSLContext;
 import org.jooq.DataType;
 import org.jooq.EnumType;
 import org.jooq.Field;
@@ -93,8 +96,15 @@ import org.jooq.OrderField;
 import org.jooq.Package;
 import org.jooq.Parameter;
 import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.RecordMapperProvider;
+import org.jooq.RecordType;
+import org.jooq.RecordUnmapper;
+import org.jooq.RecordUnmapperProvider;
 import org.jooq.Result;
+import org.jooq.ResultQuery;
 import org.jooq.Row;
+import org.jooq.SQLDialect;
 import org.jooq.Schema;
 import org.jooq.Sequence;
 import org.jooq.SortOrder;
@@ -111,6 +121,8 @@ import org.jooq.impl.CatalogImpl;
 import org.jooq.impl.DAOImpl;
 import org.jooq.impl.DSL;
 import org.jooq.impl.DefaultDataType;
+import org.jooq.impl.DefaultRecordMapperProvider;
+import org.jooq.impl.DefaultRecordUnmapperProvider;
 import org.jooq.impl.Internal;
 import org.jooq.impl.PackageImpl;
 import org.jooq.impl.SQLDataType;
@@ -340,6 +352,7 @@ public class JavaGenerator extends AbstractGenerator {
         log.info("  interfaces (immutable)", generateInterfaces());
         log.info("  javadoc", generateJavadoc());
         log.info("  keys", generateKeys());
+        log.info("  lazy references", generateLazyReferences());
         log.info("  links", generateLinks());
         log.info("  pojos", generatePojos()
               + ((!generatePojos && generateDaos) ? " (forced to true because of <daos/>)" :
@@ -389,6 +402,9 @@ public class JavaGenerator extends AbstractGenerator {
             }
         }
 
+        if (!database.getQueryFiles().isEmpty())
+            generateQueries();
+
         // [#5556] Clean up common parent directory
         log.info("Removing excess files");
         empty(getStrategy().getFileRoot(), (scala ? ".scala" : ".java"), files, directoriesNotForRemoval);
@@ -535,6 +551,10 @@ public class JavaGenerator extends AbstractGenerator {
             generateInterfaces(schema);
         }
 
+        if (generatePojos() && generateRecords() && database.getTables(schema).size() > 0) {
+            generateMappers(schema);
+        }
+
         if (generateUDTs() && database.getUDTs(schema).size() > 0) {
             generateUDTs(schema);
         }
@@ -752,8 +772,8 @@ public class JavaGenerator extends AbstractGenerator {
                         out.tab(1).println("val IDENTITY_%s = Identities%s.IDENTITY_%s",
                                 identityId, block, identityId);
                     else
-                        out.tab(1).println("public static final %s<%s, %s> IDENTITY_%s = Identities%s.IDENTITY_%s;",
-                            Identity.class, identityType, columnType, identityId, block, identityId);
+                        out.tab(1).println("public static final %s<%s, %s> IDENTITY_%s = %s.IDENTITY_%s;",
+                            Identity.class, identityType, columnType, identityId, lazyReferences() ? holder(identity) : "Identities" + block, identityId);
 
                     allIdentities.add(identity);
                 }
@@ -781,7 +801,7 @@ public class JavaGenerator extends AbstractGenerator {
                     if (scala)
                         out.tab(1).println("val %s = UniqueKeys%s.%s", keyId, block, keyId);
                     else
-                        out.tab(1).println("public static final %s<%s> %s = UniqueKeys%s.%s;", UniqueKey.class, keyType, keyId, block, keyId);
+                        out.tab(1).println("public static final %s<%s> %s = %s.%s;", UniqueKey.class, keyType, keyId, lazyReferences() ? holder(uniqueKey) : "UniqueKeys" + block, keyId);
 
                     allUniqueKeys.add(uniqueKey);
                 }
@@ -810,7 +830,7 @@ public class JavaGenerator extends AbstractGenerator {
                     if (scala)
                         out.tab(1).println("val %s = ForeignKeys%s.%s", keyId, block, keyId);
                     else
-                        out.tab(1).println("public static final %s<%s, %s> %s = ForeignKeys%s.%s;", ForeignKey.class, keyType, referencedType, keyId, block, keyId);
+                        out.tab(1).println("public static final %s<%s, %s> %s = %s.%s;", ForeignKey.class, keyType, referencedType, keyId, lazyReferences() ? holder(foreignKey) : "ForeignKeys" + block, keyId);
 
                     allForeignKeys.add(foreignKey);
                 }
@@ -820,48 +840,59 @@ public class JavaGenerator extends AbstractGenerator {
             }
         }
 
-        // [#1459] Print nested classes for actual static field initialisations
-        // keeping top-level initialiser small
-        int identityCounter = 0;
-        int uniqueKeyCounter = 0;
-        int foreignKeyCounter = 0;
+        if (lazyReferences()) {
+            List<Definition> keys = new ArrayList<Definition>();
+            keys.addAll(allIdentities);
+            keys.addAll(allUniqueKeys);
+            keys.addAll(allForeignKeys);
 
-        out.tab(1).header("[#1459] distribute members to avoid static initialisers > 64kb");
+            printHolders(out, keys);
+        }
+        else {
 
-        // Identities
-        // ----------
+            // [#1459] Print nested classes for actual static field initialisations
+            // keeping top-level initialiser small
+            int identityCounter = 0;
+            int uniqueKeyCounter = 0;
+            int foreignKeyCounter = 0;
 
-        for (IdentityDefinition identity : allIdentities) {
-            printIdentity(out, identityCounter, identity);
-            identityCounter++;
-        }
+            out.tab(1).header("[#1459] distribute members to avoid static initialisers > 64kb");
 
-        if (identityCounter > 0) {
-            out.tab(1).println("}");
-        }
+            // Identities
+            // ----------
 
-        // UniqueKeys
-        // ----------
+            for (IdentityDefinition identity : allIdentities) {
+                printIdentity(out, identityCounter, identity);
+                identityCounter++;
+            }
 
-        for (UniqueKeyDefinition uniqueKey : allUniqueKeys) {
-            printUniqueKey(out, uniqueKeyCounter, uniqueKey);
-            uniqueKeyCounter++;
-        }
+            if (identityCounter > 0) {
+                out.tab(1).println("}");
+            }
 
-        if (uniqueKeyCounter > 0) {
-            out.tab(1).println("}");
-        }
+            // UniqueKeys
+            // ----------
 
-        // ForeignKeys
-        // -----------
+            for (UniqueKeyDefinition uniqueKey : allUniqueKeys) {
+                printUniqueKey(out, uniqueKeyCounter, uniqueKey);
+                uniqueKeyCounter++;
+            }
 
-        for (ForeignKeyDefinition foreignKey : allForeignKeys) {
-            printForeignKey(out, foreignKeyCounter, foreignKey);
-            foreignKeyCounter++;
-        }
+            if (uniqueKeyCounter > 0) {
+                out.tab(1).println("}");
+            }
 
-        if (foreignKeyCounter > 0) {
-            out.tab(1).println("}");
+            // ForeignKeys
+            // -----------
+
+            for (ForeignKeyDefinition foreignKey : allForeignKeys) {
+                printForeignKey(out, foreignKeyCounter, foreignKey);
+                foreignKeyCounter++;
+            }
+
+            if (foreignKeyCounter > 0) {
+                out.tab(1).println("}");
+            }
         }
 
         out.println("}");
@@ -910,7 +941,7 @@ public class JavaGenerator extends AbstractGenerator {
                     if (scala)
                         out.tab(1).println("val %s = Indexes%s.%s", keyId, block, keyId);
                     else
-                        out.tab(1).println("public static final %s %s = Indexes%s.%s;", Index.class, keyId, block, keyId);
+                        out.tab(1).println("public static final %s %s = %s.%s;", Index.class, keyId, lazyReferences() ? holder(index) : "Indexes" + block, keyId);
 
                     allIndexes.add(index);
                 }
@@ -920,22 +951,28 @@ public class JavaGenerator extends AbstractGenerator {
             }
         }
 
-        // [#1459] Print nested classes for actual static field initialisations
-        // keeping top-level initialiser small
-        int indexCounter = 0;
+        if (lazyReferences()) {
+            printHolders(out, new ArrayList<Definition>(allIndexes));
+        }
+        else {
+
+            // [#1459] Print nested classes for actual static field initialisations
+            // keeping top-level initialiser small
+            int indexCounter = 0;
 
-        out.tab(1).header("[#1459] distribute members to avoid static initialisers > 64kb");
+            out.tab(1).header("[#1459] distribute members to avoid static initialisers > 64kb");
 
-        // Indexes
-        // -------
+            // Indexes
+            // -------
 
-        for (IndexDefinition index : allIndexes) {
-            printIndex(out, indexCounter, index);
-            indexCounter++;
-        }
+            for (IndexDefinition index : allIndexes) {
+                printIndex(out, indexCounter, index);
+                indexCounter++;
+            }
 
-        if (indexCounter > 0) {
-            out.tab(1).println("}");
+            if (indexCounter > 0) {
+                out.tab(1).println("}");
+            }
         }
 
         out.println("}");
@@ -944,6 +981,98 @@ public class JavaGenerator extends AbstractGenerator {
         watch.splitInfo("Indexes generated");
     }
 
+    /**
+     * Whether keys, indexes and schema table lookups are initialised lazily,
+     * per table. This is currently only supported for Java.
+     */
+    private boolean lazyReferences() {
+        return generateLazyReferences() && !scala;
+    }
+
+    /**
+     * The per-table holder class of a key, identity or index, when
+     * {@link #lazyReferences()} is active.
+     * <p>
+     * Identities and unique keys only reference their own table. Foreign keys
+     * also reference the referenced table's unique key, so they get their own
+     * holder, to avoid initialising the referenced table along with a table's
+     * primary key.
+     */
+    private String holder(Definition definition) {
+        if (definition instanceof IdentityDefinition)
+            return "Keys_" + getStrategy().getJavaIdentifier(((IdentityDefinition) definition).getTable());
+        else if (definition instanceof UniqueKeyDefinition)
+            return "Keys_" + getStrategy().getJavaIdentifier(((UniqueKeyDefinition) definition).getTable());
+        else if (definition instanceof ForeignKeyDefinition)
+            return "ForeignKeys_" + getStrategy().getJavaIdentifier(((ForeignKeyDefinition) definition).getKeyTable());
+        else if (definition instanceof IndexDefinition)
+            return "Indexes_" + getStrategy().getJavaIdentifier(((IndexDefinition) definition).getTable());
+        else
+            throw new IllegalArgumentException("Unsupported definition: " + definition);
+    }
+
+    /**
+     * A reference to a key, identity or index from generated code, which
+     * bypasses the <code>Keys</code> and <code>Indexes</code> classes when
+     * {@link #lazyReferences()} is active.
+     */
+    private String refKey(JavaWriter out, Definition definition) {
+        String fullId = getStrategy().getFullJavaIdentifier(definition);
+
+        if (!lazyReferences())
+            return out.ref(fullId, 2);
+
+        String id = getStrategy().getJavaIdentifier(definition);
+        return out.ref(fullId.substring(0, fullId.length() - id.length()) + holder(definition) + "." + id, 3);
+    }
+
+    private List<String> refKeys(JavaWriter out, List<? extends Definition> definitions) {
+        List<String> result = new ArrayList<String>();
+
+        for (Definition definition : definitions)
+            result.add(refKey(out, definition));
+
+        return result;
+    }
+
+    /**
+     * Print the per-table holder classes of keys, identities or indexes, when
+     * {@link #lazyReferences()} is active.
+     */
+    private void printHolders(JavaWriter out, List<Definition> definitions) {
+        Map<String, List<Definition>> holders = new LinkedHashMap<String, List<Definition>>();
+
+        for (Definition definition : definitions) {
+            List<Definition> list = holders.get(holder(definition));
+
+            if (list == null) {
+                list = new ArrayList<Definition>();
+                holders.put(holder(definition), list);
+            }
+
+            list.add(definition);
+        }
+
+        out.tab(1).header("Per-table holders, initialised only when a table's members are used");
+
+        for (Entry<String, List<Definition>> entry : holders.entrySet()) {
+            out.println();
+            out.tab(1).println("public static class %s {", entry.getKey());
+
+            for (Definition definition : entry.getValue())
+                if (definition instanceof IdentityDefinition)
+                    printIdentity0(out, (IdentityDefinition) definition);
+                else if (definition instanceof UniqueKeyDefinition)
+                    printUniqueKey0(out, (UniqueKeyDefinition) definition);
+                else if (definition instanceof ForeignKeyDefinition)
+                    printForeignKey0(out, (ForeignKeyDefinition) definition);
+                else if (definition instanceof IndexDefinition)
+                    printIndex0(out, (IndexDefinition) definition);
+
+            out.tab(1).println("}");
+        }
+    }
+
     protected void printIndex(JavaWriter out, int indexCounter, IndexDefinition index) {
         final int block = indexCounter / INITIALISER_SIZE;
 
@@ -961,6 +1090,11 @@ public class JavaGenerator extends AbstractGenerator {
                 out.tab(1).println("private static class Indexes%s {", block);
         }
 
+        printIndex0(out, index);
+    }
+
+    private void printIndex0(JavaWriter out, IndexDefinition index) {
+
         // (Name name, Table<?> table, SortField<?>[] sortFields, boolean unique)
         String sortFieldSeparator = "";
         StringBuilder orderFields = new StringBuilder();
@@ -999,8 +1133,6 @@ public class JavaGenerator extends AbstractGenerator {
 
     protected void printIdentity(JavaWriter out, int identityCounter, IdentityDefinition identity) {
         final int block = identityCounter / INITIALISER_SIZE;
-        final String identityTypeFull = getJavaType(identity.getColumn().getType(resolver()));
-        final String identityType = out.ref(identityTypeFull);
 
         // Print new nested class
         if (identityCounter % INITIALISER_SIZE == 0) {
@@ -1016,6 +1148,13 @@ public class JavaGenerator extends AbstractGenerator {
                 out.tab(1).println("private static class Identities%s {", block);
         }
 
+        printIdentity0(out, identity);
+    }
+
+    private void printIdentity0(JavaWriter out, IdentityDefinition identity) {
+        final String identityTypeFull = getJavaType(identity.getColumn().getType(resolver()));
+        final String identityType = out.ref(identityTypeFull);
+
         printDeprecationIfUnknownType(out, identityTypeFull);
         if (scala)
             out.tab(2).print("val %s : %s[%s, %s] = ",
@@ -1068,6 +1207,10 @@ public class JavaGenerator extends AbstractGenerator {
                 out.tab(1).println("private static class UniqueKeys%s {", block);
         }
 
+        printUniqueKey0(out, uniqueKey);
+    }
+
+    private void printUniqueKey0(JavaWriter out, UniqueKeyDefinition uniqueKey) {
         if (scala)
             out.tab(2).print("val %s : %s[%s] = ",
                 getStrategy().getJavaIdentifier(uniqueKey),
@@ -1119,6 +1262,15 @@ public class JavaGenerator extends AbstractGenerator {
                 out.tab(1).println("private static class ForeignKeys%s {", block);
         }
 
+        printForeignKey0(out, foreignKey);
+    }
+
+    private void printForeignKey0(JavaWriter out, ForeignKeyDefinition foreignKey) {
+        final UniqueKeyDefinition referencedKey = foreignKey.getReferencedKey();
+        final String referencedKeyId = lazyReferences() && referencedKey.getSchema().equals(foreignKey.getSchema())
+            ? holder(referencedKey) + "." + getStrategy().getJavaIdentifier(referencedKey)
+            : refKey(out, referencedKey);
+
         if (scala)
         	out.tab(2).println("val %s : %s[%s, %s] = %s.createForeignKey(%s, %s, \"%s\", [[%s]])",
                 getStrategy().getJavaIdentifier(foreignKey),
@@ -1126,7 +1278,7 @@ public class JavaGenerator extends AbstractGenerator {
                 out.ref(getStrategy().getFullJavaClassName(foreignKey.getKeyTable(), Mode.RECORD)),
                 out.ref(getStrategy().getFullJavaClassName(foreignKey.getReferencedTable(), Mode.RECORD)),
                 Internal.class,
-                out.ref(getStrategy().getFullJavaIdentifier(foreignKey.getReferencedKey()), 2),
+                referencedKeyId,
                 out.ref(getStrategy().getFullJavaIdentifier(foreignKey.getKeyTable()), 2),
                 escapeString(foreignKey.getOutputName()),
                 out.ref(getStrategy().getFullJavaIdentifiers(foreignKey.getKeyColumns()), colRefSegments(null)));
@@ -1137,7 +1289,7 @@ public class JavaGenerator extends AbstractGenerator {
                 out.ref(getStrategy().getFullJavaClassName(foreignKey.getReferencedTable(), Mode.RECORD)),
                 getStrategy().getJavaIdentifier(foreignKey),
                 Internal.class,
-                out.ref(getStrategy().getFullJavaIdentifier(foreignKey.getReferencedKey()), 2),
+                referencedKeyId,
                 out.ref(getStrategy().getFullJavaIdentifier(foreignKey.getKeyTable()), 2),
                 escapeString(foreignKey.getOutputName()),
                 out.ref(getStrategy().getFullJavaIdentifiers(foreignKey.getKeyColumns()), colRefSegments(null)));
@@ -3902,7 +4054,7 @@ public class JavaGenerator extends AbstractGenerator {
             List<IndexDefinition> indexes = table.getIndexes();
 
             if (!indexes.isEmpty()) {
-                final List<String> indexFullIds = out.ref(getStrategy().getFullJavaIdentifiers(indexes), 2);
+                final List<String> indexFullIds = refKeys(out, indexes);
 
                 if (scala) {
                     out.println();
@@ -3928,7 +4080,7 @@ public class JavaGenerator extends AbstractGenerator {
                 final String identityTypeFull = getJavaType(identity.getColumn().getType(resolver()));
                 final String identityType = out.ref(identityTypeFull);
                 final String identityFullId = generateGlobalKeyReferences()
-                    ? out.ref(getStrategy().getFullJavaIdentifier(identity), 2)
+                    ? refKey(out, identity)
                     : null;
 
                 if (scala) {
@@ -3966,7 +4118,7 @@ public class JavaGenerator extends AbstractGenerator {
             // The primary / main unique key
             if (primaryKey != null) {
                 final String keyFullId = generateGlobalKeyReferences()
-                    ? out.ref(getStrategy().getFullJavaIdentifier(primaryKey), 2)
+                    ? refKey(out, primaryKey)
                     : null;
 
                 if (scala) {
@@ -3999,7 +4151,7 @@ public class JavaGenerator extends AbstractGenerator {
             List<UniqueKeyDefinition> uniqueKeys = table.getUniqueKeys();
             if (uniqueKeys.size() > 0) {
                 if (generateGlobalKeyReferences()) {
-                    final List<String> keyFullIds = out.ref(getStrategy().getFullJavaIdentifiers(uniqueKeys), 2);
+                    final List<String> keyFullIds = refKeys(out, uniqueKeys);
 
                     if (scala) {
                         out.println();
@@ -4056,7 +4208,7 @@ public class JavaGenerator extends AbstractGenerator {
 
             // [#7554] Not yet supported with global key references turned off
             if (foreignKeys.size() > 0 && generateGlobalKeyReferences()) {
-                final List<String> keyFullIds = out.ref(getStrategy().getFullJavaIdentifiers(foreignKeys), 2);
+                final List<String> keyFullIds = refKeys(out, foreignKeys);
 
                 if (scala) {
                     out.println();
@@ -4074,7 +4226,7 @@ public class JavaGenerator extends AbstractGenerator {
                 // Outbound (to-one) implicit join paths
                 if (generateImplicitJoinPathsToOne()) {
                     for (ForeignKeyDefinition foreignKey : foreignKeys) {
-                        final String keyFullId = out.ref(getStrategy().getFullJavaIdentifier(foreignKey), 2);
+                        final String keyFullId = refKey(out, foreignKey);
                         final String referencedTableClassName = out.ref(getStrategy().getFullJavaClassName(foreignKey.getReferencedTable()));
                         final String keyMethodName = out.ref(getStrategy().getJavaMethodName(foreignKey));
 
@@ -4429,6 +4581,366 @@ public class JavaGenerator extends AbstractGenerator {
         watch.splitInfo("Sequences generated");
     }
 
+    protected void generateQueries() {
+        log.info("Generating queries", "Total: " + database.getQueryFiles().size());
+
+        if (scala) {
+            log.warn("Query classes", "Query classes are currently only generated for Java");
+            return;
+        }
+
+        for (File file : database.getQueryFiles()) {
+            try {
+                generateQuery(new QueryFile(database, resolver(), file));
+            }
+            catch (Exception e) {
+                throw new GeneratorException("Error generating query class for " + file, e);
+            }
+        }
+
+        watch.splitInfo("Queries generated");
+    }
+
+    private void generateQuery(QueryFile query) {
+        final String fileName = query.file().getName().replaceAll("(?i:\\.sql)$", "");
+        final String className = GenerationUtil.convertToIdentifier(StringUtils.toCamelCase(fileName.replaceAll("[^\\p{L}\\p{N}]+", "_")), language);
+        final String packageName = getStrategy().getTargetPackage() + ".queries";
+        final JavaWriter out = newJavaWriter(new File(new File(getStrategy().getFileRoot(), "queries"), className + ".java"));
+        log.info("Generating query", out.file().getName());
+
+        final List<String> columnIds = new ArrayList<String>();
+        final List<String> columnMembers = new ArrayList<String>();
+        final List<String> columnGetters = new ArrayList<String>();
+        final List<String> columnTypes = new ArrayList<String>();
+        final Set<String> names = new HashSet<String>();
+
+        for (QueryFile.Column column : query.columns()) {
+            String name = column.name;
+
+            for (int i = 2; !names.add(name.toUpperCase()); i++)
+                name = column.name + "_" + i;
+
+            columnIds.add(GenerationUtil.convertToIdentifier(name.toUpperCase(), language));
+            columnMembers.add(GenerationUtil.convertToIdentifier(StringUtils.toCamelCaseLC(name), language));
+            columnGetters.add(GenerationUtil.convertToIdentifier("get" + StringUtils.toCamelCase(name), language));
+            columnTypes.add(out.ref(getJavaType(column.type)));
+        }
+
+        final Map<String, String> parameterArgs = new LinkedHashMap<String, String>();
+        final Map<String, String> parameterIds = new LinkedHashMap<String, String>();
+        final List<String> parameterTypes = new ArrayList<String>();
+
+        for (QueryFile.Column parameter : query.parameters()) {
+            String arg = GenerationUtil.convertToIdentifier(StringUtils.toCamelCaseLC(parameter.name), language);
+
+            while ("ctx".equals(arg) || parameterArgs.containsValue(arg))
+                arg = arg + "_";
+
+            parameterArgs.put(parameter.name, arg);
+            parameterIds.put(parameter.name, "PARAM_" + GenerationUtil.convertToIdentifier(parameter.name.toUpperCase(), language));
+            parameterTypes.add(out.ref(getJavaType(parameter.type)));
+        }
+
+        out.println("package %s;", packageName);
+        out.println();
+        out.printImports();
+        out.println();
+
+        printClassJavadoc(out, "The query <code>" + escapeEntities(query.file().getName()) + "</code>.");
+        printClassAnnotations(out, null, null);
+        out.println("public class %s {", className);
+
+        out.tab(1).javadoc("The SQL dialect that {@link #SQL} has been rendered for.");
+        out.tab(1).println("public static final %s DIALECT = %s.%s;", SQLDialect.class, SQLDialect.class, database.getDialect().name());
+
+        out.tab(1).javadoc("The SQL of this query, with a bind variable for each occurrence of a named parameter.");
+        out.tab(1).println("public static final %s SQL = \"%s\";", String.class, escapeString(query.sql()));
+
+        for (int i = 0; i < columnIds.size(); i++) {
+            QueryFile.Column column = query.columns().get(i);
+
+            out.tab(1).javadoc("The column <code>%s</code> of this query's result.", escapeEntities(column.name));
+            out.tab(1).println("public static final %s<%s> %s = %s.field(%s.name(\"%s\"), %s);",
+                Field.class, columnTypes.get(i), columnIds.get(i), DSL.class, DSL.class, escapeString(column.name), getJavaTypeReference(database, column.type));
+        }
+
+        int p = 0;
+        for (QueryFile.Column parameter : query.parameters()) {
+            out.tab(1).javadoc("The data type of the parameter <code>:%s</code>.", escapeEntities(parameter.name));
+            out.tab(1).println("private static final %s<%s> %s = %s;",
+                DataType.class, parameterTypes.get(p++), parameterIds.get(parameter.name), getJavaTypeReference(database, parameter.type));
+        }
+
+        out.tab(1).javadoc("A record of this query's result.");
+        out.tab(1).println("public static class Row implements %s {", Serializable.class);
+        out.println();
+        out.tab(2).println("private static final long serialVersionUID = 1L;");
+        out.println();
+
+        for (int i = 0; i < columnMembers.size(); i++)
+            out.tab(2).println("private final %s %s;", columnTypes.get(i), columnMembers.get(i));
+
+        out.println();
+        out.tab(2).print("public Row(");
+        for (int i = 0; i < columnMembers.size(); i++)
+            out.print("%s%s %s", (i > 0 ? ", " : ""), columnTypes.get(i), columnMembers.get(i));
+        out.println(") {");
+
+        for (int i = 0; i < columnMembers.size(); i++)
+            out.tab(3).println("this.%s = %s;", columnMembers.get(i), columnMembers.get(i));
+
+        out.tab(2).println("}");
+
+        for (int i = 0; i < columnMembers.size(); i++) {
+            out.tab(2).javadoc("The value of the column <code>%s</code>.", escapeEntities(query.columns().get(i).name));
+            out.tab(2).println("public %s %s() {", columnTypes.get(i), columnGetters.get(i));
+            out.tab(3).println("return %s;", columnMembers.get(i));
+            out.tab(2).println("}");
+        }
+
+        out.tab(1).println("}");
+
+        out.tab(1).javadoc("A {@link %s} mapping records of this query's result to {@link Row} without reflection.", RecordMapper.class.getSimpleName());
+        out.tab(1).println("public static final %s<%s, Row> MAPPER = new %s<%s, Row>() {", RecordMapper.class, Record.class, RecordMapper.class, Record.class);
+        out.tab(2).override();
+        out.tab(2).println("public Row map(%s record) {", Record.class);
+        out.tab(3).print("return new Row(");
+        for (int i = 0; i < columnIds.size(); i++)
+            out.print("%srecord.get(%s, %s.getType())", (i > 0 ? ", " : ""), i, columnIds.get(i));
+        out.println(");");
+        out.tab(2).println("}");
+        out.tab(1).println("};");
+
+        StringBuilder args = new StringBuilder();
+        StringBuilder params = new StringBuilder();
+        p = 0;
+        for (QueryFile.Column parameter : query.parameters())
+            params.append(", ").append(parameterTypes.get(p++)).append(' ').append(parameterArgs.get(parameter.name));
+        for (String binding : query.bindings())
+            args.append(", ").append(out.ref(DSL.class)).append(".val(").append(parameterArgs.get(binding)).append(", ").append(parameterIds.get(binding)).append(')');
+
+        out.tab(1).javadoc("Create this query with the given parameters.");
+        out.tab(1).println("public static %s<%s> query(%s ctx%s) {", ResultQuery.class, Record.class, DSLContext.class, params);
+        out.tab(2).println("return ctx.resultQuery(SQL%s);", args);
+        out.tab(1).println("}");
+
+        String argNames = "";
+        for (String arg : parameterArgs.values())
+            argNames = argNames + ", " + arg;
+
+        out.tab(1).javadoc("Execute this query with the given parameters, and map its result to {@link Row}.");
+        out.tab(1).println("public static %s<Row> fetch(%s ctx%s) {", List.class, DSLContext.class, params);
+        out.tab(2).println("return query(ctx%s).fetch(MAPPER);", argNames);
+        out.tab(1).println("}");
+
+        out.tab(1).javadoc("Execute this query with the given parameters, and map its single record to {@link Row}.");
+        out.tab(1).println("public static Row fetchOne(%s ctx%s) {", DSLContext.class, params);
+        out.tab(2).println("return query(ctx%s).fetchOne(MAPPER);", argNames);
+        out.tab(1).println("}");
+
+        out.println("}");
+        closeJavaWriter(out);
+    }
+
+    protected void generateMappers(SchemaDefinition schema) {
+        log.info("Generating mappers");
+
+        if (scala) {
+            log.warn("Mappers", "Mappers are currently only generated for Java");
+            return;
+        }
+
+        JavaWriter out = newJavaWriter(new File(getFile(schema).getParentFile(), "Mappers.java"));
+
+        printPackage(out, schema);
+        printClassJavadoc(out,
+            "Reflection-free {@link org.jooq.RecordMapper} and {@link org.jooq.RecordUnmapper} implementations for the POJOs of " + schema.getOutputName() + "."
+          + "\n<p>\nRegister an instance with both {@link org.jooq.Configuration#set(org.jooq.RecordMapperProvider)} and {@link org.jooq.Configuration#set(org.jooq.RecordUnmapperProvider)} for "
+          + "{@link org.jooq.DAO}s, {@link org.jooq.Record#into(Class)}, {@link org.jooq.Record#from(Object)} and similar methods to use them. "
+          + "All other types are mapped by the delegate providers.");
+        printClassAnnotations(out, schema);
+
+        out.println("public class Mappers implements %s, %s {", RecordMapperProvider.class, RecordUnmapperProvider.class);
+
+        List<TableDefinition> tables = new ArrayList<TableDefinition>();
+        for (TableDefinition table : database.getTables(schema))
+            if (mappable(table))
+                tables.add(table);
+
+        out.println();
+        out.tab(1).println("private final %s mappers;", RecordMapperProvider.class);
+        out.tab(1).println("private final %s unmappers;", RecordUnmapperProvider.class);
+
+        out.tab(1).javadoc("Create a new provider, delegating to jOOQ's default providers for other types.");
+        out.tab(1).println("public Mappers() {");
+        out.tab(2).println("this(new %s(), new %s());", DefaultRecordMapperProvider.class, DefaultRecordUnmapperProvider.class);
+        out.tab(1).println("}");
+
+        out.tab(1).javadoc("Create a new provider, delegating to jOOQ's default providers with the given configuration for other types.");
+        out.tab(1).println("public Mappers(%s configuration) {", Configuration.class);
+        out.tab(2).println("this(new %s(configuration), new %s(configuration));", DefaultRecordMapperProvider.class, DefaultRecordUnmapperProvider.class);
+        out.tab(1).println("}");
+
+        out.tab(1).javadoc("Create a new provider, delegating to the given providers for other types.");
+        out.tab(1).println("public Mappers(%s mappers, %s unmappers) {", RecordMapperProvider.class, RecordUnmapperProvider.class);
+        out.tab(2).println("this.mappers = mappers;");
+        out.tab(2).println("this.unmappers = unmappers;");
+        out.tab(1).println("}");
+
+        out.println();
+        out.tab(1).override();
+        out.tab(1).println("public <R extends %s, E> %s<R, E> provide(%s<R> recordType, %s<? extends E> type) {", Record.class, RecordMapper.class, RecordType.class, Class.class);
+        out.tab(2).println("%s name = type.getName();", String.class);
+        out.tab(2).println("%s<?, ?> result = %s;", RecordMapper.class, tables.isEmpty() ? "null" : "mapper0(name, type, recordType)");
+        for (int i = INITIALISER_SIZE; i < tables.size(); i += INITIALISER_SIZE) {
+            out.println();
+            out.tab(2).println("if (result == null)");
+            out.tab(3).println("result = mapper%s(name, type, recordType);", i / INITIALISER_SIZE);
+        }
+        out.println();
+        out.tab(2).println("return result != null ? (%s) result : mappers.provide(recordType, type);", RecordMapper.class);
+        out.tab(1).println("}");
+
+        out.println();
+        out.tab(1).override();
+        out.tab(1).println("public <E, R extends %s> %s<E, R> provide(%s<? extends E> type, %s<R> recordType) {", Record.class, RecordUnmapper.class, Class.class, RecordType.class);
+        out.tab(2).println("%s name = type.getName();", String.class);
+        out.tab(2).println("%s<?, ?> result = %s;", RecordUnmapper.class, tables.isEmpty() ? "null" : "unmapper0(name, type, recordType)");
+        for (int i = INITIALISER_SIZE; i < tables.size(); i += INITIALISER_SIZE) {
+            out.println();
+            out.tab(2).println("if (result == null)");
+            out.tab(3).println("result = unmapper%s(name, type, recordType);", i / INITIALISER_SIZE);
+        }
+        out.println();
+        out.tab(2).println("return result != null ? (%s) result : unmappers.provide(type, recordType);", RecordUnmapper.class);
+        out.tab(1).println("}");
+
+        // [#1459] Distribute the dispatch over several methods to avoid methods > 64kb
+        for (int i = 0; i < tables.size(); i += INITIALISER_SIZE) {
+            printMapperLookup(out, tables.subList(i, Math.min(i + INITIALISER_SIZE, tables.size())), i / INITIALISER_SIZE, "mapper", RecordMapper.class);
+            printMapperLookup(out, tables.subList(i, Math.min(i + INITIALISER_SIZE, tables.size())), i / INITIALISER_SIZE, "unmapper", RecordUnmapper.class);
+        }
+
+        out.println();
+        out.tab(1).println("static boolean matches(%s<?> recordType, %s<?> table) {", RecordType.class, Table.class);
+        out.tab(2).println("%s<?> tableType = table.recordType();", RecordType.class);
+        out.println();
+        out.tab(2).println("if (recordType == tableType)");
+        out.tab(3).println("return true;");
+        out.tab(2).println("if (recordType.size() != tableType.size())");
+        out.tab(3).println("return false;");
+        out.println();
+        out.tab(2).println("for (int i = 0; i < tableType.size(); i++)");
+        out.tab(3).println("if (recordType.field(i) != tableType.field(i))");
+        out.tab(4).println("return false;");
+        out.println();
+        out.tab(2).println("return true;");
+        out.tab(1).println("}");
+
+        // Each table's mappers are initialised only when they are first requested
+        for (TableDefinition table : tables)
+            generateMapper(table, out);
+
+        out.println("}");
+        closeJavaWriter(out);
+
+        watch.splitInfo("Mappers generated");
+    }
+
+    /**
+     * Print a method dispatching to the mappers or unmappers of a chunk of
+     * tables, by POJO class name.
+     */
+    private void printMapperLookup(JavaWriter out, List<TableDefinition> tables, int chunk, String method, Class<?> type) {
+        out.println();
+        out.tab(1).println("private static %s<?, ?> %s%s(%s name, %s<?> type, %s<?> recordType) {", type, method, chunk, String.class, Class.class, RecordType.class);
+        out.tab(2).println("switch (name) {");
+
+        for (TableDefinition table : tables)
+            out.tab(3).println("case \"%s\": return %s.%s(type, recordType);", getStrategy().getFullJavaClassName(table, Mode.POJO), mapperClassName(table), method);
+
+        out.tab(3).println("default: return null;");
+        out.tab(2).println("}");
+        out.tab(1).println("}");
+    }
+
+    private String mapperClassName(TableDefinition table) {
+        return "Mappers_" + getStrategy().getJavaIdentifier(table);
+    }
+
+    /**
+     * Whether a table's POJO and record can be mapped without any conversion.
+     */
+    private boolean mappable(TableDefinition table) {
+        List<ColumnDefinition> columns = table.getColumns();
+
+        // [#3176] POJOs of tables with more than 255 columns have no constructor
+        if (table.isTableValuedFunction() || columns.isEmpty() || columns.size() >= 256)
+            return false;
+
+        // UDT and array columns have different types in POJOs and records
+        for (ColumnDefinition column : columns)
+            if (!getJavaType(column.getType(resolver())).equals(getJavaType(column.getType(resolver(Mode.POJO)), Mode.POJO)))
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Generate a holder class for a table's mapper and unmapper.
+     */
+    private void generateMapper(TableDefinition table, JavaWriter out) {
+        final List<ColumnDefinition> columns = table.getColumns();
+        final String pojoType = out.ref(getStrategy().getFullJavaClassName(table, Mode.POJO));
+        final String recordType = out.ref(getStrategy().getFullJavaClassName(table, Mode.RECORD));
+        final String tableId = out.ref(getStrategy().getFullJavaIdentifier(table), 2);
+
+        out.tab(1).javadoc("The mapper and unmapper of <code>%s</code>.", table.getQualifiedOutputName());
+        out.tab(1).println("public static final class %s {", mapperClassName(table));
+
+        out.tab(2).javadoc("Map records of <code>%s</code> to {@link %s}.", table.getQualifiedOutputName(), pojoType);
+        out.tab(2).println("public static final %s<%s, %s> MAPPER = new %s<%s, %s>() {", RecordMapper.class, Record.class, pojoType, RecordMapper.class, Record.class, pojoType);
+        out.tab(3).override();
+        out.tab(3).println("public %s map(%s record) {", pojoType, Record.class);
+        out.tab(4).print("return new %s(", pojoType);
+
+        String separator = "";
+        for (int i = 0; i < columns.size(); i++) {
+            out.println(separator);
+            out.tab(5).print("(%s) record.get(%s)", out.ref(getJavaType(columns.get(i).getType(resolver()))), i);
+            separator = ",";
+        }
+
+        out.println();
+        out.tab(4).println(");");
+        out.tab(3).println("}");
+        out.tab(2).println("};");
+
+        out.tab(2).javadoc("Unmap {@link %s} to records of <code>%s</code>.", pojoType, table.getQualifiedOutputName());
+        out.tab(2).println("public static final %s<%s, %s> UNMAPPER = new %s<%s, %s>() {", RecordUnmapper.class, pojoType, recordType, RecordUnmapper.class, pojoType, recordType);
+        out.tab(3).override();
+        out.tab(3).println("public %s unmap(%s source) {", recordType, pojoType);
+        out.tab(4).println("%s record = new %s();", recordType, recordType);
+
+        for (ColumnDefinition column : columns)
+            out.tab(4).println("record.%s(source.%s());", getStrategy().getJavaSetterName(column, Mode.RECORD), getStrategy().getJavaGetterName(column, Mode.POJO));
+
+        out.tab(4).println("return record;");
+        out.tab(3).println("}");
+        out.tab(2).println("};");
+
+        out.println();
+        out.tab(2).println("static %s<?, ?> mapper(%s<?> type, %s<?> recordType) {", RecordMapper.class, Class.class, RecordType.class);
+        out.tab(3).println("return type == %s.class && matches(recordType, %s) ? MAPPER : null;", pojoType, tableId);
+        out.tab(2).println("}");
+
+        out.println();
+        out.tab(2).println("static %s<?, ?> unmapper(%s<?> type, %s<?> recordType) {", RecordUnmapper.class, Class.class, RecordType.class);
+        out.tab(3).println("return type == %s.class && matches(recordType, %s) ? UNMAPPER : null;", pojoType, tableId);
+        out.tab(2).println("}");
+        out.tab(1).println("}");
+    }
+
     protected void generateCatalog(CatalogDefinition catalog) {
         JavaWriter out = newJavaWriter(getFile(catalog));
         log.info("");
@@ -4560,6 +5072,16 @@ public class JavaGenerator extends AbstractGenerator {
 
             if (generateGlobalTableReferences()) {
                 for (TableDefinition table : schema.getTables()) {
+
+                    // Instance fields would initialise all tables along with
+                    // the schema, e.g. when calling any table's getSchema()
+                    if (lazyReferences()) {
+                        if (table.isTableValuedFunction())
+                            printTableValuedFunction(out, table, getStrategy().getJavaIdentifier(table));
+
+                        continue;
+                    }
+
                     final String tableClassName = out.ref(getStrategy().getFullJavaClassName(table));
                     final String tableId = getStrategy().getJavaIdentifier(table);
                     final String tableFullId = getStrategy().getFullJavaIdentifier(table);
@@ -4602,9 +5124,13 @@ public class JavaGenerator extends AbstractGenerator {
         if (generateGlobalSequenceReferences())
             printReferences(out, database.getSequences(schema), Sequence.class, true);
 
-        if (generateGlobalTableReferences())
+        if (generateGlobalTableReferences()) {
             printReferences(out, database.getTables(schema), Table.class, true);
 
+            if (lazyReferences())
+                printTableLookup(out, database.getTables(schema));
+        }
+
         if (generateGlobalUDTReferences())
             printReferences(out, database.getUDTs(schema), UDT.class, true);
 
@@ -4712,6 +5238,45 @@ public class JavaGenerator extends AbstractGenerator {
         }
     }
 
+    /**
+     * Print a <code>getTable(String)</code> override, which initialises only
+     * the requested table, when {@link #lazyReferences()} is active.
+     */
+    private void printTableLookup(JavaWriter out, List<TableDefinition> tables) {
+        if (tables.isEmpty())
+            return;
+
+        final List<String> references = out.ref(getStrategy().getFullJavaIdentifiers(tables), 2);
+
+        out.println();
+        out.tab(1).override();
+        out.tab(1).println("public %s<?> getTable(%s name) {", Table.class, String.class);
+        out.tab(2).println("%s<?> result = getTable0(name);", Table.class);
+
+        for (int i = INITIALISER_SIZE; i < tables.size(); i += INITIALISER_SIZE) {
+            out.println();
+            out.tab(2).println("if (result == null)");
+            out.tab(3).println("result = getTable%s(name);", i / INITIALISER_SIZE);
+        }
+
+        out.println();
+        out.tab(2).println("return result;");
+        out.tab(1).println("}");
+
+        for (int i = 0; i < tables.size(); i += INITIALISER_SIZE) {
+            out.println();
+            out.tab(1).println("private %s<?> getTable%s(%s name) {", Table.class, i / INITIALISER_SIZE, String.class);
+            out.tab(2).println("switch (name) {");
+
+            for (int j = i; j < Math.min(i + INITIALISER_SIZE, tables.size()); j++)
+                out.tab(3).println("case \"%s\": return %s;", escapeString(tables.get(j).getOutputName()), references.get(j));
+
+            out.tab(3).println("default: return null;");
+            out.tab(2).println("}");
+            out.tab(1).println("}");
+        }
+    }
+
     protected void printTableJPAAnnotation(JavaWriter out, TableDefinition table) {
         SchemaDefinition schema = table.getSchema();
 
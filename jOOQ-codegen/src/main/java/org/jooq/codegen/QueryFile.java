@@ -0,0 +1,410 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.codegen;
+
+import static org.jooq.Clause.FIELD_ALIAS;
+import static org.jooq.Clause.TABLE_ALIAS;
+import static org.jooq.impl.DSL.inline;
+import static org.jooq.impl.DSL.keyword;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jooq.Clause;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.DataType;
+import org.jooq.Field;
+import org.jooq.Name;
+import org.jooq.Param;
+import org.jooq.QueryPart;
+import org.jooq.ResultQuery;
+import org.jooq.SQLDialect;
+import org.jooq.Select;
+import org.jooq.Table;
+import org.jooq.VisitContext;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.impl.DefaultVisitListener;
+import org.jooq.impl.DefaultVisitListenerProvider;
+import org.jooq.impl.SQLDataType;
+import org.jooq.meta.ColumnDefinition;
+import org.jooq.meta.DataTypeDefinition;
+import org.jooq.meta.Database;
+import org.jooq.meta.DefaultDataTypeDefinition;
+import org.jooq.meta.JavaTypeResolver;
+import org.jooq.meta.SchemaDefinition;
+import org.jooq.meta.TableDefinition;
+import org.jooq.tools.StringUtils;
+
+/**
+ * A <code>.sql</code> file containing a single <code>SELECT</code> statement,
+ * from which a typed query class is generated.
+ * <p>
+ * The statement is parsed with the jOOQ parser, and its projection and named
+ * parameters are resolved against the tables of a {@link Database}. Column
+ * references that cannot be resolved, e.g. because they reference derived
+ * tables, and named parameters that are not compared to a resolvable column
+ * are typed as {@link SQLDataType#OTHER}.
+ */
+final class QueryFile {
+
+    private final File             file;
+    private final String           source;
+    private final String           sql;
+    private final List<Column>     columns;
+    private final List<Column>     parameters;
+    private final List<String>     bindings;
+
+    private final Database         database;
+    private final JavaTypeResolver resolver;
+
+    QueryFile(Database database, JavaTypeResolver resolver, File file) throws IOException {
+        this.database = database;
+        this.resolver = resolver;
+        this.file = file;
+        this.source = read(file);
+        this.columns = new ArrayList<Column>();
+        this.parameters = new ArrayList<Column>();
+        this.bindings = new ArrayList<String>();
+        this.sql = parse();
+    }
+
+    // -------------------------------------------------------------------------
+    // XXX: Parsing and resolution
+    // -------------------------------------------------------------------------
+
+    private final String parse() {
+        final SQLDialect dialect = database.getDialect();
+        final ResultQuery<?> query = DSL.using(dialect).parser().parseResultQuery(source);
+
+        if (!(query instanceof Select))
+            throw new GeneratorException("Query file " + file + " does not contain a SELECT statement");
+
+        // First pass: Collect table and field aliases, as well as the columns
+        // that named parameters are compared with
+        final Map<String, Table<?>> tableAliases = new HashMap<String, Table<?>>();
+        final Map<QueryPart, Field<?>> fieldAliases = new IdentityHashMap<QueryPart, Field<?>>();
+        final Map<String, Field<?>> parameterColumns = new LinkedHashMap<String, Field<?>>();
+        final List<TableDefinition> tables = new ArrayList<TableDefinition>();
+
+        render(dialect, query, new DefaultVisitListener() {
+            final Deque<QueryPart>         stack       = new ArrayDeque<QueryPart>();
+            final Map<QueryPart, Field<?>> lastColumns = new IdentityHashMap<QueryPart, Field<?>>();
+
+            @Override
+            public void visitStart(VisitContext ctx) {
+                QueryPart part = ctx.queryPart();
+                QueryPart parent = parent(stack);
+
+                if (part instanceof Table) {
+                    Table<?> table = (Table<?>) part;
+
+                    if (parent instanceof Table && contains(ctx.clauses(), TABLE_ALIAS))
+                        tableAliases.put(((Table<?>) parent).getName(), table);
+
+                    TableDefinition definition = table(table.getQualifiedName());
+                    if (definition != null && !tables.contains(definition))
+                        tables.add(definition);
+                }
+                else if (part instanceof Param) {
+                    String name = ((Param<?>) part).getParamName();
+
+                    if (isNamed(name) && !parameterColumns.containsKey(name)) {
+                        Condition condition = condition(stack);
+                        parameterColumns.put(name, condition == null ? null : lastColumns.get(condition));
+                    }
+                }
+                else if (part instanceof Field) {
+                    if (parent instanceof Field && contains(ctx.clauses(), FIELD_ALIAS) && !fieldAliases.containsKey(parent))
+                        fieldAliases.put(parent, (Field<?>) part);
+
+                    Condition condition = condition(stack);
+                    if (condition != null && isOther(((Field<?>) part).getDataType()))
+                        lastColumns.put(condition, (Field<?>) part);
+                }
+
+                if (part instanceof Table || part instanceof Field || part instanceof Condition)
+                    stack.push(part);
+            }
+
+            @Override
+            public void visitEnd(VisitContext ctx) {
+                QueryPart part = ctx.queryPart();
+
+                if (part instanceof Table || part instanceof Field || part instanceof Condition)
+                    if (!stack.isEmpty() && stack.peek() == part)
+                        stack.pop();
+            }
+        });
+
+        for (Field<?> field : ((Select<?>) query).getSelect()) {
+            Field<?> f = field;
+
+            while (fieldAliases.containsKey(f))
+                f = fieldAliases.get(f);
+
+            columns.add(new Column(field.getName(), type(f, tableAliases, tables)));
+        }
+
+        for (Map.Entry<String, Field<?>> entry : parameterColumns.entrySet())
+            parameters.add(new Column(entry.getKey(), entry.getValue() == null
+                ? other()
+                : type(entry.getValue(), tableAliases, tables)));
+
+        // Second pass: Render the SQL with a plain bind variable for each named
+        // parameter and all other parameters inlined, recording the bind order.
+        // The generated class binds typed values to the bind variables.
+        return render(dialect, query, new DefaultVisitListener() {
+            @Override
+            public void visitStart(VisitContext ctx) {
+                if (ctx.renderContext() != null && ctx.queryPart() instanceof Param) {
+                    @SuppressWarnings("unchecked")
+                    Param<Object> p = (Param<Object>) ctx.queryPart();
+                    String name = p.getParamName();
+
+                    if (isNamed(name)) {
+                        bindings.add(name);
+                        ctx.queryPart(keyword("?"));
+                    }
+                    else if (!p.isInline()) {
+                        ctx.queryPart(inline(p.getValue(), p.getDataType()));
+                    }
+                }
+            }
+        });
+    }
+
+    private static final String render(SQLDialect dialect, ResultQuery<?> query, DefaultVisitListener listener) {
+        DSLContext ctx = DSL.using(new DefaultConfiguration()
+            .set(dialect)
+            .set(new DefaultVisitListenerProvider(listener)));
+
+        return ctx.render(query);
+    }
+
+    private static final QueryPart parent(Deque<QueryPart> stack) {
+        return stack.isEmpty() ? null : stack.peek();
+    }
+
+    private static final Condition condition(Deque<QueryPart> stack) {
+        Iterator<QueryPart> it = stack.iterator();
+
+        while (it.hasNext()) {
+            QueryPart part = it.next();
+
+            if (part instanceof Condition)
+                return (Condition) part;
+        }
+
+        return null;
+    }
+
+    private static final boolean contains(Clause[] clauses, Clause clause) {
+        for (Clause c : clauses)
+            if (c == clause)
+                return true;
+
+        return false;
+    }
+
+    private static final boolean isNamed(String name) {
+        return !StringUtils.isBlank(name) && !Character.isDigit(name.charAt(0));
+    }
+
+    private static final boolean isOther(DataType<?> type) {
+        return type.getSQLDataType() == null || type.getSQLDataType() == SQLDataType.OTHER;
+    }
+
+    private final DataTypeDefinition type(Field<?> field, Map<String, Table<?>> tableAliases, List<TableDefinition> tables) {
+        if (!isOther(field.getDataType()))
+            return new DefaultDataTypeDefinition(database, schema(), field.getDataType().getTypeName());
+
+        String[] parts = field.getQualifiedName().getName();
+        String name = parts[parts.length - 1];
+
+        if (parts.length > 1) {
+            Table<?> table = tableAliases.get(parts[parts.length - 2]);
+            TableDefinition definition = table != null
+                ? table(table.getQualifiedName())
+                : table(DSL.name(Arrays.copyOf(parts, parts.length - 1)));
+
+            if (definition != null) {
+                ColumnDefinition column = definition.getColumn(name, true);
+
+                if (column != null)
+                    return plain(column.getType(resolver));
+            }
+        }
+        else {
+            for (TableDefinition definition : tables) {
+                ColumnDefinition column = definition.getColumn(name, true);
+
+                if (column != null)
+                    return plain(column.getType(resolver));
+            }
+        }
+
+        return other();
+    }
+
+    /**
+     * Strip the converter and binding of forced types, which are not applied
+     * to the plain SQL query.
+     */
+    private final DataTypeDefinition plain(DataTypeDefinition type) {
+        return new DefaultDataTypeDefinition(
+            database,
+            type.getSchema(),
+            type.getType(),
+            type.getLength(),
+            type.getPrecision(),
+            type.getScale(),
+            type.isNullable(),
+            type.getDefaultValue(),
+            type.getQualifiedUserType()
+        );
+    }
+
+    private final TableDefinition table(Name name) {
+        String[] parts = name.getName();
+        String tableName = parts[parts.length - 1];
+        String schemaName = parts.length > 1 ? parts[parts.length - 2] : null;
+
+        for (SchemaDefinition schema : database.getSchemata())
+            if (schemaName == null || schemaName.equalsIgnoreCase(schema.getInputName()))
+                for (TableDefinition table : database.getTables(schema))
+                    if (tableName.equalsIgnoreCase(table.getInputName()))
+                        return table;
+
+        return null;
+    }
+
+    private final SchemaDefinition schema() {
+        List<SchemaDefinition> schemata = database.getSchemata();
+        return schemata.isEmpty() ? null : schemata.get(0);
+    }
+
+    private final DataTypeDefinition other() {
+        return new DefaultDataTypeDefinition(database, schema(), SQLDataType.OTHER.getTypeName());
+    }
+
+    private static final String read(File file) throws IOException {
+        RandomAccessFile f = new RandomAccessFile(file, "r");
+
+        try {
+            byte[] bytes = new byte[(int) f.length()];
+            f.readFully(bytes);
+            return new String(bytes, "UTF-8").trim();
+        }
+        finally {
+            f.close();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // XXX: Accessors
+    // -------------------------------------------------------------------------
+
+    /**
+     * The <code>.sql</code> file.
+     */
+    final File file() {
+        return file;
+    }
+
+    /**
+     * The contents of the <code>.sql</code> file.
+     */
+    final String source() {
+        return source;
+    }
+
+    /**
+     * The SQL, rendered for the {@link Database#getDialect()}, with a
+     * <code>?</code> bind variable for each named parameter.
+     */
+    final String sql() {
+        return sql;
+    }
+
+    /**
+     * The columns of the query's projection.
+     */
+    final List<Column> columns() {
+        return columns;
+    }
+
+    /**
+     * The distinct named parameters, in order of appearance.
+     */
+    final List<Column> parameters() {
+        return parameters;
+    }
+
+    /**
+     * The named parameter of each bind variable in {@link #sql()}, in order.
+     */
+    final List<String> bindings() {
+        return bindings;
+    }
+
+    /**
+     * A named and typed column or parameter of a {@link QueryFile}.
+     */
+    static final class Column {
+        final String             name;
+        final DataTypeDefinition type;
+
+        Column(String name, DataTypeDefinition type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+}
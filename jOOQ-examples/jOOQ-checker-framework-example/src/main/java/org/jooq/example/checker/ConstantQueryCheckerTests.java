@@ -0,0 +1,64 @@
+package org.jooq.example.checker;
+
+import static org.jooq.SQLDialect.H2;
+import static org.jooq.SQLDialect.MYSQL;
+import static org.jooq.SQLDialect.POSTGRES;
+import static org.jooq.impl.DSL.array;
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.name;
+import static org.jooq.impl.DSL.param;
+import static org.jooq.impl.DSL.select;
+import static org.jooq.impl.DSL.table;
+
+import org.jooq.ConstantQuery;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Record1;
+import org.jooq.Select;
+import org.jooq.Table;
+
+// Constant queries may only reference static final fields, literals, and jOOQ API.
+// Variable input is expressed through named bind parameters.
+public class ConstantQueryCheckerTests {
+
+    static final Table<Record>  BOOK           = table(name("BOOK"));
+    static final Field<Integer> BOOK_ID        = field(name("BOOK", "ID"), Integer.class);
+    static final Field<Integer> BOOK_AUTHOR_ID = field(name("BOOK", "AUTHOR_ID"), Integer.class);
+
+    static int                  authorId       = 1;
+
+    @ConstantQuery({ H2, POSTGRES })
+    static final Select<Record1<Integer>> COMPILES =
+        select(BOOK_ID).from(BOOK).where(BOOK_AUTHOR_ID.eq(param("authorId", Integer.class)));
+
+    @ConstantQuery({ H2, POSTGRES })
+    static Select<Record1<Integer>> compilesAsMethod() {
+        return select(BOOK_ID).from(BOOK).where(BOOK_AUTHOR_ID.eq(param("authorId", Integer.class)));
+    }
+
+    // authorId is not final
+    @ConstantQuery({ H2, POSTGRES })
+    static final Select<Record1<Integer>> DOESNT_COMPILE_BECAUSE_OF_A_VARIABLE =
+        select(BOOK_ID).from(BOOK).where(BOOK_AUTHOR_ID.eq(authorId));
+
+    // The query is not static
+    @ConstantQuery({ H2, POSTGRES })
+    final Select<Record1<Integer>> doesntCompileBecauseTheFieldIsNotStatic =
+        select(BOOK_ID).from(BOOK);
+
+    // Method parameters vary per call
+    @ConstantQuery({ H2, POSTGRES })
+    static Select<Record1<Integer>> doesntCompileBecauseOfAParameter(int id) {
+        return select(BOOK_ID).from(BOOK).where(BOOK_AUTHOR_ID.eq(id));
+    }
+
+    // Integer.valueOf() is not jOOQ API
+    @ConstantQuery({ H2, POSTGRES })
+    static final Select<Record1<Integer>> DOESNT_COMPILE_BECAUSE_OF_NON_JOOQ_API =
+        select(BOOK_ID).from(BOOK).where(BOOK_AUTHOR_ID.eq(Integer.valueOf(1)));
+
+    // DSL.array() is not supported by MYSQL
+    @ConstantQuery({ H2, MYSQL })
+    static final Select<Record1<Integer[]>> DOESNT_COMPILE_BECAUSE_MYSQL_DOESNT_SUPPORT_ARRAYS =
+        select(array(1, 2));
+}
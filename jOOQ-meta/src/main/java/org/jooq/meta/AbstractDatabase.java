@@ -41,6 +41,7 @@ package org.jooq.meta;
 import static org.jooq.impl.DSL.falseCondition;
 import static org.jooq.meta.AbstractTypedElementDefinition.customType;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
 import java.math.BigInteger;
@@ -140,6 +141,7 @@ public abstract class AbstractDatabase implements Database {
     private SchemaVersionProvider                                            schemaVersionProvider;
     private CatalogVersionProvider                                           catalogVersionProvider;
     private Comparator<Definition>                                           orderProvider;
+    private List<File>                                                       queryFiles = new ArrayList<File>();
     private boolean                                                          includeRelations                     = true;
     private boolean                                                          tableValuedFunctions                 = true;
     private int                                                              logSlowQueriesAfterSeconds;
@@ -1139,6 +1141,16 @@ public abstract class AbstractDatabase implements Database {
         this.orderProvider = provider;
     }
 
+    @Override
+    public final List<File> getQueryFiles() {
+        return queryFiles;
+    }
+
+    @Override
+    public final void setQueryFiles(List<File> files) {
+        this.queryFiles = files;
+    }
+
     @Override
     public final void setSupportsUnsignedTypes(boolean supportsUnsignedTypes) {
         this.supportsUnsignedTypes = supportsUnsignedTypes;
@@ -38,6 +38,7 @@
 
 package org.jooq.meta;
 
+import java.io.File;
 import java.sql.Connection;
 import java.util.Comparator;
 import java.util.List;
@@ -737,6 +738,18 @@ public interface Database  extends AutoCloseable  {
      */
     void setOrderProvider(Comparator<Definition> provider);
 
+    /**
+     * The <code>.sql</code> files from which typed query classes are
+     * generated.
+     */
+    List<File> getQueryFiles();
+
+    /**
+     * The <code>.sql</code> files from which typed query classes are
+     * generated.
+     */
+    void setQueryFiles(List<File> files);
+
     /**
      * Database objects matching any of these field names will be generated as
      * forced types.
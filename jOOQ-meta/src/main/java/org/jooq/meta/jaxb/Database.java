@@ -126,6 +126,9 @@ public class Database implements Serializable
     @XmlElement(defaultValue = "")
     @XmlJavaTypeAdapter(StringAdapter.class)
     protected String orderProvider = "";
+    @XmlElement(defaultValue = "")
+    @XmlJavaTypeAdapter(StringAdapter.class)
+    protected String queryFiles = "";
     @XmlElement(defaultValue = "true")
     protected Boolean forceIntegerTypesOnZeroScaleDecimals = true;
     protected Boolean tableValuedFunctions;
@@ -1186,6 +1189,32 @@ public class Database implements Serializable
         this.orderProvider = value;
     }
 
+    /**
+     * A comma separated list of <code>.sql</code> files or directories containing <code>.sql</code> files, from which typed query classes are generated.
+     * <p>
+     * Each file must contain a single <code>SELECT</code> statement, which may contain named parameters, e.g. <code>:id</code>.
+     *
+     * @return
+     *     possible object is
+     *     {@link String }
+     *
+     */
+    public String getQueryFiles() {
+        return queryFiles;
+    }
+
+    /**
+     * Sets the value of the queryFiles property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *
+     */
+    public void setQueryFiles(String value) {
+        this.queryFiles = value;
+    }
+
     /**
      * Historically, zero-scale decimal types are generated as their most appropriate, corresponding integer type (e.g. NUMBER(2, 0) and less: Byte). This allows for turning off this feature. In case of conflict between this rule and actual {@link #getForcedTypes()}, the latter will win.
      *
@@ -1528,6 +1557,11 @@ public class Database implements Serializable
         return this;
     }
 
+    public Database withQueryFiles(String value) {
+        setQueryFiles(value);
+        return this;
+    }
+
     public Database withForceIntegerTypesOnZeroScaleDecimals(Boolean value) {
         setForceIntegerTypesOnZeroScaleDecimals(value);
         return this;
@@ -1861,6 +1895,11 @@ public class Database implements Serializable
             sb.append(orderProvider);
             sb.append("</orderProvider>");
         }
+        if (queryFiles!= null) {
+            sb.append("<queryFiles>");
+            sb.append(queryFiles);
+            sb.append("</queryFiles>");
+        }
         if (forceIntegerTypesOnZeroScaleDecimals!= null) {
             sb.append("<forceIntegerTypesOnZeroScaleDecimals>");
             sb.append(forceIntegerTypesOnZeroScaleDecimals);
@@ -2278,6 +2317,15 @@ public class Database implements Serializable
                 return false;
             }
         }
+        if (queryFiles == null) {
+            if (other.queryFiles!= null) {
+                return false;
+            }
+        } else {
+            if (!queryFiles.equals(other.queryFiles)) {
+                return false;
+            }
+        }
         if (forceIntegerTypesOnZeroScaleDecimals == null) {
             if (other.forceIntegerTypesOnZeroScaleDecimals!= null) {
                 return false;
@@ -2403,6 +2451,7 @@ public class Database implements Serializable
         result = ((prime*result)+((schemaVersionProvider == null)? 0 :schemaVersionProvider.hashCode()));
         result = ((prime*result)+((catalogVersionProvider == null)? 0 :catalogVersionProvider.hashCode()));
         result = ((prime*result)+((orderProvider == null)? 0 :orderProvider.hashCode()));
+        result = ((prime*result)+((queryFiles == null)? 0 :queryFiles.hashCode()));
         result = ((prime*result)+((forceIntegerTypesOnZeroScaleDecimals == null)? 0 :forceIntegerTypesOnZeroScaleDecimals.hashCode()));
         result = ((prime*result)+((tableValuedFunctions == null)? 0 :tableValuedFunctions.hashCode()));
         result = ((prime*result)+((logSlowQueriesAfterSeconds == null)? 0 :logSlowQueriesAfterSeconds.hashCode()));
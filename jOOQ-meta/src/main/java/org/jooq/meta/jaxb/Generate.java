@@ -163,6 +163,8 @@ public class Generate implements Serializable
     protected Boolean javaTimeTypes = false;
     @XmlElement(defaultValue = "false")
     protected Boolean primaryKeyTypes = false;
+    @XmlElement(defaultValue = "false")
+    protected Boolean lazyReferences = false;
 
     /**
      * Generate index information.
@@ -1707,6 +1709,30 @@ public class Generate implements Serializable
         this.primaryKeyTypes = value;
     }
 
+    /**
+     * Whether keys, indexes and schema table lookups should be generated such that they are initialised lazily, per table, rather than all at once.
+     *
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *
+     */
+    public Boolean isLazyReferences() {
+        return lazyReferences;
+    }
+
+    /**
+     * Sets the value of the lazyReferences property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *
+     */
+    public void setLazyReferences(Boolean value) {
+        this.lazyReferences = value;
+    }
+
     public Generate withIndexes(Boolean value) {
         setIndexes(value);
         return this;
@@ -2022,6 +2048,11 @@ public class Generate implements Serializable
         return this;
     }
 
+    public Generate withLazyReferences(Boolean value) {
+        setLazyReferences(value);
+        return this;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -2340,6 +2371,11 @@ public class Generate implements Serializable
             sb.append(primaryKeyTypes);
             sb.append("</primaryKeyTypes>");
         }
+        if (lazyReferences!= null) {
+            sb.append("<lazyReferences>");
+            sb.append(lazyReferences);
+            sb.append("</lazyReferences>");
+        }
         return sb.toString();
     }
 
@@ -2922,6 +2958,15 @@ public class Generate implements Serializable
                 return false;
             }
         }
+        if (lazyReferences == null) {
+            if (other.lazyReferences!= null) {
+                return false;
+            }
+        } else {
+            if (!lazyReferences.equals(other.lazyReferences)) {
+                return false;
+            }
+        }
         return true;
     }
 
@@ -2992,6 +3037,7 @@ public class Generate implements Serializable
         result = ((prime*result)+((emptySchemas == null)? 0 :emptySchemas.hashCode()));
         result = ((prime*result)+((javaTimeTypes == null)? 0 :javaTimeTypes.hashCode()));
         result = ((prime*result)+((primaryKeyTypes == null)? 0 :primaryKeyTypes.hashCode()));
+        result = ((prime*result)+((lazyReferences == null)? 0 :lazyReferences.hashCode()));
         return result;
     }
 
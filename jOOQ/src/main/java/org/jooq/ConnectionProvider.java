@@ -84,6 +84,28 @@ public interface ConnectionProvider {
      */
     Connection acquire() throws DataAccessException;
 
+    /**
+     * Acquire a connection from the connection lifecycle handler for a given
+     * execution.
+     * <p>
+     * This method is called by jOOQ instead of {@link #acquire()} when an
+     * {@link ExecuteContext} needs a connection, after the SQL has been
+     * rendered. Implementations may use the {@link ExecuteContext#query()} or
+     * the {@link ExecuteContext#sql()} to choose a connection, e.g. in order
+     * to route reads to a replica. The same guarantees apply as for
+     * {@link #acquire()}.
+     * <p>
+     * By default, this calls {@link #acquire()}.
+     *
+     * @param ctx The execution that needs a connection.
+     * @return A connection for the <code>ExecuteContext</code>.
+     * @throws DataAccessException If anything went wrong while acquiring a
+     *             connection
+     */
+    default Connection acquire(ExecuteContext ctx) throws DataAccessException {
+        return acquire();
+    }
+
     /**
      * Release a connection to the connection lifecycle handler.
      * <p>
@@ -0,0 +1,87 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Declare a query to be statically constant, and to be renderable in a set of
+ * {@link SQLDialect}.
+ * <p>
+ * This annotation can be placed on <code>static final</code> fields, or on
+ * <code>static</code> methods without parameters consisting of a single
+ * <code>return</code> statement. The query expression may only reference
+ * <code>static final</code> fields (such as generated tables), their
+ * <code>final</code> members (such as generated table fields), literals, and
+ * jOOQ API. Variable input is expressed through
+ * {@link org.jooq.impl.DSL#param(String)}.
+ * For example:
+ * <p>
+ * <code><pre>
+ * &#64;ConstantQuery({ H2, POSTGRES })
+ * static final Select&lt;BookRecord&gt; BOOKS_BY_AUTHOR =
+ *     selectFrom(BOOK).where(BOOK.AUTHOR_ID.eq(param("author", Integer.class)));
+ * </pre></code>
+ * <p>
+ * Such queries can be turned into a {@link QueryTemplate} once per
+ * {@link DSLContext} through {@link DSLContext#prepareTemplate(ResultQuery)},
+ * after which their executions do not render any SQL anymore.
+ * <p>
+ * Type checking for this annotation can be supplied by
+ * <code>org.jooq.checker.ConstantQueryChecker</code> from the jOOQ-checker
+ * module, which fails the build if a query is not statically constant, or if
+ * it uses API that is not {@link Support}-ed by all of the listed dialects.
+ *
+ * @see QueryTemplate
+ */
+@Target({ FIELD, METHOD })
+@Retention(RUNTIME)
+@Documented
+public @interface ConstantQuery {
+
+    /**
+     * A list of jOOQ {@link SQLDialect} which the query must support.
+     */
+    SQLDialect[] value() default {};
+}
@@ -499,6 +499,35 @@ public interface Cursor<R extends Record> extends Iterable<R>, Formattable , Aut
      */
     <X, A> X collect(Collector<? super R, A, X> collector) throws DataAccessException;
 
+    /**
+     * Read ahead up to <code>size</code> records in the background.
+     * <p>
+     * When prefetching is enabled, records are fetched from the underlying
+     * {@link ResultSet} and materialised by a background task that is
+     * submitted to the {@link Configuration#executorProvider()}. The fetched
+     * records are put in a bounded buffer of the given size, from which this
+     * <code>Cursor</code>'s consumer methods take them. This allows for
+     * overlapping JDBC I/O with client side record processing.
+     * <p>
+     * Any exception raised while fetching records in the background is
+     * rethrown to the consumer on the next call to {@link #hasNext()} or any
+     * of the <code>fetchXYZ()</code> methods. Calling {@link #close()} stops
+     * the background task and waits for it to terminate before closing the
+     * underlying {@link ResultSet}. Note that {@link ExecuteListener}
+     * <code>recordStart()</code> and <code>recordEnd()</code> events are
+     * fired from the background task.
+     * <p>
+     * This method must be called before the first record is fetched from this
+     * <code>Cursor</code>.
+     *
+     * @param size The size of the prefetch buffer. If this is <code>0</code>
+     *            or negative, prefetching is disabled.
+     * @return This cursor.
+     * @throws IllegalStateException If records have already been fetched from
+     *             this <code>Cursor</code>.
+     */
+    Cursor<R> prefetch(int size) throws IllegalStateException;
+
 
 
     /**
@@ -447,6 +447,91 @@ public interface DSLContext extends Scope , AutoCloseable  {
      */
     void transaction(ContextTransactionalRunnable transactional) throws ConfigurationException;
 
+    /**
+     * Run a {@link TransactionalCallable} in the context of this
+     * <code>DSLContext</code>'s underlying
+     * {@link Configuration#transactionProvider()}, and return the
+     * <code>transactional</code>'s outcome, retrying failed attempts as
+     * requested by a {@link TransactionRetryPolicy}.
+     * <p>
+     * Each attempt runs in a new transaction, which is rolled back before the
+     * policy is consulted. The <code>transactional</code> code must therefore
+     * be safe to run several times. The policy is ignored if this
+     * <code>DSLContext</code> is already participating in a transaction of a
+     * <code>DefaultTransactionProvider</code>, in case of which failures
+     * propagate to the enclosing transaction.
+     *
+     * @param policy The retry policy
+     * @param transactional The transactional code
+     * @return The transactional outcome of the last attempt
+     * @throws RuntimeException any runtime exception thrown by the last
+     *             attempt of the <code>transactional</code> logic
+     * @throws Error any error thrown by the last attempt of the
+     *             <code>transactional</code> logic
+     * @throws DataAccessException any checked exception thrown by the last
+     *             attempt of the <code>transactional</code> logic, wrapped in
+     *             a <code>DataAccessException</code>
+     */
+    <T> T transactionResult(TransactionRetryPolicy policy, TransactionalCallable<T> transactional);
+
+    /**
+     * Run a {@link ContextTransactionalCallable} in the context of this
+     * <code>DSLContext</code>'s underlying
+     * {@link Configuration#transactionProvider()}, and return the
+     * <code>transactional</code>'s outcome, retrying failed attempts as
+     * requested by a {@link TransactionRetryPolicy}.
+     * <p>
+     * Each attempt runs in a new transaction, which is rolled back before the
+     * policy is consulted. The policy is ignored if the current thread is
+     * already participating in a transaction of the
+     * <code>ThreadLocalTransactionProvider</code>, in case of which failures
+     * propagate to the enclosing transaction.
+     *
+     * @param policy The retry policy
+     * @param transactional The transactional code
+     * @return The transactional outcome of the last attempt
+     * @throws ConfigurationException if the underlying
+     *             {@link Configuration#transactionProvider()} is not able to
+     *             provide context (i.e. currently, it is not a
+     *             <code>ThreadLocalTransactionProvider</code>)
+     * @throws RuntimeException any runtime exception thrown by the last
+     *             attempt of the <code>transactional</code> logic
+     * @throws Error any error thrown by the last attempt of the
+     *             <code>transactional</code> logic
+     * @throws DataAccessException any checked exception thrown by the last
+     *             attempt of the <code>transactional</code> logic, wrapped in
+     *             a <code>DataAccessException</code>
+     */
+    <T> T transactionResult(TransactionRetryPolicy policy, ContextTransactionalCallable<T> transactional) throws ConfigurationException;
+
+    /**
+     * Run a {@link TransactionalRunnable} in the context of this
+     * <code>DSLContext</code>'s underlying
+     * {@link Configuration#transactionProvider()}, retrying failed attempts as
+     * requested by a {@link TransactionRetryPolicy}.
+     *
+     * @param policy The retry policy
+     * @param transactional The transactional code
+     * @see #transactionResult(TransactionRetryPolicy, TransactionalCallable)
+     */
+    void transaction(TransactionRetryPolicy policy, TransactionalRunnable transactional);
+
+    /**
+     * Run a {@link ContextTransactionalRunnable} in the context of this
+     * <code>DSLContext</code>'s underlying
+     * {@link Configuration#transactionProvider()}, retrying failed attempts as
+     * requested by a {@link TransactionRetryPolicy}.
+     *
+     * @param policy The retry policy
+     * @param transactional The transactional code
+     * @throws ConfigurationException if the underlying
+     *             {@link Configuration#transactionProvider()} is not able to
+     *             provide context (i.e. currently, it is not a
+     *             <code>ThreadLocalTransactionProvider</code>)
+     * @see #transactionResult(TransactionRetryPolicy, ContextTransactionalCallable)
+     */
+    void transaction(TransactionRetryPolicy policy, ContextTransactionalRunnable transactional) throws ConfigurationException;
+
 
 
     /**
@@ -10622,6 +10707,41 @@ public interface DSLContext extends Scope , AutoCloseable  {
      */
     <R extends Record> Stream<R> fetchStream(ResultQuery<R> query) throws DataAccessException;
 
+    /**
+     * Scan the results of a {@link Select} statement in chunks, using keyset
+     * pagination.
+     * <p>
+     * The returned {@link KeysetScan} adds the <code>ORDER BY</code> clause,
+     * as well as <code>SEEK</code> and <code>LIMIT</code> clauses to the
+     * argument <code>Select</code> statement, which must not have any such
+     * clauses yet. The argument statement should not be used elsewhere while
+     * the scan is being consumed.
+     *
+     * @param select The query to scan
+     * @param orderBy The sort fields that uniquely identify each row
+     * @return The keyset scan. Client code is responsible for closing it
+     *         after use.
+     * @throws IllegalArgumentException If the <code>Select</code> statement
+     *             already has <code>ORDER BY</code>, <code>SEEK</code>, or
+     *             <code>LIMIT</code> clauses.
+     * @see KeysetScan
+     */
+    <R extends Record> KeysetScan<R> scan(Select<R> select, SortField<?>... orderBy) throws IllegalArgumentException;
+
+    /**
+     * Scan the results of a {@link Select} statement in partitions that are
+     * executed concurrently.
+     *
+     * @param select The query to scan
+     * @param key The numeric or temporal partition key, which must be
+     *            contained in the <code>SELECT</code> clause.
+     * @return The partitioned scan.
+     * @throws IllegalArgumentException If the partition key is not contained
+     *             in the <code>SELECT</code> clause.
+     * @see PartitionedScan
+     */
+    <R extends Record> PartitionedScan<R> partitionedScan(Select<R> select, Field<?> key) throws IllegalArgumentException;
+
 
     /**
      * Execute a {@link ResultQuery} in the context of this <code>DSLContext</code> and return
@@ -10634,6 +10754,51 @@ public interface DSLContext extends Scope , AutoCloseable  {
      */
     <R extends Record> Results fetchMany(ResultQuery<R> query) throws DataAccessException;
 
+    /**
+     * Execute several independent {@link ResultQuery} instances in the
+     * context of this <code>DSLContext</code> and return their results.
+     * <p>
+     * If the queries are all {@link Select} statements, and if the dialect
+     * and driver support statements producing several result sets, they are
+     * combined into a single statement, saving the server round trips of
+     * individual executions. This is currently done for
+     * {@link SQLDialect#POSTGRES}, and for {@link SQLDialect#MYSQL} and
+     * {@link SQLDialect#MARIADB} if the connection URL of the first query's
+     * execution contains <code>allowMultiQueries=true</code>. The combined
+     * statement is executed like any other query, including
+     * {@link ExecuteListener} events, and its results are read through the
+     * {@link Binding} of each query's projection, as if the queries had been
+     * executed individually. Otherwise, the queries are executed one after
+     * the other.
+     * <p>
+     * The <code>n</code>th {@link Result} of the returned {@link Results}
+     * corresponds to the <code>n</code>th query, and contains records of that
+     * query's {@link ResultQuery#getRecordType()}.
+     *
+     * @param queries The queries to execute
+     * @return The results. This will never be <code>null</code>.
+     * @throws DataAccessException if something went wrong executing the
+     *             query, or if a combined statement produces results that
+     *             do not match its queries' projections.
+     */
+    Results fetchAll(ResultQuery<?>... queries) throws DataAccessException;
+
+    /**
+     * Create an immutable, thread-safe template from a {@link ResultQuery}.
+     * <p>
+     * The query is rendered once, in the context of this
+     * <code>DSLContext</code>. The template can then be executed any number
+     * of times from any thread with new bind values, without rendering the
+     * query again. The argument query is not modified, but it must not be
+     * modified either while the template is in use.
+     *
+     * @param query The query to create a template from
+     * @return The template. This will never be <code>null</code>.
+     * @throws DataAccessException if the query cannot be rendered with bind
+     *             values, e.g. because it has too many of them.
+     */
+    <R extends Record> QueryTemplate<R> prepareTemplate(ResultQuery<R> query) throws DataAccessException;
+
     /**
      * Execute a {@link ResultQuery} in the context of this <code>DSLContext</code> and return
      * a record.
@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq;
+
+import org.jooq.impl.DefaultEntityCache;
+import org.jooq.impl.EntityCacheListener;
+
+/**
+ * A cache for {@link UpdatableRecord} instances, keyed by their table and
+ * primary key value.
+ * <p>
+ * An <code>EntityCache</code> is used by generated {@link DAO} types to look
+ * up records by primary key without hitting the database. It is plugged into a
+ * {@link Configuration} through an {@link EntityCacheListener}, which takes
+ * care of invalidating entries when records are written, and of hiding
+ * uncommitted writes from other transactions.
+ * <p>
+ * Primary key values are represented as the single key value for single
+ * column primary keys, and as a {@link java.util.List} of key values for
+ * composite primary keys. Implementations must be thread safe.
+ *
+ * @see DefaultEntityCache
+ * @see EntityCacheListener
+ */
+public interface EntityCache {
+
+    /**
+     * Get a cached record by its primary key value.
+     *
+     * @return The cached record, or <code>null</code> if there is no such
+     *         record in the cache.
+     */
+    <R extends UpdatableRecord<R>> R get(Table<R> table, Object key);
+
+    /**
+     * Put a record into the cache.
+     */
+    <R extends UpdatableRecord<R>> void put(Table<R> table, Object key, R record);
+
+    /**
+     * Remove a record from the cache.
+     */
+    void remove(Table<?> table, Object key);
+
+    /**
+     * Remove all records of a table from the cache.
+     */
+    void remove(Table<?> table);
+
+    /**
+     * Remove all records from the cache.
+     */
+    void clear();
+}
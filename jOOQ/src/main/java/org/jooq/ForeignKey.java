@@ -38,6 +38,7 @@
 package org.jooq;
 
 import java.util.Collection;
+import java.util.Map;
 
 import org.jooq.exception.DataAccessException;
 
@@ -84,12 +85,32 @@ public interface ForeignKey<R extends Record, O extends Record> extends Key<R> {
      * <p>
      * This returns parent records referenced by any record in a given set of
      * records through this foreign key.
+     * <p>
+     * Large sets of records are fetched in chunks, whose size depends on the
+     * dialect's limits for bind values. All chunks are fetched with the same
+     * prepared statement.
      *
      * @throws DataAccessException if something went wrong executing the query
      * @see TableRecord#fetchParent(ForeignKey)
      */
     Result<O> fetchParents(Collection<? extends R> records) throws DataAccessException;
 
+    /**
+     * Fetch parent records of a given set of records through this foreign key,
+     * mapping each record to its parent record.
+     * <p>
+     * This fetches parent records in as few queries as possible, like
+     * {@link #fetchParents(Collection)}, and maps them to the records in
+     * memory. Records whose foreign key values are <code>NULL</code>, or whose
+     * parent record was not found, are mapped to <code>null</code>.
+     *
+     * @return A map from each record to its parent record, in the iteration
+     *         order of the argument records.
+     * @throws DataAccessException if something went wrong executing the query
+     * @see #fetchParents(Collection)
+     */
+    Map<R, O> fetchParentsGrouped(Collection<? extends R> records) throws DataAccessException;
+
     /**
      * Fetch child records of a given record through this foreign key
      * <p>
@@ -119,10 +140,30 @@ public interface ForeignKey<R extends Record, O extends Record> extends Key<R> {
      * <p>
      * This returns childs record referencing any record in a given set of
      * records through this foreign key
+     * <p>
+     * Large sets of records are fetched in chunks, whose size depends on the
+     * dialect's limits for bind values. All chunks are fetched with the same
+     * prepared statement.
      *
      * @throws DataAccessException if something went wrong executing the query
      * @see UpdatableRecord#fetchChild(ForeignKey)
      * @see UpdatableRecord#fetchChildren(ForeignKey)
      */
     Result<R> fetchChildren(Collection<? extends O> records) throws DataAccessException;
+
+    /**
+     * Fetch child records of a given set of records through this foreign key,
+     * grouping them by their parent record.
+     * <p>
+     * This fetches child records in as few queries as possible, like
+     * {@link #fetchChildren(Collection)}, and groups them by the argument
+     * records in memory, avoiding one query per parent record.
+     *
+     * @return A map from each argument record to its child records, in the
+     *         iteration order of the argument records. Records without child
+     *         records are mapped to an empty result.
+     * @throws DataAccessException if something went wrong executing the query
+     * @see #fetchChildren(Collection)
+     */
+    Map<O, Result<R>> fetchChildrenGrouped(Collection<? extends O> records) throws DataAccessException;
 }
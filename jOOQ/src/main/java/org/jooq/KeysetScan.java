@@ -0,0 +1,150 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.jooq.exception.DataAccessException;
+
+/**
+ * A keyset paginated scan over the results of a {@link Select} statement.
+ * <p>
+ * Rather than running a single, long running query, or paginating through
+ * results using <code>OFFSET</code>, a keyset scan runs successive queries of
+ * at most {@link #chunkSize(int)} rows each, using the
+ * {@link SelectSeekStep1#seek(Object)} predicate on the scan's sort fields to
+ * continue after the last row of the previous chunk. All but the first query
+ * share the same SQL string and prepared statement, only binding new keyset
+ * values.
+ * <p>
+ * The sort fields must be contained in the <code>SELECT</code> clause and they
+ * must form a unique key of the results, e.g. by appending a primary key as
+ * the last sort field. Otherwise, rows that tie on the sort fields across
+ * chunk boundaries will be skipped.
+ * <p>
+ * An example:
+ *
+ * <pre>
+ * <code>
+ * try (KeysetScan&lt;BookRecord&gt; scan = DSL.using(configuration)
+ *         .scan(selectFrom(BOOK), BOOK.ID.asc())
+ *         .chunkSize(1000)
+ *         .seekAfter(lastSeenId)) {
+ *
+ *     for (BookRecord book : scan)
+ *         process(book);
+ * }
+ * </code>
+ * </pre>
+ * <p>
+ * A scan can be restarted from a persisted key using {@link #seekAfter(Object...)},
+ * where the key is obtained from {@link #lastKey()}.
+ * <p>
+ * Client code must close this {@link KeysetScan} in order to close the
+ * underlying prepared statement.
+ * <p>
+ * Note: Like a {@link Cursor}, a <code>KeysetScan</code> can only provide one
+ * {@link Iterator}!
+ *
+ * @param <R> The record type
+ * @see DSLContext#scan(Select, SortField...)
+ */
+public interface KeysetScan<R extends Record> extends Iterable<R> , AutoCloseable  {
+
+    /**
+     * Set the maximum number of rows that are fetched with each query.
+     * <p>
+     * This must be called before the first chunk is fetched.
+     *
+     * @param size The chunk size. Must be positive.
+     * @return This scan.
+     */
+    KeysetScan<R> chunkSize(int size);
+
+    /**
+     * Start the scan after the row identified by the given sort field values,
+     * e.g. a key previously obtained from {@link #lastKey()}.
+     * <p>
+     * This must be called before the first chunk is fetched.
+     *
+     * @param values The sort field values, one for each sort field.
+     * @return This scan.
+     */
+    KeysetScan<R> seekAfter(Object... values);
+
+    /**
+     * The sort field values of the last row that has been fetched from this
+     * scan, or the key passed to {@link #seekAfter(Object...)} if no rows have
+     * been fetched yet.
+     *
+     * @return A copy of the last key, or <code>null</code> if no rows have been
+     *         fetched yet, and no initial key was provided.
+     */
+    Object[] lastKey();
+
+    /**
+     * Fetch the next chunk of records.
+     * <p>
+     * This will conveniently close the <code>KeysetScan</code>, after the last
+     * chunk was fetched.
+     *
+     * @return The next chunk, which is empty, when there are no more records.
+     * @throws DataAccessException if something went wrong executing the query
+     */
+    Result<R> fetchNextChunk() throws DataAccessException;
+
+
+    /**
+     * Turn this <code>KeysetScan</code> into a {@link Stream}.
+     *
+     * @throws DataAccessException if something went wrong executing the query
+     */
+    Stream<R> stream() throws DataAccessException;
+
+
+    /**
+     * Close the underlying prepared statement.
+     *
+     * @throws DataAccessException if something went wrong closing the statement
+     */
+
+    @Override
+
+    void close() throws DataAccessException;
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq;
+
+import java.util.stream.Stream;
+
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DataSourceConnectionProvider;
+
+/**
+ * A partitioned scan over the results of a {@link Select} statement.
+ * <p>
+ * A partitioned scan splits a <code>Select</code> statement into several
+ * partitions by ranges of a numeric or temporal key, and executes the
+ * partitions concurrently on separate connections obtained from the
+ * {@link Configuration#connectionProvider()}, using tasks submitted to the
+ * {@link Configuration#executorProvider()}. The scanned statement is nested
+ * in a derived table, and each partition adds a range predicate on the key:
+ *
+ * <pre>
+ * <code>
+ * SELECT * FROM (&lt;select&gt;) p WHERE p.key &lt; ? OR p.key IS NULL
+ * SELECT * FROM (&lt;select&gt;) p WHERE p.key &gt;= ? AND p.key &lt; ?
+ * ...
+ * SELECT * FROM (&lt;select&gt;) p WHERE p.key &gt;= ?
+ * </code>
+ * </pre>
+ * <p>
+ * The partition bounds are either computed in equal ranges from the
+ * <code>MIN</code> and <code>MAX</code> values of the key (see
+ * {@link #partitions(int)}), or provided explicitly (see
+ * {@link #splitAt(Object...)}). Each partition is fetched into memory in its
+ * entirety, so the number of partitions should be chosen such that individual
+ * partitions are reasonably small.
+ * <p>
+ * Concurrent execution requires a {@link ConnectionProvider} that provides a
+ * separate connection for each execution, such as the
+ * {@link DataSourceConnectionProvider}. With a single, standalone JDBC
+ * connection, the partitions are executed one after the other.
+ * <p>
+ * An example:
+ *
+ * <pre>
+ * <code>
+ * try (Stream&lt;BookRecord&gt; stream = DSL.using(configuration)
+ *         .partitionedScan(selectFrom(BOOK), BOOK.ID)
+ *         .partitions(32)
+ *         .parallelism(8)
+ *         .stream()) {
+ *
+ *     stream.forEach(book -&gt; export(book));
+ * }
+ * </code>
+ * </pre>
+ *
+ * @param <R> The record type
+ * @see DSLContext#partitionedScan(Select, Field)
+ */
+public interface PartitionedScan<R extends Record> {
+
+    /**
+     * Split the scan into the given number of partitions with equal key
+     * ranges between the <code>MIN</code> and <code>MAX</code> values of the
+     * key, which are queried prior to executing the partitions.
+     * <p>
+     * Fewer partitions may be produced if the key range is too small. This
+     * defaults to the number of available processors.
+     *
+     * @param count The number of partitions. Must be positive.
+     * @return This scan.
+     */
+    PartitionedScan<R> partitions(int count);
+
+    /**
+     * Split the scan at the given key values.
+     * <p>
+     * <code>n</code> split values produce <code>n + 1</code> partitions. Rows
+     * whose key is <code>NULL</code> are contained in the first partition.
+     *
+     * @param bounds The split values, which are sorted and converted to the
+     *            key's data type.
+     * @return This scan.
+     */
+    PartitionedScan<R> splitAt(Object... bounds);
+
+    /**
+     * The maximum number of partitions that are executed concurrently, and
+     * thus the maximum number of connections that are used concurrently.
+     * <p>
+     * This defaults to the number of partitions.
+     *
+     * @param connections The maximum number of concurrent executions. Must be
+     *            positive.
+     * @return This scan.
+     */
+    PartitionedScan<R> parallelism(int connections);
+
+    /**
+     * Whether the records produced by the scan should be ordered by the key.
+     * <p>
+     * As partitions are disjoint key ranges, ordered scans order the records
+     * within each partition in the database, and then produce partitions in
+     * the order of their key ranges. Unordered scans produce partitions in the
+     * order in which they complete.
+     * <p>
+     * This defaults to <code>false</code>.
+     *
+     * @return This scan.
+     */
+    PartitionedScan<R> ordered(boolean ordered);
+
+    /**
+     * Execute the partitions and return a {@link Stream} of the merged
+     * results.
+     * <p>
+     * Partitions are fetched lazily. Workers fetch only a bounded number of
+     * records ahead of the stream's consumer, such that large scans do not
+     * have to fit in memory.
+     * <p>
+     * Client code should close the stream in order to stop the execution of
+     * pending partitions, when not all records are consumed.
+     *
+     * @throws DataAccessException if something went wrong executing the query
+     */
+    Stream<R> stream() throws DataAccessException;
+
+    /**
+     * Execute the partitions and return the merged results.
+     *
+     * @throws DataAccessException if something went wrong executing the query
+     */
+    Result<R> fetch() throws DataAccessException;
+}
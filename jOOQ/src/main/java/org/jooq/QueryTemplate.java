@@ -0,0 +1,128 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq;
+
+import java.util.List;
+import java.util.Map;
+
+import org.jooq.exception.DataAccessException;
+
+/**
+ * An immutable, thread-safe template of a {@link ResultQuery}, whose SQL
+ * string has been rendered once and whose bind values can be replaced for
+ * each execution.
+ * <p>
+ * Templates are created by {@link DSLContext#prepareTemplate(ResultQuery)}.
+ * The SQL string is rendered once, using the creating
+ * <code>DSLContext</code>'s dialect and settings, and shared by all
+ * executions, in any thread. Executions only bind the new values to the
+ * template's parameter slots, which are the query's non-inline {@link Param}
+ * instances, in the order in which they are bound to the
+ * {@link java.sql.PreparedStatement}.
+ * <p>
+ * Values can be supplied either by index, in which case there must be exactly
+ * one value per slot, or by {@link Param#getParamName()}, in which case slots
+ * without a supplied value keep the value they had when the template was
+ * created. Values are converted to each slot's {@link DataType}.
+ * <p>
+ * Example: <code><pre>
+ * QueryTemplate&lt;BookRecord&gt; byAuthor = create.prepareTemplate(
+ *     selectFrom(BOOK).where(BOOK.AUTHOR_ID.eq(param("author", 0))));
+ *
+ * // Then, in any thread
+ * Result&lt;BookRecord&gt; books = byAuthor.fetch(1);
+ * </pre></code>
+ *
+ * @param <R> The record type
+ */
+public interface QueryTemplate<R extends Record> {
+
+    /**
+     * The SQL string shared by all executions.
+     */
+    String getSQL();
+
+    /**
+     * The parameter slots, in bind order.
+     */
+    List<Param<?>> getParams();
+
+    /**
+     * Create a new query from this template, binding values by index.
+     *
+     * @throws IllegalArgumentException if the number of values doesn't match
+     *             the number of parameter slots.
+     */
+    ResultQuery<R> query(Object... values);
+
+    /**
+     * Create a new query from this template, binding values by parameter name.
+     */
+    ResultQuery<R> query(Map<String, ?> values);
+
+    /**
+     * Execute a new query from this template, binding values by index.
+     *
+     * @see #query(Object...)
+     * @see ResultQuery#fetch()
+     * @throws DataAccessException if something went wrong executing the query
+     */
+    Result<R> fetch(Object... values) throws DataAccessException;
+
+    /**
+     * Execute a new query from this template, binding values by parameter
+     * name.
+     *
+     * @see #query(Map)
+     * @see ResultQuery#fetch()
+     * @throws DataAccessException if something went wrong executing the query
+     */
+    Result<R> fetch(Map<String, ?> values) throws DataAccessException;
+
+    /**
+     * Execute a new query from this template, binding values by index, and
+     * return at most one resulting record.
+     *
+     * @see #query(Object...)
+     * @see ResultQuery#fetchOne()
+     * @throws DataAccessException if something went wrong executing the query
+     * @throws org.jooq.exception.TooManyRowsException if the query returned
+     *             more than one record
+     */
+    R fetchOne(Object... values) throws DataAccessException;
+}
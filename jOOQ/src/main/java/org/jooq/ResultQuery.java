@@ -51,6 +51,7 @@ import java.util.Spliterator;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
@@ -3855,6 +3856,28 @@ public interface ResultQuery<R extends Record> extends Query, Iterable<R> {
      */
     ResultQuery<R> resultSetHoldability(int resultSetHoldability);
 
+    /**
+     * Allow for the results of this query to be cached.
+     * <p>
+     * If the {@link Configuration} contains a
+     * {@link org.jooq.impl.ResultCacheListener}, the results of
+     * {@link #fetch()} and of all methods based on it, as well as of
+     * {@link #fetchOne()}, {@link #fetchSingle()} and {@link #fetchAny()} are
+     * cached for at most the given time to live, keyed by the SQL string and
+     * the bind values of this query. Results are invalidated earlier when
+     * other queries executed through jOOQ modify the tables this query reads
+     * from. Lazy fetching through {@link #fetchLazy()},
+     * {@link #fetchStream()} or {@link #fetchResultSet()} is never cached.
+     * <p>
+     * Without a <code>ResultCacheListener</code>, this has no effect.
+     *
+     * @param ttl The time to live of cached results, or <code>0</code> to
+     *            disable caching for this query.
+     * @param unit The unit of <code>ttl</code>.
+     * @return The same result query
+     */
+    ResultQuery<R> cacheable(long ttl, TimeUnit unit);
+
     /**
      * Specify a set of fields whose values should be interned.
      * <p>
@@ -0,0 +1,57 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq;
+
+import org.jooq.impl.DefaultExecuteListenerProvider;
+
+/**
+ * An {@link ExecuteListenerProvider} whose {@link #provide()} method always
+ * returns the same, thread safe {@link ExecuteListener} instance.
+ * <p>
+ * By implementing this marker interface, a provider allows jOOQ to look up its
+ * listener only once per {@link Configuration}, rather than once per
+ * execution. The listener is then shared by all executions of that
+ * <code>Configuration</code>, so it must not keep any per-execution state
+ * other than in the {@link ExecuteContext}.
+ *
+ * @see DefaultExecuteListenerProvider
+ */
+
+@FunctionalInterface
+
+public interface StatelessExecuteListenerProvider extends ExecuteListenerProvider {}
@@ -0,0 +1,75 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq;
+
+/**
+ * The <code>TransactionRetryPolicy</code> SPI is used to decide whether a
+ * rolled back transaction should be re-executed.
+ * <p>
+ * A policy is passed to overloads like
+ * {@link DSLContext#transactionResult(TransactionRetryPolicy, TransactionalCallable)}.
+ * After the transactional code fails and the transaction has been rolled back,
+ * the policy is consulted with the failed {@link TransactionContext}, whose
+ * {@link TransactionContext#cause()} or
+ * {@link TransactionContext#causeThrowable()} contains the failure. The policy
+ * can either request another attempt after a delay, or let the failure
+ * propagate to the caller.
+ * <p>
+ * Policies are applied only to outermost transactions. When a retrying
+ * transaction is started within an ongoing transaction of a
+ * <code>DefaultTransactionProvider</code> or a
+ * <code>ThreadLocalTransactionProvider</code>, the policy is ignored and the
+ * failure propagates to the enclosing transaction, as database errors like
+ * serialization failures or deadlocks usually invalidate the whole transaction,
+ * not just the nested savepoint.
+ */
+public interface TransactionRetryPolicy {
+
+    /**
+     * Decide whether a failed transaction should be retried.
+     *
+     * @param ctx The context of the failed and rolled back transaction.
+     * @param attempt The number of attempts that have been made so far,
+     *            starting with <code>1</code>.
+     * @param elapsedNanos The time in nanoseconds that has elapsed since the
+     *            first attempt was started.
+     * @return The delay in nanoseconds before the next attempt is made, or a
+     *         negative value if the failure should not be retried.
+     */
+    long retryDelay(TransactionContext ctx, int attempt, long elapsedNanos);
+}
@@ -39,6 +39,7 @@ package org.jooq;
 
 import java.sql.PreparedStatement;
 import java.util.EventListener;
+import java.util.Set;
 
 /**
  * A listener for {@link QueryPart} traversal events.
@@ -90,6 +91,10 @@ import java.util.EventListener;
  * "http://blog.jooq.org/2015/02/05/top-10-easy-performance-optimisations-in-java/">
  * http://blog.jooq.org/2015/02/05/top-10-easy-performance-optimisations-in-
  * java/</a>.
+ * <p>
+ * Listeners that are only interested in some events can declare this through
+ * {@link #queryPartTypes()} and {@link #clauses()}, in case of which all other
+ * events are not dispatched to them at all.
  *
  * @author Lukas Eder
  */
@@ -142,4 +147,30 @@ public interface VisitListener extends EventListener {
      * @see Context#visit(QueryPart)
      */
     void visitEnd(VisitContext context);
+
+    /**
+     * The {@link QueryPart} types for which this listener wants to receive
+     * {@link #visitStart(VisitContext)} and {@link #visitEnd(VisitContext)}
+     * events, or <code>null</code> to receive them for all query parts.
+     * <p>
+     * This is evaluated only once per {@link Context}, when the listener is
+     * provided. A part matches if it is an instance of any of the types.
+     */
+    default Set<Class<? extends QueryPart>> queryPartTypes() {
+        return null;
+    }
+
+    /**
+     * The {@link Clause} types for which this listener wants to receive
+     * {@link #clauseStart(VisitContext)} and {@link #clauseEnd(VisitContext)}
+     * events, or <code>null</code> to receive them for all clauses.
+     * <p>
+     * This is evaluated only once per {@link Context}, when the listener is
+     * provided. If all listeners of a context return an empty set, clauses are
+     * not tracked at all, and {@link VisitContext#clause()} and
+     * {@link VisitContext#clauses()} will not report any clauses.
+     */
+    default Set<Clause> clauses() {
+        return null;
+    }
 }
@@ -85,6 +85,10 @@ public class Settings
     protected Boolean executeWithOptimisticLocking = false;
     @XmlElement(defaultValue = "false")
     protected Boolean executeWithOptimisticLockingExcludeUnversioned = false;
+    @XmlElement(defaultValue = "false")
+    protected Boolean executeWithOptimisticLockingCompareAndSet = false;
+    @XmlElement(defaultValue = "false")
+    protected Boolean executeWithQueryCoalescing = false;
     @XmlElement(defaultValue = "true")
     protected Boolean attachRecords = true;
     @XmlElement(defaultValue = "false")
@@ -125,6 +129,10 @@ public class Settings
     protected Boolean inListPadding = false;
     @XmlElement(defaultValue = "2")
     protected Integer inListPadBase = 2;
+    @XmlElement(defaultValue = "0")
+    protected Integer inListRewriteThreshold = 0;
+    @XmlElement(defaultValue = "100")
+    protected Integer rowInListEmulationThreshold = 100;
     @XmlElement(defaultValue = ";")
     protected String delimiter = ";";
     @XmlElement(defaultValue = "false")
@@ -675,6 +683,66 @@ public class Settings
         this.executeWithOptimisticLockingExcludeUnversioned = value;
     }
 
+    /**
+     * Whether store() and delete() methods should check for changes of "unversioned" records by comparing
+     * the record's original values in the WHERE clause of the UPDATE or DELETE statement, rather than
+     * by fetching the record with an additional SELECT .. FOR UPDATE statement.
+     * <p>
+     * A change is detected when the UPDATE or DELETE statement does not affect any rows. This saves a
+     * round trip and allows for batching optimistically locked records with batchStore() and batchDelete(),
+     * which always use this mode. LOB columns are excluded from the comparison.
+     * <p>
+     * This flag has no effect when "executeWithOptimisticLocking" is turned off, or "executeWithOptimisticLockingExcludeUnversioned" is turned on.
+     *
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *
+     */
+    public Boolean isExecuteWithOptimisticLockingCompareAndSet() {
+        return executeWithOptimisticLockingCompareAndSet;
+    }
+
+    /**
+     * Sets the value of the executeWithOptimisticLockingCompareAndSet property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *
+     */
+    public void setExecuteWithOptimisticLockingCompareAndSet(Boolean value) {
+        this.executeWithOptimisticLockingCompareAndSet = value;
+    }
+
+    /**
+     * Whether concurrent executions of identical eagerly fetched {@link org.jooq.ResultQuery} instances should share a single database execution.
+     * <p>
+     * Executions are identical if they have the same SQL string and bind values, and if they run in the same transaction managed by jOOQ, or outside of any such transaction with the same {@link org.jooq.ConnectionProvider} instance. Executions that arrive while another identical execution is in flight wait for it, and receive a copy of its result, or its exception.
+     * <p>
+     * Transactions that are not managed by jOOQ, e.g. by an external transaction manager, cannot be detected. This flag must not be turned on if such transactions share a {@link org.jooq.ConnectionProvider} instance.
+     *
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *
+     */
+    public Boolean isExecuteWithQueryCoalescing() {
+        return executeWithQueryCoalescing;
+    }
+
+    /**
+     * Sets the value of the executeWithQueryCoalescing property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *
+     */
+    public void setExecuteWithQueryCoalescing(Boolean value) {
+        this.executeWithQueryCoalescing = value;
+    }
+
     /**
      * Whether fetched records should be attached to the fetching configuration.
      *
@@ -1143,6 +1211,58 @@ public class Settings
         this.inListPadBase = value;
     }
 
+    /**
+     * The number of bind values from which on <code>IN</code> lists are rewritten to a form whose SQL string does not depend on the number of values, or <code>0</code> to never rewrite them.
+     * <p>
+     * Lists are rewritten to <code>= ANY(?)</code> and <code>&lt;&gt; ALL(?)</code> with a single array bind value in dialects supporting arrays (H2, HSQLDB, PostgreSQL), or to a subquery selecting from a <code>VALUES</code> derived table in Derby and SQLite. Lists containing inline values or expressions other than bind values are not rewritten.
+     *
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *
+     */
+    public Integer getInListRewriteThreshold() {
+        return inListRewriteThreshold;
+    }
+
+    /**
+     * Sets the value of the inListRewriteThreshold property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *
+     */
+    public void setInListRewriteThreshold(Integer value) {
+        this.inListRewriteThreshold = value;
+    }
+
+    /**
+     * The number of rows from which on emulated row value <code>IN</code> predicates are rendered as an <code>EXISTS</code> predicate against a <code>VALUES</code> derived table, rather than as a chain of <code>OR</code> connected comparisons, or <code>0</code> to always render the latter.
+     * <p>
+     * This only affects dialects that do not support row value <code>IN</code> predicates natively (Derby, Firebird, SQLite). <code>NOT IN</code> predicates are not affected, as <code>NOT EXISTS</code> would treat <code>NULL</code> values differently.
+     *
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *
+     */
+    public Integer getRowInListEmulationThreshold() {
+        return rowInListEmulationThreshold;
+    }
+
+    /**
+     * Sets the value of the rowInListEmulationThreshold property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *
+     */
+    public void setRowInListEmulationThreshold(Integer value) {
+        this.rowInListEmulationThreshold = value;
+    }
+
     /**
      * [#5826] The delimiter character to be used to delimit statements in batches.
      *
@@ -1411,6 +1531,16 @@ public class Settings
         return this;
     }
 
+    public Settings withExecuteWithOptimisticLockingCompareAndSet(Boolean value) {
+        setExecuteWithOptimisticLockingCompareAndSet(value);
+        return this;
+    }
+
+    public Settings withExecuteWithQueryCoalescing(Boolean value) {
+        setExecuteWithQueryCoalescing(value);
+        return this;
+    }
+
     public Settings withAttachRecords(Boolean value) {
         setAttachRecords(value);
         return this;
@@ -1506,6 +1636,16 @@ public class Settings
         return this;
     }
 
+    public Settings withInListRewriteThreshold(Integer value) {
+        setInListRewriteThreshold(value);
+        return this;
+    }
+
+    public Settings withRowInListEmulationThreshold(Integer value) {
+        setRowInListEmulationThreshold(value);
+        return this;
+    }
+
     public Settings withDelimiter(String value) {
         setDelimiter(value);
         return this;
@@ -1644,6 +1784,16 @@ public class Settings
             sb.append(executeWithOptimisticLockingExcludeUnversioned);
             sb.append("</executeWithOptimisticLockingExcludeUnversioned>");
         }
+        if (executeWithOptimisticLockingCompareAndSet!= null) {
+            sb.append("<executeWithOptimisticLockingCompareAndSet>");
+            sb.append(executeWithOptimisticLockingCompareAndSet);
+            sb.append("</executeWithOptimisticLockingCompareAndSet>");
+        }
+        if (executeWithQueryCoalescing!= null) {
+            sb.append("<executeWithQueryCoalescing>");
+            sb.append(executeWithQueryCoalescing);
+            sb.append("</executeWithQueryCoalescing>");
+        }
         if (attachRecords!= null) {
             sb.append("<attachRecords>");
             sb.append(attachRecords);
@@ -1739,6 +1889,16 @@ public class Settings
             sb.append(inListPadBase);
             sb.append("</inListPadBase>");
         }
+        if (inListRewriteThreshold!= null) {
+            sb.append("<inListRewriteThreshold>");
+            sb.append(inListRewriteThreshold);
+            sb.append("</inListRewriteThreshold>");
+        }
+        if (rowInListEmulationThreshold!= null) {
+            sb.append("<rowInListEmulationThreshold>");
+            sb.append(rowInListEmulationThreshold);
+            sb.append("</rowInListEmulationThreshold>");
+        }
         if (delimiter!= null) {
             sb.append("<delimiter>");
             sb.append(delimiter);
@@ -1969,6 +2129,24 @@ public class Settings
                 return false;
             }
         }
+        if (executeWithOptimisticLockingCompareAndSet == null) {
+            if (other.executeWithOptimisticLockingCompareAndSet!= null) {
+                return false;
+            }
+        } else {
+            if (!executeWithOptimisticLockingCompareAndSet.equals(other.executeWithOptimisticLockingCompareAndSet)) {
+                return false;
+            }
+        }
+        if (executeWithQueryCoalescing == null) {
+            if (other.executeWithQueryCoalescing!= null) {
+                return false;
+            }
+        } else {
+            if (!executeWithQueryCoalescing.equals(other.executeWithQueryCoalescing)) {
+                return false;
+            }
+        }
         if (attachRecords == null) {
             if (other.attachRecords!= null) {
                 return false;
@@ -2140,6 +2318,24 @@ public class Settings
                 return false;
             }
         }
+        if (inListRewriteThreshold == null) {
+            if (other.inListRewriteThreshold!= null) {
+                return false;
+            }
+        } else {
+            if (!inListRewriteThreshold.equals(other.inListRewriteThreshold)) {
+                return false;
+            }
+        }
+        if (rowInListEmulationThreshold == null) {
+            if (other.rowInListEmulationThreshold!= null) {
+                return false;
+            }
+        } else {
+            if (!rowInListEmulationThreshold.equals(other.rowInListEmulationThreshold)) {
+                return false;
+            }
+        }
         if (delimiter == null) {
             if (other.delimiter!= null) {
                 return false;
@@ -2230,6 +2426,8 @@ public class Settings
         result = ((prime*result)+((executeLogging == null)? 0 :executeLogging.hashCode()));
         result = ((prime*result)+((executeWithOptimisticLocking == null)? 0 :executeWithOptimisticLocking.hashCode()));
         result = ((prime*result)+((executeWithOptimisticLockingExcludeUnversioned == null)? 0 :executeWithOptimisticLockingExcludeUnversioned.hashCode()));
+        result = ((prime*result)+((executeWithOptimisticLockingCompareAndSet == null)? 0 :executeWithOptimisticLockingCompareAndSet.hashCode()));
+        result = ((prime*result)+((executeWithQueryCoalescing == null)? 0 :executeWithQueryCoalescing.hashCode()));
         result = ((prime*result)+((attachRecords == null)? 0 :attachRecords.hashCode()));
         result = ((prime*result)+((updatablePrimaryKeys == null)? 0 :updatablePrimaryKeys.hashCode()));
         result = ((prime*result)+((reflectionCaching == null)? 0 :reflectionCaching.hashCode()));
@@ -2249,6 +2447,8 @@ public class Settings
         result = ((prime*result)+((debugInfoOnStackTrace == null)? 0 :debugInfoOnStackTrace.hashCode()));
         result = ((prime*result)+((inListPadding == null)? 0 :inListPadding.hashCode()));
         result = ((prime*result)+((inListPadBase == null)? 0 :inListPadBase.hashCode()));
+        result = ((prime*result)+((inListRewriteThreshold == null)? 0 :inListRewriteThreshold.hashCode()));
+        result = ((prime*result)+((rowInListEmulationThreshold == null)? 0 :rowInListEmulationThreshold.hashCode()));
         result = ((prime*result)+((delimiter == null)? 0 :delimiter.hashCode()));
         result = ((prime*result)+((emulateOnDuplicateKeyUpdateOnPrimaryKeyOnly == null)? 0 :emulateOnDuplicateKeyUpdateOnPrimaryKeyOnly.hashCode()));
         result = ((prime*result)+((executeUpdateWithoutWhere == null)? 0 :executeUpdateWithoutWhere.hashCode()));
@@ -62,6 +62,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.jooq.BindContext;
 import org.jooq.Clause;
@@ -113,9 +114,12 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
 
     // [#2665] VisitListener API
     final VisitListener[]                    visitListeners;
+    private final Class<?>[][]               visitListenerTypes;
+    private final Set<Clause>[]              visitListenerClauses;
     private final Deque<Clause>              visitClauses;
     private final DefaultVisitContext        visitContext;
     private final Deque<QueryPart>           visitParts;
+    private final Deque<boolean[]>           visitAccepted;
 
     // [#2694] Unified RenderContext and BindContext traversal
     final ParamType                          forcedParamType;
@@ -126,6 +130,7 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
     boolean                                  qualifySchema               = true;
     boolean                                  qualifyCatalog              = true;
 
+    @SuppressWarnings("unchecked")
     AbstractContext(Configuration configuration, PreparedStatement stmt) {
         super(configuration);
         this.stmt = stmt;
@@ -154,13 +159,37 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
 
 
 
+            this.visitListenerTypes = new Class[visitListeners.length][];
+            this.visitListenerClauses = new Set[visitListeners.length];
+
+            // Listeners declaring the events they're interested in are
+            // skipped for all other events
+            boolean trackClauses = false;
+            boolean trackAccepted = false;
+            for (int i = 0; i < visitListeners.length; i++) {
+                Set<Class<? extends QueryPart>> types = visitListeners[i].queryPartTypes();
+                Set<Clause> clauses = visitListeners[i].clauses();
+
+                if (types != null) {
+                    visitListenerTypes[i] = types.toArray(new Class[0]);
+                    trackAccepted = true;
+                }
+
+                visitListenerClauses[i] = clauses;
+                trackClauses |= clauses == null || !clauses.isEmpty();
+            }
+
             this.visitContext = new DefaultVisitContext();
             this.visitParts = new ArrayDeque<QueryPart>();
-            this.visitClauses = new ArrayDeque<Clause>();
+            this.visitAccepted = trackAccepted ? new ArrayDeque<boolean[]>() : null;
+            this.visitClauses = trackClauses ? new ArrayDeque<Clause>() : null;
         }
         else {
+            this.visitListenerTypes = null;
+            this.visitListenerClauses = null;
             this.visitContext = null;
             this.visitParts = null;
+            this.visitAccepted = null;
             this.visitClauses = null;
         }
 
@@ -193,7 +222,7 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
 
             // Issue start clause events
             // -----------------------------------------------------------------
-            Clause[] clauses = Tools.isNotEmpty(visitListeners) ? clause(part) : null;
+            Clause[] clauses = visitClauses != null ? clause(part) : null;
             if (clauses != null)
                 for (int i = 0; i < clauses.length; i++)
                     start(clauses[i]);
@@ -248,8 +277,9 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
         if (clause != null && visitClauses != null) {
             visitClauses.addLast(clause);
 
-            for (VisitListener listener : visitListeners)
-                listener.clauseStart(visitContext);
+            for (int i = 0; i < visitListeners.length; i++)
+                if (accepts(i, clause))
+                    visitListeners[i].clauseStart(visitContext);
         }
 
         return (C) this;
@@ -258,8 +288,9 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
     @Override
     public final C end(Clause clause) {
         if (clause != null && visitClauses != null) {
-            for (VisitListener listener : visitListeners)
-                listener.clauseEnd(visitContext);
+            for (int i = 0; i < visitListeners.length; i++)
+                if (accepts(i, clause))
+                    visitListeners[i].clauseEnd(visitContext);
 
             if (visitClauses.removeLast() != clause)
                 throw new IllegalStateException("Mismatch between visited clauses!");
@@ -272,8 +303,22 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
         if (visitParts != null) {
             visitParts.addLast(part);
 
-            for (VisitListener listener : visitListeners)
-                listener.visitStart(visitContext);
+            if (visitAccepted == null) {
+                for (int i = 0; i < visitListeners.length; i++)
+                    visitListeners[i].visitStart(visitContext);
+            }
+
+            // Listeners may replace the part, so each listener's decision is
+            // remembered for the matching visitEnd() event
+            else {
+                boolean[] accepted = new boolean[visitListeners.length];
+
+                for (int i = 0; i < visitListeners.length; i++)
+                    if (accepted[i] = accepts(i, visitParts.peekLast()))
+                        visitListeners[i].visitStart(visitContext);
+
+                visitAccepted.addLast(accepted);
+            }
 
             return visitParts.peekLast();
         }
@@ -284,14 +329,35 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
 
     private final void end(QueryPart part) {
         if (visitParts != null) {
-            for (VisitListener listener : visitListeners)
-                listener.visitEnd(visitContext);
+            boolean[] accepted = visitAccepted == null ? null : visitAccepted.removeLast();
+
+            for (int i = 0; i < visitListeners.length; i++)
+                if (accepted == null || accepted[i])
+                    visitListeners[i].visitEnd(visitContext);
 
             if (visitParts.removeLast() != part)
                 throw new RuntimeException("Mismatch between visited query parts");
         }
     }
 
+    private final boolean accepts(int listener, Clause clause) {
+        Set<Clause> clauses = visitListenerClauses[listener];
+        return clauses == null || clauses.contains(clause);
+    }
+
+    private final boolean accepts(int listener, QueryPart part) {
+        Class<?>[] types = visitListenerTypes[listener];
+
+        if (types == null)
+            return true;
+
+        for (Class<?> type : types)
+            if (type.isInstance(part))
+                return true;
+
+        return false;
+    }
+
     /**
      * A {@link VisitContext} is always in the scope of the current
      * {@link RenderContext}.
@@ -340,17 +406,17 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
 
         @Override
         public final Clause clause() {
-            return visitClauses.peekLast();
+            return visitClauses != null ? visitClauses.peekLast() : null;
         }
 
         @Override
         public final Clause[] clauses() {
-            return visitClauses.toArray(EMPTY_CLAUSE);
+            return visitClauses != null ? visitClauses.toArray(EMPTY_CLAUSE) : EMPTY_CLAUSE;
         }
 
         @Override
         public final int clausesLength() {
-            return visitClauses.size();
+            return visitClauses != null ? visitClauses.size() : 0;
         }
 
         @Override
@@ -49,7 +49,6 @@ import static org.jooq.conf.ParamType.INLINED;
 import static org.jooq.conf.SettingsTools.executePreparedStatements;
 import static org.jooq.conf.SettingsTools.getParamType;
 import static org.jooq.conf.ThrowExceptions.THROW_NONE;
-import static org.jooq.impl.DSL.using;
 import static org.jooq.impl.Tools.EMPTY_PARAM;
 import static org.jooq.impl.Tools.blocking;
 import static org.jooq.impl.Tools.consumeExceptions;
@@ -325,6 +324,12 @@ abstract class AbstractQuery extends AbstractQueryPart implements Query {
                     listener.renderEnd(ctx);
                     rendered.sql = ctx.sql();
 
+                    // Result queries may be served from a cache or from another
+                    // in-flight execution, without acquiring a connection
+                    result = executeFromCache(ctx, listener);
+                    if (result >= 0)
+                        return result;
+
                     // [#3234] Defer initialising of a connection until the prepare step
                     // This optimises unnecessary ConnectionProvider.acquire() calls when
                     // ControlFlowSignals are thrown
@@ -361,7 +366,7 @@ abstract class AbstractQuery extends AbstractQueryPart implements Query {
 
                     listener.bindStart(ctx);
                     if (rendered.bindValues != null)
-                        using(c).bindContext(ctx.statement()).visit(rendered.bindValues);
+                        new DefaultBindContext(c, ctx.statement()).visit(rendered.bindValues);
                     listener.bindEnd(ctx);
                 }
 
@@ -384,6 +389,7 @@ abstract class AbstractQuery extends AbstractQueryPart implements Query {
                 throw ctx.exception();
             }
             finally {
+                executeFinished(ctx);
 
                 // [#2385] Successful fetchLazy() needs to keep open resources
                 if (!keepResultSet() || ctx.exception() != null) {
@@ -434,6 +440,28 @@ abstract class AbstractQuery extends AbstractQueryPart implements Query {
         ctx.statement(ctx.connection().prepareStatement(ctx.sql()));
     }
 
+    /**
+     * Subclasses may override this method to serve the execution from a cache,
+     * after rendering the SQL string and before preparing a statement.
+     * <p>
+     * Implementations must issue the same {@link ExecuteListener} events as
+     * {@link #execute(ExecuteContext, ExecuteListener)}, except for the ones
+     * related to preparing and binding a statement.
+     *
+     * @return The execution result, or <code>-1</code> if the execution was
+     *         not served from a cache.
+     */
+    @SuppressWarnings("unused")
+    int executeFromCache(ExecuteContext ctx, ExecuteListener listener) throws SQLException {
+        return -1;
+    }
+
+    /**
+     * Subclasses may override this method to be notified when an execution
+     * ends, successfully or not, before its resources are closed.
+     */
+    void executeFinished(ExecuteContext ctx) {}
+
     /**
      * Default implementation for query execution using a prepared statement.
      * Subclasses may override this method.
@@ -514,15 +542,19 @@ abstract class AbstractQuery extends AbstractQueryPart implements Query {
             result = new Rendered(render.paramType(INLINED).visit(this).render(), null, render.peekSkipUpdateCounts());
         }
         else if (executePreparedStatements(configuration().settings())) {
+            DefaultRenderContext render = DefaultRenderContext.pooled(configuration);
+
             try {
-                DefaultRenderContext render = new DefaultRenderContext(configuration);
                 render.data(DATA_COUNT_BIND_VALUES, true);
                 result = new Rendered(render.visit(this).render(), render.bindValues(), render.peekSkipUpdateCounts());
             }
             catch (DefaultRenderContext.ForceInlineSignal e) {
                 ctx.data(DATA_FORCE_STATIC_STATEMENT, true);
-                DefaultRenderContext render = new DefaultRenderContext(configuration);
-                result = new Rendered(render.paramType(INLINED).visit(this).render(), null, render.peekSkipUpdateCounts());
+                DefaultRenderContext inlined = new DefaultRenderContext(configuration);
+                result = new Rendered(inlined.paramType(INLINED).visit(this).render(), null, inlined.peekSkipUpdateCounts());
+            }
+            finally {
+                render.release();
             }
         }
         else {
@@ -123,8 +123,16 @@ abstract class AbstractRecord extends AbstractStore implements Record {
 
     final RowImpl                   fields;
     final Object[]                  values;
-    final Object[]                  originals;
-    final BitSet                    changed;
+
+    /**
+     * The original values, shared with {@link #values} until the two diverge.
+     */
+    Object[]                        originals;
+
+    /**
+     * The changed flags, allocated lazily when the first flag is set.
+     */
+    BitSet                          changed;
     boolean                         fetched;
 
     AbstractRecord(Collection<? extends Field<?>> fields) {
@@ -140,8 +148,7 @@ abstract class AbstractRecord extends AbstractStore implements Record {
 
         this.fields = fields;
         this.values = new Object[size];
-        this.originals = new Object[size];
-        this.changed = new BitSet(size);
+        this.originals = values;
     }
 
     // ------------------------------------------------------------------------
@@ -314,22 +321,22 @@ abstract class AbstractRecord extends AbstractStore implements Record {
 
         // Normal fields' changed flag is always set to true
         if (key == null || !key.getFields().contains(field)) {
-            changed.set(index);
+            changed0(index, true);
         }
 
         // The primary key's changed flag might've been set previously
-        else if (changed.get(index)) {
-            changed.set(index);
+        else if (changed0(index)) {
+            changed0(index, true);
         }
 
         // [#2764] Users may override updatability of primary key values
         else if (updatablePrimaryKeys(settings(this))) {
-            changed.set(index);
+            changed0(index, true);
         }
 
         // [#2698] If the primary key has not yet been set
         else if (originals[index] == null) {
-            changed.set(index);
+            changed0(index, true);
         }
 
         // [#979] If the primary key is being changed, all other fields' flags
@@ -338,13 +345,14 @@ abstract class AbstractRecord extends AbstractStore implements Record {
         else {
 
             // [#945] Be sure that changed is never reset to false
-            changed.set(index, changed.get(index) || !StringUtils.equals(values[index], value));
+            changed0(index, changed0(index) || !StringUtils.equals(values[index], value));
 
-            if (changed.get(index)) {
+            if (changed0(index)) {
                 changed(true);
             }
         }
 
+        unshareOriginals();
         values[index] = value;
     }
 
@@ -367,6 +375,7 @@ abstract class AbstractRecord extends AbstractStore implements Record {
 
     final void setValues(Field<?>[] fields, AbstractRecord record) {
         fetched = record.fetched;
+        unshareOriginals();
 
         for (Field<?> field : fields) {
             int targetIndex = indexOrFail(fieldsRow(), field);
@@ -374,7 +383,7 @@ abstract class AbstractRecord extends AbstractStore implements Record {
 
             values[targetIndex] = record.get(sourceIndex);
             originals[targetIndex] = record.original(sourceIndex);
-            changed.set(targetIndex, record.changed(sourceIndex));
+            changed0(targetIndex, record.changed(sourceIndex));
         }
     }
 
@@ -387,6 +396,31 @@ abstract class AbstractRecord extends AbstractStore implements Record {
         }
     }
 
+    /**
+     * Stop sharing {@link #originals} with {@link #values}, before the two
+     * arrays are modified independently.
+     */
+    final void unshareOriginals() {
+        if (originals == values)
+            originals = values.clone();
+    }
+
+    final boolean changed0(int index) {
+        return changed != null && changed.get(index);
+    }
+
+    final void changed0(int index, boolean c) {
+        if (c) {
+            if (changed == null)
+                changed = new BitSet(values.length);
+
+            changed.set(index);
+        }
+        else if (changed != null) {
+            changed.clear(index);
+        }
+    }
+
     final int safeIndex(int index) {
         if (index >= 0 && index < values.length)
             return index;
@@ -447,7 +481,7 @@ abstract class AbstractRecord extends AbstractStore implements Record {
 
     @Override
     public final boolean changed() {
-        return !changed.isEmpty();
+        return changed != null && !changed.isEmpty();
     }
 
     @Override
@@ -457,7 +491,7 @@ abstract class AbstractRecord extends AbstractStore implements Record {
 
     @Override
     public final boolean changed(int fieldIndex) {
-        return changed.get(safeIndex(fieldIndex));
+        return changed0(safeIndex(fieldIndex));
     }
 
     @Override
@@ -472,7 +506,15 @@ abstract class AbstractRecord extends AbstractStore implements Record {
 
     @Override
     public final void changed(boolean c) {
-        changed.set(0, values.length, c);
+        if (c) {
+            if (changed == null)
+                changed = new BitSet(values.length);
+
+            changed.set(0, values.length);
+        }
+        else {
+            changed = null;
+        }
 
         // [#1995] If a value is meant to be "unchanged", the "original" should
         // match the supposedly "unchanged" value.
@@ -490,7 +532,7 @@ abstract class AbstractRecord extends AbstractStore implements Record {
     public final void changed(int fieldIndex, boolean c) {
         safeIndex(fieldIndex);
 
-        changed.set(fieldIndex, c);
+        changed0(fieldIndex, c);
 
         // [#1995] If a value is meant to be "unchanged", the "original" should
         // match the supposedly "unchanged" value.
@@ -510,7 +552,7 @@ abstract class AbstractRecord extends AbstractStore implements Record {
 
     @Override
     public final void reset() {
-        changed.clear();
+        changed = null;
 
         System.arraycopy(originals, 0, values, 0, originals.length);
     }
@@ -524,7 +566,7 @@ abstract class AbstractRecord extends AbstractStore implements Record {
     public final void reset(int fieldIndex) {
         safeIndex(fieldIndex);
 
-        changed.clear(fieldIndex);
+        changed0(fieldIndex, false);
         values[fieldIndex] = originals[fieldIndex];
     }
 
@@ -744,6 +786,7 @@ abstract class AbstractRecord extends AbstractStore implements Record {
                 // [#1522] [#2989] If possible the complete state of this record should be copied onto the other record
                 if (target instanceof AbstractRecord) {
                     AbstractRecord t = (AbstractRecord) target;
+                    t.unshareOriginals();
 
                     // Iterate over target fields, to avoid ambiguities when two source fields share the same name.
                     // [#3634] If external targetFields are provided, use those instead of the target record's fields.
@@ -757,7 +800,7 @@ abstract class AbstractRecord extends AbstractStore implements Record {
 
                             t.values[targetIndex] = targetType.convert(values[sourceIndex]);
                             t.originals[targetIndex] = targetType.convert(originals[sourceIndex]);
-                            t.changed.set(targetIndex, changed.get(sourceIndex));
+                            t.changed0(targetIndex, changed0(sourceIndex));
                         }
                     }
                 }
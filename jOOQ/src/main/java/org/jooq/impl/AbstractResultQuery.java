@@ -37,6 +37,7 @@
  */
 package org.jooq.impl;
 
+import static java.lang.Boolean.TRUE;
 import static java.sql.ResultSet.CONCUR_UPDATABLE;
 import static java.sql.ResultSet.TYPE_SCROLL_SENSITIVE;
 import static java.util.Arrays.asList;
@@ -69,6 +70,7 @@ import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
 
@@ -90,6 +92,7 @@ import org.jooq.Results;
 import org.jooq.SQLDialect;
 import org.jooq.Table;
 import org.jooq.conf.SettingsTools;
+import org.jooq.exception.NoDataFoundException;
 import org.jooq.tools.Convert;
 import org.jooq.tools.JooqLogger;
 import org.jooq.tools.jdbc.MockResultSet;
@@ -113,6 +116,9 @@ abstract class AbstractResultQuery<R extends Record> extends AbstractQuery imple
     private int                              resultSetConcurrency;
     private int                              resultSetType;
     private int                              resultSetHoldability;
+    private long                             cacheTtlNanos;
+    private transient QueryCoalescing.Flight flight;
+    private transient boolean                completed;
     private transient boolean                lazy;
     private transient boolean                many;
     private transient Cursor<R>              cursor;
@@ -131,6 +137,22 @@ abstract class AbstractResultQuery<R extends Record> extends AbstractQuery imple
      */
     protected abstract Field<?>[] getFields(ResultSetMetaData rs) throws SQLException;
 
+    /**
+     * Get a list of fields for the <code>n</code>th result set fetched
+     * through {@link #fetchMany()}.
+     */
+    Field<?>[] getFields(ResultSetMetaData meta, int n) throws SQLException {
+        return new MetaDataFieldProvider(configuration(), meta).getFields();
+    }
+
+    /**
+     * The record type of the <code>n</code>th result set fetched through
+     * {@link #fetchMany()}.
+     */
+    Class<? extends Record> getRecordType(int n) {
+        return RecordImpl.class;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public final ResultQuery<R> bind(String param, Object value) {
@@ -191,6 +213,12 @@ abstract class AbstractResultQuery<R extends Record> extends AbstractQuery imple
         return this;
     }
 
+    @Override
+    public final ResultQuery<R> cacheable(long ttl, TimeUnit unit) {
+        this.cacheTtlNanos = unit.toNanos(ttl);
+        return this;
+    }
+
     @Override
     public final ResultQuery<R> intern(Field<?>... fields) {
         intern.internFields = fields;
@@ -262,6 +290,93 @@ abstract class AbstractResultQuery<R extends Record> extends AbstractQuery imple
         }
     }
 
+    /**
+     * The result cache of this query, if it is cacheable and if the current
+     * execution fetches all results eagerly.
+     */
+    private final ResultCacheListener resultCache(Configuration configuration) {
+        return cacheTtlNanos > 0L && !lazy && !many && !keepStatement()
+             ? ResultCacheListener.listener(configuration)
+             : null;
+    }
+
+    /**
+     * Whether this query's current execution may share a database execution
+     * with identical concurrent executions.
+     */
+    private final boolean coalescing(Configuration configuration) {
+        return !lazy && !many && !keepStatement() && !isForUpdate()
+            && TRUE.equals(configuration.settings().isExecuteWithQueryCoalescing());
+    }
+
+    @Override
+    final int executeFromCache(ExecuteContext ctx, ExecuteListener listener) throws SQLException {
+        Object key = null;
+        ResultCacheListener cache = resultCache(ctx.configuration());
+
+        if (cache != null) {
+            key = ResultCacheListener.key(ctx.sql(), rendered.bindValues);
+            ResultCacheListener.CachedResult entry = cache.get(ctx.configuration(), key);
+
+            if (entry != null) {
+                result = fetch(ctx, listener, entry.fields, asList(entry.rows));
+                return result.size();
+            }
+        }
+
+        if (coalescing(ctx.configuration())) {
+            if (key == null)
+                key = ResultCacheListener.key(ctx.sql(), rendered.bindValues);
+
+            // Executions derive their own Configuration and ConnectionProvider
+            QueryCoalescing.Flight f = QueryCoalescing.join(((DefaultExecuteContext) ctx).originalConfiguration(), key);
+            if (f.leader()) {
+                flight = f;
+                completed = false;
+            }
+            else {
+                List<Object[]> rows = f.await();
+
+                if (rows != null) {
+                    result = fetch(ctx, listener, f.fields(), rows);
+                    return result.size();
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    final void executeFinished(ExecuteContext ctx) {
+        if (flight != null) {
+            QueryCoalescing.Flight f = flight;
+            flight = null;
+
+            // The result may be a previous execution's, if this one did not
+            // complete normally, e.g. because of an Error or a ControlFlowSignal
+            f.complete(completed ? result : null, ctx.exception());
+            completed = false;
+        }
+    }
+
+    /**
+     * Fetch a result from a copy of data fetched by another execution of the
+     * same SQL string, issuing the same {@link ExecuteListener} events as an
+     * actual execution and fetch.
+     * <p>
+     * The data is read through this query's own fields, converters and
+     * bindings, which may differ from the ones it was fetched with.
+     */
+    private final Result<R> fetch(ExecuteContext ctx, ExecuteListener listener, Field<?>[] fetched, List<Object[]> rows) throws SQLException {
+        listener.executeStart(ctx);
+        ctx.resultSet(ResultCacheListener.resultSet(ctx.configuration(), fetched, rows));
+        listener.executeEnd(ctx);
+
+        Field<?>[] fields = getFields(ctx.resultSet().getMetaData());
+        return new CursorImpl<R>(ctx, listener, fields, intern.internIndexes(fields), false, false, getRecordType(), SettingsTools.getMaxRows(maxRows, ctx.settings())).fetch();
+    }
+
     @Override
     protected final int execute(ExecuteContext ctx, ExecuteListener listener) throws SQLException {
         listener.executeStart(ctx);
@@ -302,15 +417,20 @@ abstract class AbstractResultQuery<R extends Record> extends AbstractQuery imple
             if (!lazy) {
                 result = cursor.fetch();
                 cursor = null;
+
+                ResultCacheListener cache = resultCache(ctx.configuration());
+                if (cache != null)
+                    cache.put(ctx.configuration(), ResultCacheListener.key(ctx.sql(), rendered.bindValues), this, result, cacheTtlNanos);
             }
         }
 
         // Fetch several result sets
         else {
             results = new ResultsImpl(ctx.configuration());
-            consumeResultSets(ctx, listener, results, intern, e);
+            consumeResultSets(ctx, listener, results, intern, e, this);
         }
 
+        completed = e == null;
         return result != null ? result.size() : 0;
     }
 
@@ -324,6 +444,17 @@ abstract class AbstractResultQuery<R extends Record> extends AbstractQuery imple
      */
     abstract boolean isForUpdate();
 
+    /**
+     * Whether single record fetches should fetch all results eagerly, in order
+     * to profit from the result cache or from query coalescing.
+     */
+    private final boolean fetchEagerly() {
+        Configuration c = Tools.configuration(this);
+
+        return cacheTtlNanos > 0L && ResultCacheListener.listener(c) != null
+            || TRUE.equals(c.settings().isExecuteWithQueryCoalescing()) && !isForUpdate();
+    }
+
     @Override
     public final Result<R> fetch() {
         execute();
@@ -548,6 +679,11 @@ abstract class AbstractResultQuery<R extends Record> extends AbstractQuery imple
 
     @Override
     public final R fetchOne() {
+
+        // Cacheable and coalesced results are always fetched eagerly
+        if (fetchEagerly())
+            return Tools.filterOne(fetch());
+
         return Tools.fetchOne(fetchLazy(), hasLimit1());
     }
 
@@ -643,6 +779,15 @@ abstract class AbstractResultQuery<R extends Record> extends AbstractQuery imple
 
     @Override
     public final R fetchSingle() {
+        if (fetchEagerly()) {
+            R record = Tools.filterOne(fetch());
+
+            if (record == null)
+                throw new NoDataFoundException("Cursor returned no rows");
+
+            return record;
+        }
+
         return Tools.fetchSingle(fetchLazy(), hasLimit1());
     }
 
@@ -829,6 +974,11 @@ abstract class AbstractResultQuery<R extends Record> extends AbstractQuery imple
 
     @Override
     public final R fetchAny() {
+        if (fetchEagerly()) {
+            Result<R> r = fetch();
+            return r.isEmpty() ? null : r.get(0);
+        }
+
         Cursor<R> c = fetchLazy();
 
         try {
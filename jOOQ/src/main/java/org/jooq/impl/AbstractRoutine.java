@@ -1582,7 +1582,7 @@ public abstract class AbstractRoutine<T> extends AbstractNamed implements Routin
     /**
      * The {@link Field} representation of this {@link Routine}
      */
-    private class RoutineField extends AbstractField<T> {
+    class RoutineField extends AbstractField<T> {
 
         /**
          * Generated UID
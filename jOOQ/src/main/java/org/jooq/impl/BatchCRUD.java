@@ -37,14 +37,18 @@
  */
 package org.jooq.impl;
 
+import static java.lang.Boolean.TRUE;
 import static org.jooq.conf.SettingsTools.executeStaticStatements;
 import static org.jooq.impl.Tools.DataKey.DATA_OMIT_RETURNING_CLAUSE;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.jooq.Batch;
 import org.jooq.BatchBindStep;
@@ -56,6 +60,7 @@ import org.jooq.TableRecord;
 import org.jooq.UpdatableRecord;
 import org.jooq.exception.ControlFlowSignal;
 import org.jooq.exception.DataAccessException;
+import org.jooq.exception.DataChangedException;
 
 /**
  * @author Lukas Eder
@@ -99,6 +104,7 @@ final class BatchCRUD implements Batch {
 
     private final int[] executePrepared() {
         Map<String, List<Query>> queries = new LinkedHashMap<String, List<Query>>();
+        Map<String, List<TableRecord<?>>> queryRecords = new LinkedHashMap<String, List<TableRecord<?>>>();
         QueryCollector collector = new QueryCollector();
 
         // Add the QueryCollector to intercept query execution after rendering
@@ -113,6 +119,9 @@ final class BatchCRUD implements Batch {
         // [#1529] Avoid DEBUG logging of single INSERT / UPDATE statements
         local.settings().setExecuteLogging(false);
 
+        // Optimistic locking checks cannot run any additional queries
+        local.settings().setExecuteWithOptimisticLockingCompareAndSet(true);
+
         for (int i = 0; i < records.length; i++) {
             Configuration previous = records[i].configuration();
 
@@ -127,13 +136,17 @@ final class BatchCRUD implements Batch {
                 // Aggregate executable queries by identical SQL
                 if (query.isExecutable()) {
                     List<Query> list = queries.get(sql);
+                    List<TableRecord<?>> recordList = queryRecords.get(sql);
 
                     if (list == null) {
                         list = new ArrayList<Query>();
+                        recordList = new ArrayList<TableRecord<?>>();
                         queries.put(sql, list);
+                        queryRecords.put(sql, recordList);
                     }
 
                     list.add(query);
+                    recordList.add(records[i]);
                 }
             }
             finally {
@@ -145,6 +158,7 @@ final class BatchCRUD implements Batch {
         // SQL statement may have several queries with different bind values.
         // The order is preserved as much as possible
         List<Integer> result = new ArrayList<Integer>();
+        Set<TableRecord<?>> changed = Collections.newSetFromMap(new IdentityHashMap<TableRecord<?>, Boolean>());
         for (Entry<String, List<Query>> entry : queries.entrySet()) {
             BatchBindStep batch = create.batch(entry.getValue().get(0));
 
@@ -156,6 +170,8 @@ final class BatchCRUD implements Batch {
             for (int i : array) {
                 result.add(i);
             }
+
+            checkIfChanged(array, queryRecords.get(entry.getKey()), changed);
         }
 
         int[] array = new int[result.size()];
@@ -163,12 +179,13 @@ final class BatchCRUD implements Batch {
             array[i] = result.get(i);
         }
 
-        updateChangedFlag();
+        updateChangedFlag(changed);
         return array;
     }
 
     private final int[] executeStatic() {
         List<Query> queries = new ArrayList<Query>();
+        List<TableRecord<?>> queryRecords = new ArrayList<TableRecord<?>>();
         QueryCollector collector = new QueryCollector();
 
         Configuration local = configuration.derive(Tools.combine(
@@ -176,6 +193,9 @@ final class BatchCRUD implements Batch {
             new DefaultExecuteListenerProvider(collector)
         ));
 
+        // Optimistic locking checks cannot run any additional queries
+        local.settings().setExecuteWithOptimisticLockingCompareAndSet(true);
+
         for (int i = 0; i < records.length; i++) {
             Configuration previous = records[i].configuration();
 
@@ -188,6 +208,7 @@ final class BatchCRUD implements Batch {
 
                 if (query.isExecutable()) {
                     queries.add(query);
+                    queryRecords.add(records[i]);
                 }
             }
             finally {
@@ -197,7 +218,9 @@ final class BatchCRUD implements Batch {
 
         // Resulting statements can be batch executed in their requested order
         int[] result = create.batch(queries).execute();
-        updateChangedFlag();
+        Set<TableRecord<?>> changed = Collections.newSetFromMap(new IdentityHashMap<TableRecord<?>, Boolean>());
+        checkIfChanged(result, queryRecords, changed);
+        updateChangedFlag(changed);
         return result;
     }
 
@@ -218,11 +241,27 @@ final class BatchCRUD implements Batch {
         }
     }
 
-    private final void updateChangedFlag() {
+    /**
+     * Collect the records whose statement did not affect any rows, when
+     * optimistic locking is active.
+     */
+    private final void checkIfChanged(int[] result, List<TableRecord<?>> queryRecords, Set<TableRecord<?>> changed) {
+        if (action != Action.INSERT && TRUE.equals(configuration.settings().isExecuteWithOptimisticLocking()))
+            for (int i = 0; i < result.length && i < queryRecords.size(); i++)
+                if (result[i] == 0)
+                    changed.add(queryRecords.get(i));
+    }
+
+    private final void updateChangedFlag(Set<TableRecord<?>> changed) {
         // 1. Deleted records should be marked as changed, such that subsequent
         //    calls to store() will insert them again
         // 2. Stored records should be marked as unchanged
+        // 3. Records that have been changed in the database in the meantime
+        //    are left untouched, such that they can be identified by client code
         for (TableRecord<?> record : records) {
+            if (changed.contains(record))
+                continue;
+
             record.changed(action == Action.DELETE);
 
             // [#3362] If new records (fetched = false) are batch-stored twice in a row, the second
@@ -231,6 +270,9 @@ final class BatchCRUD implements Batch {
                 ((AbstractRecord) record).fetched = action != Action.DELETE;
             }
         }
+
+        if (!changed.isEmpty())
+            throw new DataChangedException("Database record has been changed or doesn't exist any longer: " + changed.size() + " of " + records.length + " records");
     }
 
     /**
@@ -118,6 +118,14 @@ final class CombinedCondition extends AbstractCondition {
         add(operator, right);
     }
 
+    final Operator getOperator() {
+        return operator;
+    }
+
+    final List<Condition> getConditions() {
+        return conditions;
+    }
+
     private final CombinedCondition add(Operator op, Condition condition) {
         if (condition instanceof CombinedCondition) {
             CombinedCondition combinedCondition = (CombinedCondition) condition;
@@ -0,0 +1,137 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import static org.jooq.impl.Tools.EMPTY_FIELD;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import org.jooq.Clause;
+import org.jooq.Configuration;
+import org.jooq.Context;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.Select;
+import org.jooq.exception.DataAccessException;
+
+/**
+ * Several independent {@link Select} statements combined into a single
+ * statement that produces one result set per query, to be executed through
+ * {@link #fetchMany()}.
+ * <p>
+ * Each result set is read with the projection and record type of its query,
+ * such that values are read through the same {@link org.jooq.Binding} as when
+ * executing the queries individually.
+ */
+final class CombinedResultQuery extends AbstractResultQuery<Record> {
+
+    /**
+     * Generated UID
+     */
+    private static final long     serialVersionUID = -2896574616403911045L;
+
+    private final ResultQuery<?>[] queries;
+
+    CombinedResultQuery(Configuration configuration, ResultQuery<?>[] queries) {
+        super(configuration);
+
+        this.queries = queries;
+    }
+
+    /**
+     * The combined queries.
+     */
+    final ResultQuery<?>[] queries() {
+        return queries;
+    }
+
+    // ------------------------------------------------------------------------
+    // ResultQuery API
+    // ------------------------------------------------------------------------
+
+    @Override
+    public final void accept(Context<?> ctx) {
+        for (int i = 0; i < queries.length; i++) {
+            if (i > 0)
+                ctx.sql(';').formatSeparator();
+
+            ctx.visit(queries[i]);
+        }
+    }
+
+    @Override
+    public final Clause[] clauses(Context<?> ctx) {
+        return null;
+    }
+
+    @Override
+    public final Class<? extends Record> getRecordType() {
+        return RecordImpl.class;
+    }
+
+    @Override
+    protected final Field<?>[] getFields(ResultSetMetaData meta) throws SQLException {
+        return getFields(meta, 0);
+    }
+
+    @Override
+    final Field<?>[] getFields(ResultSetMetaData meta, int n) throws SQLException {
+        if (n >= queries.length)
+            throw new DataAccessException("Expected " + queries.length + " results, but got more");
+
+        Field<?>[] fields = ((Select<?>) queries[n]).getSelect().toArray(EMPTY_FIELD);
+        int columns = meta.getColumnCount();
+
+        if (columns != fields.length)
+            throw new DataAccessException("Result " + n + " has " + columns + " columns, but its query projects " + fields.length + " columns: " + queries[n]);
+
+        return fields;
+    }
+
+    @Override
+    final Class<? extends Record> getRecordType(int n) {
+        return queries[n].getRecordType();
+    }
+
+    @Override
+    final boolean isForUpdate() {
+        return false;
+    }
+}
@@ -91,6 +91,18 @@ final class CompareCondition extends AbstractCondition implements LikeEscapeStep
         this.comparator = comparator;
     }
 
+    final Field<?> getField1() {
+        return field1;
+    }
+
+    final Field<?> getField2() {
+        return field2;
+    }
+
+    final Comparator getComparator() {
+        return comparator;
+    }
+
     @Override
     public final Condition escape(char c) {
         this.escape = c;
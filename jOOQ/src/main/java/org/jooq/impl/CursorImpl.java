@@ -39,6 +39,7 @@ package org.jooq.impl;
 
 import static java.lang.Boolean.TRUE;
 // ...
+import static org.jooq.impl.Tools.blocking;
 import static org.jooq.impl.Tools.recordFactory;
 import static org.jooq.impl.Tools.DataKey.DATA_LOCK_ROWS_FOR_UPDATE;
 
@@ -71,6 +72,11 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -89,6 +95,7 @@ import org.jooq.Result;
 import org.jooq.Row;
 import org.jooq.Table;
 import org.jooq.exception.ControlFlowSignal;
+import org.jooq.exception.DataAccessException;
 import org.jooq.tools.JooqLogger;
 import org.jooq.tools.jdbc.JDBC41ResultSet;
 import org.jooq.tools.jdbc.JDBCUtils;
@@ -108,7 +115,7 @@ final class CursorImpl<R extends Record> extends AbstractCursor<R> implements Cu
     private final boolean                                  keepStatement;
     private final int                                      maxRows;
     private final RecordFactory<? extends R>               factory;
-    private boolean                                        isClosed;
+    private volatile boolean                               isClosed;
 
     private transient CursorResultSet                      rs;
     private transient DefaultBindingGetResultSetContext<?> rsContext;
@@ -117,6 +124,7 @@ final class CursorImpl<R extends Record> extends AbstractCursor<R> implements Cu
 
 
     private transient Iterator<R>                          iterator;
+    private transient int                                  prefetch;
     private transient int                                  rows;
     private transient boolean                              lockRowsForUpdate;
 
@@ -268,6 +276,9 @@ final class CursorImpl<R extends Record> extends AbstractCursor<R> implements Cu
         if (iterator == null) {
             iterator = new CursorIterator();
             listener.fetchStart(ctx);
+
+            if (prefetch > 0)
+                iterator = new PrefetchIterator(iterator, prefetch);
         }
 
         return iterator;
@@ -276,13 +287,7 @@ final class CursorImpl<R extends Record> extends AbstractCursor<R> implements Cu
 
     @Override
     public final Stream<R> stream() {
-        return StreamSupport.stream(
-            Spliterators.spliteratorUnknownSize(
-                iterator(),
-                Spliterator.ORDERED | Spliterator.NONNULL
-            ),
-            false
-        ).onClose(() -> close());
+        return StreamSupport.stream(new CursorSpliterator(), false).onClose(() -> close());
     }
 
     @Override
@@ -290,6 +295,15 @@ final class CursorImpl<R extends Record> extends AbstractCursor<R> implements Cu
         return stream().collect(collector);
     }
 
+    @Override
+    public final Cursor<R> prefetch(int size) {
+        if (iterator != null)
+            throw new IllegalStateException("Cannot enable prefetching after records have been fetched from this Cursor");
+
+        prefetch = size;
+        return this;
+    }
+
 
     @Override
     public final boolean hasNext() {
@@ -464,6 +478,16 @@ final class CursorImpl<R extends Record> extends AbstractCursor<R> implements Cu
 
     @Override
     public final void close() {
+
+        // The background task must not be reading from the ResultSet while it
+        // is being closed.
+        if (iterator instanceof CursorImpl.PrefetchIterator)
+            ((PrefetchIterator) iterator).close();
+
+        close0();
+    }
+
+    private final void close0() {
         JDBCUtils.safeClose(rs);
         rs = null;
         isClosed = true;
@@ -1691,7 +1715,7 @@ final class CursorImpl<R extends Record> extends AbstractCursor<R> implements Cu
             // if necessary, lazy-terminating the ExecuteListener lifecycle if
             // the result is not eager-fetched.
             if (record == null) {
-                CursorImpl.this.close();
+                CursorImpl.this.close0();
             }
 
             return (R) record;
@@ -1783,4 +1807,181 @@ final class CursorImpl<R extends Record> extends AbstractCursor<R> implements Cu
             }
         }
     }
+
+
+    /**
+     * A spliterator for records fetched by this cursor.
+     * <p>
+     * Splitting hands off arrays of already fetched records to other threads,
+     * similar to {@link Spliterators#spliteratorUnknownSize(Iterator, int)},
+     * but with batch sizes starting small and growing geometrically, such
+     * that parallel streams with expensive per-record operations can start
+     * distributing work early.
+     */
+    final class CursorSpliterator implements Spliterator<R> {
+
+        private static final int MIN_BATCH = 64;
+        private static final int MAX_BATCH = 1 << 20;
+        private int              batch     = MIN_BATCH;
+
+        @Override
+        public final boolean tryAdvance(Consumer<? super R> action) {
+            Iterator<R> it = iterator();
+
+            if (it.hasNext()) {
+                action.accept(it.next());
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public final void forEachRemaining(Consumer<? super R> action) {
+            iterator().forEachRemaining(action);
+        }
+
+        @Override
+        public final Spliterator<R> trySplit() {
+            Iterator<R> it = iterator();
+
+            if (!it.hasNext())
+                return null;
+
+            Object[] array = new Object[batch];
+            int size = 0;
+
+            do
+                array[size++] = it.next();
+            while (size < array.length && it.hasNext());
+
+            batch = Math.min(batch << 1, MAX_BATCH);
+            return Spliterators.spliterator(array, 0, size, characteristics());
+        }
+
+        @Override
+        public final long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public final int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * An iterator that reads ahead records from a delegate iterator in a
+     * background task, buffering them in a bounded queue.
+     */
+    final class PrefetchIterator implements Iterator<R> {
+
+        /**
+         * A marker for the end of the prefetched data.
+         */
+        private final Object                END = new Object();
+        private final Iterator<R>           delegate;
+        private final BlockingQueue<Object> queue;
+        private final CompletableFuture<?>  producer;
+        private volatile boolean            stopped;
+
+        /**
+         * The next element taken from the queue, which is either a record,
+         * {@link #END}, or a {@link Throwable} raised by the background task.
+         */
+        private Object                      next;
+
+        PrefetchIterator(Iterator<R> delegate, int size) {
+            this.delegate = delegate;
+            this.queue = new ArrayBlockingQueue<Object>(size);
+            this.producer = CompletableFuture.supplyAsync(blocking(this::produce), configuration.executorProvider().provide());
+        }
+
+        private final Boolean produce() {
+            Object last = END;
+
+            try {
+                while (!stopped && delegate.hasNext()) {
+                    R record = delegate.next();
+
+                    if (stopped)
+                        break;
+
+                    queue.put(record);
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                last = new DataAccessException("Interrupted while prefetching records", e);
+            }
+            catch (Throwable e) {
+                last = e;
+            }
+
+            // A stopped consumer will not take any further elements
+            try {
+                if (!stopped)
+                    queue.put(last);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return true;
+        }
+
+        @Override
+        public final boolean hasNext() {
+            if (next == null) {
+                if (stopped)
+                    return false;
+
+                try {
+                    next = queue.take();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new DataAccessException("Interrupted while waiting for prefetched records", e);
+                }
+            }
+
+            if (next instanceof RuntimeException)
+                throw (RuntimeException) next;
+            else if (next instanceof Error)
+                throw (Error) next;
+            else if (next instanceof Throwable)
+                throw new DataAccessException("Error while prefetching records", (Throwable) next);
+
+            return next != END;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public final R next() {
+            if (!hasNext())
+                throw new NoSuchElementException("There are no more records to fetch from this Cursor");
+
+            R result = (R) next;
+            next = null;
+            return result;
+        }
+
+        final void close() {
+            stopped = true;
+
+            // Unblock a producer that is waiting for free buffer space. It will
+            // check the stopped flag before putting anything else in the queue.
+            queue.clear();
+
+            try {
+                producer.join();
+            }
+            catch (CompletionException ignore) {}
+        }
+
+        @Override
+        public final void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
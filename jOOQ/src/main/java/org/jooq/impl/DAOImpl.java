@@ -81,10 +81,11 @@ import org.jooq.conf.Settings;
  */
 public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO<R, P, T> {
 
-    private final Table<R>     table;
-    private final Class<P>     type;
-    private RecordMapper<R, P> mapper;
-    private Configuration      configuration;
+    private final Table<R>      table;
+    private final Class<P>      type;
+    private RecordMapper<R, P>  mapper;
+    private Configuration       configuration;
+    private EntityCacheListener cache;
 
     // -------------------------------------------------------------------------
     // XXX: Constructors and initialisation
@@ -110,6 +111,7 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
     public /* non-final */ void setConfiguration(Configuration configuration) {
         this.configuration = configuration;
         this.mapper = Tools.configuration(configuration).recordMapperProvider().provide(table.recordType(), type);
+        this.cache = EntityCacheListener.listener(Tools.configuration(configuration));
     }
 
     @Override
@@ -203,6 +205,8 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
         // Execute a regular UPDATE
         else if (objects.size() == 1)
             records(objects, true).get(0).update();
+
+        removeFromCache(objects);
     }
 
     @Override
@@ -233,6 +237,8 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
         // Execute a regular DELETE
         else if (objects.size() == 1)
             records(objects, true).get(0).delete();
+
+        removeFromCache(objects);
     }
 
     @SuppressWarnings("unchecked")
@@ -247,6 +253,10 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
 
         if (pk != null) {
             using(configuration).delete(table).where(equal(pk, ids)).execute();
+
+            if (cache != null)
+                for (T id : ids)
+                    cache.remove(configuration, table, EntityCacheListener.key(pk, id));
         }
     }
 
@@ -260,6 +270,9 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
         Field<?>[] pk = pk();
 
         if (pk != null) {
+            if (cache != null && cache.get(configuration, table, EntityCacheListener.key(pk, id)) != null)
+                return true;
+
             return using(configuration)
                      .selectCount()
                      .from(table)
@@ -293,10 +306,7 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
         R record = null;
 
         if (pk != null) {
-            record = using(configuration)
-                        .selectFrom(table)
-                        .where(equal(pk, id))
-                        .fetchOne();
+            record = fetchById(pk, id);
         }
 
         return record == null ? null : mapper().map(record);
@@ -312,8 +322,17 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
                  .map(mapper());
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public /* non-final */ <Z> P fetchOne(Field<Z> field, Z value) {
+        Field<?>[] pk = pk();
+
+        // Primary key lookups may be served from an EntityCache
+        if (cache != null && pk != null && pk.length == 1 && pk[0].equals(field)) {
+            R record = fetchById(pk, (T) value);
+            return record == null ? null : mapper().map(record);
+        }
+
         R record = using(configuration)
                      .selectFrom(table)
                      .where(field.equal(value))
@@ -392,6 +411,36 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
         }
     }
 
+    private /* non-final */ R fetchById(Field<?>[] pk, T id) {
+        Object key = null;
+
+        if (cache != null) {
+            key = EntityCacheListener.key(pk, id);
+            R record = cache.get(configuration, table, key);
+
+            if (record != null)
+                return record;
+        }
+
+        R record = using(configuration)
+                      .selectFrom(table)
+                      .where(equal(pk, id))
+                      .fetchOne();
+
+        if (cache != null && record != null)
+            cache.put(configuration, table, key, record);
+
+        return record;
+    }
+
+    private /* non-final */ void removeFromCache(Collection<P> objects) {
+        Field<?>[] pk = pk();
+
+        if (cache != null && pk != null)
+            for (P object : objects)
+                cache.remove(configuration, table, EntityCacheListener.key(pk, getId(object)));
+    }
+
     private /* non-final */ Field<?>[] pk() {
         UniqueKey<?> key = table.getPrimaryKey();
         return key == null ? null : key.getFieldsArray();
@@ -56,23 +56,19 @@ import org.jooq.impl.Tools.DataKey;
  */
 final class DataMap extends AbstractMap<Object, Object> {
 
-    final EnumMap<DataKey, Object>   internal;
+    // Most contexts never store any data, so all maps are allocated lazily
+    EnumMap<DataKey, Object>         internal;
     Map<Object, Object>              external;
-    final Set<Entry<Object, Object>> entrySet;
-
-    DataMap() {
-        internal = new EnumMap<DataKey, Object>(DataKey.class);
-        entrySet = new EntrySet();
-    }
+    Set<Entry<Object, Object>>       entrySet;
 
     @Override
     public final int size() {
-        return internal().size() + external(false).size();
+        return internal(false).size() + external(false).size();
     }
 
     @Override
     public final boolean isEmpty() {
-        return internal().isEmpty() && external(false).isEmpty();
+        return internal(false).isEmpty() && external(false).isEmpty();
     }
 
     @Override
@@ -82,7 +78,7 @@ final class DataMap extends AbstractMap<Object, Object> {
 
     @Override
     public final boolean containsValue(Object value) {
-        return internal().containsValue(value) || external(false).containsValue(value);
+        return internal(false).containsValue(value) || external(false).containsValue(value);
     }
 
     @Override
@@ -97,22 +93,32 @@ final class DataMap extends AbstractMap<Object, Object> {
 
     @Override
     public final Object remove(Object key) {
-        return delegate(key, true).remove(key);
+        return delegate(key, false).remove(key);
     }
 
     @Override
     public final void clear() {
-        internal().clear();
-        external(true).clear();
+        internal(false).clear();
+        external(false).clear();
     }
 
     @Override
     public final Set<Entry<Object, Object>> entrySet() {
+        if (entrySet == null)
+            entrySet = new EntrySet();
+
         return entrySet;
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    private final Map<Object, Object> internal() {
+    private final Map<Object, Object> internal(boolean initialise) {
+        if (internal == null) {
+            if (initialise)
+                internal = new EnumMap<DataKey, Object>(DataKey.class);
+            else
+                return Collections.emptyMap();
+        }
+
         return (Map) internal;
     }
 
@@ -127,16 +133,15 @@ final class DataMap extends AbstractMap<Object, Object> {
         return external;
     }
 
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     private final Map<Object, Object> delegate(Object key, boolean initialise) {
-        return key instanceof DataKey ? (Map) internal() : external(initialise);
+        return key instanceof DataKey ? internal(initialise) : external(initialise);
     }
 
     private class EntrySet extends AbstractSet<Entry<Object, Object>> {
         @Override
         public final Iterator<Entry<Object, Object>> iterator() {
             return new Iterator<Entry<Object, Object>>() {
-                final Iterator<Entry<Object, Object>> internalIterator = internal().entrySet().iterator();
+                final Iterator<Entry<Object, Object>> internalIterator = internal(false).entrySet().iterator();
                 final Iterator<Entry<Object, Object>> externalIterator = external(false).entrySet().iterator();
 
                 @Override
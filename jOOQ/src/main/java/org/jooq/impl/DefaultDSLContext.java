@@ -40,6 +40,7 @@ package org.jooq.impl;
 import static org.jooq.conf.ParamType.INLINED;
 import static org.jooq.conf.ParamType.NAMED;
 import static org.jooq.conf.ParamType.NAMED_OR_INLINED;
+import static org.jooq.conf.SettingsTools.executePreparedStatements;
 import static org.jooq.impl.DSL.catalog;
 import static org.jooq.impl.DSL.condition;
 import static org.jooq.impl.DSL.count;
@@ -58,6 +59,7 @@ import static org.jooq.impl.Tools.EMPTY_TABLE;
 import static org.jooq.impl.Tools.EMPTY_TABLE_RECORD;
 import static org.jooq.impl.Tools.EMPTY_UPDATABLE_RECORD;
 import static org.jooq.impl.Tools.blocking;
+import static org.jooq.impl.Tools.DataKey.DATA_DEFAULT_TRANSACTION_PROVIDER_SAVEPOINTS;
 import static org.jooq.impl.Tools.list;
 import static org.jooq.tools.Convert.convert;
 
@@ -75,6 +77,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -83,6 +86,7 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -130,6 +134,7 @@ import org.jooq.DropTypeStep;
 import org.jooq.DropViewFinalStep;
 import org.jooq.ExecuteContext;
 import org.jooq.ExecuteListener;
+import org.jooq.ExecuteListenerProvider;
 import org.jooq.Explain;
 import org.jooq.Field;
 import org.jooq.GrantOnStep;
@@ -159,6 +164,7 @@ import org.jooq.InsertValuesStep7;
 import org.jooq.InsertValuesStep8;
 import org.jooq.InsertValuesStep9;
 import org.jooq.InsertValuesStepN;
+import org.jooq.KeysetScan;
 import org.jooq.LoaderOptionsStep;
 import org.jooq.MergeKeyStep1;
 import org.jooq.MergeKeyStep10;
@@ -187,11 +193,13 @@ import org.jooq.MergeUsingStep;
 import org.jooq.Meta;
 import org.jooq.Name;
 import org.jooq.Param;
+import org.jooq.PartitionedScan;
 import org.jooq.Parser;
 import org.jooq.Privilege;
 import org.jooq.Queries;
 import org.jooq.Query;
 import org.jooq.QueryPart;
+import org.jooq.QueryTemplate;
 import org.jooq.Record;
 import org.jooq.Record1;
 import org.jooq.Record10;
@@ -230,12 +238,15 @@ import org.jooq.SelectQuery;
 import org.jooq.SelectSelectStep;
 import org.jooq.SelectWhereStep;
 import org.jooq.Sequence;
+import org.jooq.SortField;
 import org.jooq.Statement;
 import org.jooq.Table;
 import org.jooq.TableField;
 import org.jooq.TableLike;
 import org.jooq.TableRecord;
+import org.jooq.TransactionContext;
 import org.jooq.TransactionProvider;
+import org.jooq.TransactionRetryPolicy;
 import org.jooq.TransactionalCallable;
 import org.jooq.TransactionalRunnable;
 import org.jooq.TruncateIdentityStep;
@@ -274,6 +285,7 @@ import org.jooq.exception.DataAccessException;
 import org.jooq.exception.InvalidResultException;
 import org.jooq.exception.SQLDialectNotSupportedException;
 import org.jooq.impl.BatchCRUD.Action;
+import org.jooq.impl.ResultsImpl.ResultOrRowsImpl;
 import org.jooq.tools.csv.CSVReader;
 import org.jooq.tools.jdbc.JDBCUtils;
 import org.jooq.tools.jdbc.MockCallable;
@@ -484,15 +496,40 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
             public T run(Configuration c) throws Throwable {
                 return transactional.run();
             }
-        }, ((ThreadLocalTransactionProvider) tp).configuration(configuration()), true);
+        }, ((ThreadLocalTransactionProvider) tp).configuration(configuration()), true, null);
     }
 
     @Override
     public <T> T transactionResult(TransactionalCallable<T> transactional) {
-        return transactionResult0(transactional, configuration(), false);
+        return transactionResult0(transactional, configuration(), false, null);
     }
 
-    private static <T> T transactionResult0(TransactionalCallable<T> transactional, Configuration configuration, boolean threadLocal) {
+    @Override
+    public <T> T transactionResult(TransactionRetryPolicy policy, final ContextTransactionalCallable<T> transactional) {
+        TransactionProvider tp = configuration().transactionProvider();
+
+        if (!(tp instanceof ThreadLocalTransactionProvider))
+            throw new ConfigurationException("Cannot use ContextTransactionalCallable with TransactionProvider of type " + tp.getClass());
+
+        return transactionResult0(new TransactionalCallable<T>() {
+            @Override
+            public T run(Configuration c) throws Throwable {
+                return transactional.run();
+            }
+        }, ((ThreadLocalTransactionProvider) tp).configuration(configuration()), true, policy);
+    }
+
+    @Override
+    public <T> T transactionResult(TransactionRetryPolicy policy, TransactionalCallable<T> transactional) {
+        return transactionResult0(transactional, configuration(), false, policy);
+    }
+
+    private static <T> T transactionResult0(
+        TransactionalCallable<T> transactional,
+        Configuration configuration,
+        boolean threadLocal,
+        TransactionRetryPolicy policy
+    ) {
 
         // If used in a Java 8 Stream, a transaction should always be executed
         // in a ManagedBlocker context, just in case Stream.parallel() is called
@@ -504,64 +541,71 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
         return blocking(() -> {
 
 
-            T result = null;
+            // Retrying only the nested part of an ongoing transaction would be
+            // pointless, as the enclosing transaction is usually invalidated as well
+            TransactionRetryPolicy p = policy != null && !nested(configuration) ? policy : null;
+            long start = p != null ? System.nanoTime() : 0L;
 
-            DefaultTransactionContext ctx = new DefaultTransactionContext(configuration.derive());
-            TransactionProvider provider = ctx.configuration().transactionProvider();
-            TransactionListeners listeners = new TransactionListeners(ctx.configuration());
+            for (int attempt = 1;; attempt++) {
+                DefaultTransactionContext ctx = new DefaultTransactionContext(configuration.derive());
+                TransactionProvider provider = ctx.configuration().transactionProvider();
+                TransactionListeners listeners = new TransactionListeners(ctx.configuration());
 
-            try {
                 try {
-                    listeners.beginStart(ctx);
-                    provider.begin(ctx);
-                }
-                finally {
-                    listeners.beginEnd(ctx);
-                }
+                    try {
+                        listeners.beginStart(ctx);
+                        provider.begin(ctx);
+                    }
+                    finally {
+                        listeners.beginEnd(ctx);
+                    }
 
-                result = transactional.run(ctx.configuration());
+                    T result = transactional.run(ctx.configuration());
 
-                try {
-                    listeners.commitStart(ctx);
-                    provider.commit(ctx);
-                }
-                finally {
-                    listeners.commitEnd(ctx);
-                }
-            }
-
-            // [#6608] [#7167] Errors are no longer handled differently
-            catch (Throwable cause) {
-                if (cause instanceof Exception)
-                    ctx.cause((Exception) cause);
-                else
-                    ctx.causeThrowable(cause);
+                    try {
+                        listeners.commitStart(ctx);
+                        provider.commit(ctx);
+                    }
+                    finally {
+                        listeners.commitEnd(ctx);
+                    }
 
-                listeners.rollbackStart(ctx);
-                try {
-                    provider.rollback(ctx);
+                    return result;
                 }
 
-                // [#3718] Use reflection to support also JDBC 4.0
-                catch (Exception suppress) {
+                // [#6608] [#7167] Errors are no longer handled differently
+                catch (Throwable cause) {
+                    if (cause instanceof Exception)
+                        ctx.cause((Exception) cause);
+                    else
+                        ctx.causeThrowable(cause);
+
+                    listeners.rollbackStart(ctx);
+                    try {
+                        provider.rollback(ctx);
+                    }
+
+                    // [#3718] Use reflection to support also JDBC 4.0
+                    catch (Exception suppress) {
 
-                    cause.addSuppressed(suppress);
+                        cause.addSuppressed(suppress);
 
+                    }
+                    listeners.rollbackEnd(ctx);
+
+                    if (p != null && retry(p, ctx, attempt, start))
+                        continue;
+
+                    // [#6608] [#7167] Errors are no longer handled differently
+                    if (cause instanceof RuntimeException)
+                        throw (RuntimeException) cause;
+                    else if (cause instanceof Error)
+                        throw (Error) cause;
+                    else
+                        throw new DataAccessException("Rollback caused", cause);
                 }
-                listeners.rollbackEnd(ctx);
-
-                // [#6608] [#7167] Errors are no longer handled differently
-                if (cause instanceof RuntimeException)
-                    throw (RuntimeException) cause;
-                else if (cause instanceof Error)
-                    throw (Error) cause;
-                else
-                    throw new DataAccessException("Rollback caused", cause);
             }
 
-            return result;
-
-
         }, threadLocal).get();
 
     }
@@ -588,6 +632,60 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
         });
     }
 
+    @Override
+    public void transaction(TransactionRetryPolicy policy, final ContextTransactionalRunnable transactional) {
+        transactionResult(policy, new ContextTransactionalCallable<Void>() {
+            @Override
+            public Void run() throws Throwable {
+                transactional.run();
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void transaction(TransactionRetryPolicy policy, final TransactionalRunnable transactional) {
+        transactionResult(policy, new TransactionalCallable<Void>() {
+            @Override
+            public Void run(Configuration c) throws Throwable {
+                transactional.run(c);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Whether the argument configuration belongs to an ongoing transaction of
+     * a {@link DefaultTransactionProvider} or
+     * {@link ThreadLocalTransactionProvider}.
+     */
+    private static final boolean nested(Configuration configuration) {
+        Object savepoints = configuration.data(DATA_DEFAULT_TRANSACTION_PROVIDER_SAVEPOINTS);
+        return savepoints instanceof Deque && !((Deque<?>) savepoints).isEmpty();
+    }
+
+    /**
+     * Consult a {@link TransactionRetryPolicy} about a failed attempt, and wait
+     * for the requested backoff, if any.
+     */
+    private static final boolean retry(TransactionRetryPolicy policy, TransactionContext ctx, int attempt, long start) {
+        long delay = policy.retryDelay(ctx, attempt, System.nanoTime() - start);
+
+        if (delay < 0L)
+            return false;
+
+        try {
+            if (delay > 0L)
+                TimeUnit.NANOSECONDS.sleep(delay);
+
+            return true;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
 
 
     @Override
@@ -4046,6 +4144,16 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
         }
     }
 
+    @Override
+    public <R extends Record> KeysetScan<R> scan(Select<R> select, SortField<?>... orderBy) {
+        return new KeysetScanImpl<R>(configuration(), select, orderBy);
+    }
+
+    @Override
+    public <R extends Record> PartitionedScan<R> partitionedScan(Select<R> select, Field<?> key) {
+        return new PartitionedScanImpl<R>(configuration(), select, key);
+    }
+
 
 
     @Override
@@ -4061,6 +4169,116 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
         }
     }
 
+    @Override
+    public Results fetchAll(ResultQuery<?>... queries) {
+        ResultsImpl results = new ResultsImpl(configuration());
+        int i = 0;
+
+        if (queries.length > 1 && combinable(queries)) {
+            switch (configuration().family()) {
+                case MARIADB:
+                case MYSQL: {
+
+                    // The first query's connection tells whether the driver
+                    // allows for several statements per execution
+                    MultiQueriesListener listener = new MultiQueriesListener();
+                    Configuration c = configuration().derive(Tools.combine(
+                        configuration().executeListenerProviders(),
+                        (ExecuteListenerProvider) new DefaultExecuteListenerProvider(listener)
+                    ));
+
+                    fetchAll(c, queries[i++], results);
+                    if (queries.length - i > 1 && listener.allowed)
+                        return fetchAllCombined(Arrays.copyOfRange(queries, i, queries.length), results);
+
+                    break;
+                }
+
+                default:
+                    return fetchAllCombined(queries, results);
+            }
+        }
+
+        for (; i < queries.length; i++)
+            fetchAll(configuration(), queries[i], results);
+
+        return results;
+    }
+
+    /**
+     * Whether a set of queries can be combined into a single statement
+     * producing several result sets.
+     */
+    private final boolean combinable(ResultQuery<?>... queries) {
+        for (ResultQuery<?> query : queries)
+            if (!(query instanceof Select))
+                return false;
+
+        if (!executePreparedStatements(configuration().settings()))
+            return false;
+
+        switch (configuration().family()) {
+            case MARIADB:
+            case MYSQL:
+            case POSTGRES:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final void fetchAll(Configuration configuration, ResultQuery<?> query, ResultsImpl results) {
+        results.resultsOrRows.add(new ResultOrRowsImpl((Result<Record>) DSL.using(configuration).fetch(query)));
+    }
+
+    /**
+     * Execute several queries as a single statement, through a
+     * {@link CombinedResultQuery}.
+     */
+    private final Results fetchAllCombined(ResultQuery<?>[] queries, ResultsImpl results) {
+        Results combined = new CombinedResultQuery(configuration(), queries).fetchMany();
+
+        if (combined.size() != queries.length)
+            throw new DataAccessException("Expected " + queries.length + " results, but got " + combined.size());
+
+        for (Result<Record> result : combined)
+            results.resultsOrRows.add(new ResultOrRowsImpl(result));
+
+        return results;
+    }
+
+    /**
+     * A listener checking whether a MySQL or MariaDB connection was opened
+     * with <code>allowMultiQueries=true</code>.
+     */
+    private static final class MultiQueriesListener extends DefaultExecuteListener {
+
+        /**
+         * Generated UID
+         */
+        private static final long serialVersionUID = 5235532934557926183L;
+
+        boolean                   allowed;
+
+        @Override
+        public void prepareEnd(ExecuteContext ctx) {
+            try {
+                String url = ctx.connection().getMetaData().getURL();
+                allowed = url != null && url.toLowerCase().contains("allowmultiqueries=true");
+            }
+            catch (SQLException e) {
+                throw new DataAccessException("Error while reading connection URL", e);
+            }
+        }
+    }
+
+    @Override
+    public <R extends Record> QueryTemplate<R> prepareTemplate(ResultQuery<R> query) {
+        return new QueryTemplateImpl<R>(configuration(), query);
+    }
+
     @Override
     public <R extends Record> R fetchOne(ResultQuery<R> query) {
         final Configuration previous = Tools.getConfiguration(query);
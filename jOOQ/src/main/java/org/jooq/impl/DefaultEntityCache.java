@@ -0,0 +1,195 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jooq.EntityCache;
+import org.jooq.Table;
+import org.jooq.UpdatableRecord;
+
+/**
+ * A default implementation for {@link EntityCache}.
+ * <p>
+ * This implementation keeps at most <code>maxSize</code> records, evicting the
+ * least recently used ones first. Records expire after a time to live, if one
+ * is configured.
+ */
+public class DefaultEntityCache implements EntityCache {
+
+    private final long              ttlNanos;
+    private final Map<Key, Value>   cache;
+
+    /**
+     * Create a new cache without a time to live.
+     *
+     * @param maxSize The maximum number of records kept in the cache.
+     */
+    public DefaultEntityCache(int maxSize) {
+        this(maxSize, 0L, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxSize The maximum number of records kept in the cache.
+     * @param ttl The time to live of cached records, or <code>0</code> if
+     *            cached records never expire.
+     * @param unit The unit of <code>ttl</code>.
+     */
+    public DefaultEntityCache(final int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+
+        this.ttlNanos = unit.toNanos(ttl);
+        this.cache = new LinkedHashMap<Key, Value>(16, 0.75f, true) {
+
+            /**
+             * Generated UID
+             */
+            private static final long serialVersionUID = 5826138537214983361L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Value> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <R extends UpdatableRecord<R>> R get(Table<R> table, Object key) {
+        Key k = new Key(table, key);
+
+        synchronized (cache) {
+            Value value = cache.get(k);
+
+            if (value == null)
+                return null;
+
+            if (ttlNanos > 0L && System.nanoTime() - value.created > ttlNanos) {
+                cache.remove(k);
+                return null;
+            }
+
+            return (R) value.record;
+        }
+    }
+
+    @Override
+    public <R extends UpdatableRecord<R>> void put(Table<R> table, Object key, R record) {
+        Value value = new Value(record, System.nanoTime());
+
+        synchronized (cache) {
+            cache.put(new Key(table, key), value);
+        }
+    }
+
+    @Override
+    public void remove(Table<?> table, Object key) {
+        Key k = new Key(table, key);
+
+        synchronized (cache) {
+            cache.remove(k);
+        }
+    }
+
+    @Override
+    public void remove(Table<?> table) {
+        synchronized (cache) {
+            Iterator<Key> it = cache.keySet().iterator();
+
+            while (it.hasNext())
+                if (it.next().table.equals(table))
+                    it.remove();
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (cache) {
+            return "DefaultEntityCache [size=" + cache.size() + "]";
+        }
+    }
+
+    private static final class Key {
+        final Table<?> table;
+        final Object   key;
+
+        Key(Table<?> table, Object key) {
+            this.table = table;
+            this.key = key;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * table.hashCode() + (key == null ? 0 : key.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+
+            Key other = (Key) obj;
+            return table.equals(other.table) && (key == null ? other.key == null : key.equals(other.key));
+        }
+    }
+
+    private static final class Value {
+        final Object record;
+        final long   created;
+
+        Value(Object record, long created) {
+            this.record = record;
+            this.created = created;
+        }
+    }
+}
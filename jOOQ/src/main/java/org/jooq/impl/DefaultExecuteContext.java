@@ -195,6 +195,7 @@ class DefaultExecuteContext implements ExecuteContext {
 
         LOCAL_CONFIGURATION.remove();
         LOCAL_DATA.remove();
+        LOCAL_EXECUTE_CONTEXT.remove();
         LOCAL_CONNECTION.remove();
     }
 
@@ -258,8 +259,9 @@ class DefaultExecuteContext implements ExecuteContext {
     // XXX: Static utility methods for handling Configuration lifecycle
     // ------------------------------------------------------------------------
 
-    private static final ThreadLocal<Configuration>       LOCAL_CONFIGURATION = new ThreadLocal<Configuration>();
-    private static final ThreadLocal<Map<Object, Object>> LOCAL_DATA          = new ThreadLocal<Map<Object, Object>>();
+    private static final ThreadLocal<Configuration>       LOCAL_CONFIGURATION   = new ThreadLocal<Configuration>();
+    private static final ThreadLocal<Map<Object, Object>> LOCAL_DATA            = new ThreadLocal<Map<Object, Object>>();
+    private static final ThreadLocal<ExecuteContext>      LOCAL_EXECUTE_CONTEXT = new ThreadLocal<ExecuteContext>();
 
     /**
      * Get the registered configuration.
@@ -283,6 +285,17 @@ class DefaultExecuteContext implements ExecuteContext {
         return LOCAL_DATA.get();
     }
 
+    /**
+     * Get the registered {@link ExecuteContext}.
+     * <p>
+     * It can be safely assumed that such a context is available once the
+     * {@link ExecuteContext} has been established, until the statement is
+     * closed.
+     */
+    static final ExecuteContext localExecuteContext() {
+        return LOCAL_EXECUTE_CONTEXT.get();
+    }
+
     // ------------------------------------------------------------------------
     // XXX: Static utility methods for handling Configuration lifecycle
     // ------------------------------------------------------------------------
@@ -508,6 +521,7 @@ class DefaultExecuteContext implements ExecuteContext {
         clean();
         LOCAL_CONFIGURATION.set(configuration);
         LOCAL_DATA.set(this.data);
+        LOCAL_EXECUTE_CONTEXT.set(this);
     }
 
     @Override
@@ -696,7 +710,7 @@ class DefaultExecuteContext implements ExecuteContext {
         // wrapped by a ConnectionProxy, transparently, in order to implement
         // Settings.getStatementType() correctly.
         if (wrappedConnection == null && connectionProvider != null)
-            connection(connectionProvider, connectionProvider.acquire());
+            connection(connectionProvider, connectionProvider.acquire(this));
 
         return wrappedConnection;
     }
@@ -41,16 +41,19 @@ import java.io.Serializable;
 
 import org.jooq.ExecuteListener;
 import org.jooq.ExecuteListenerProvider;
+import org.jooq.StatelessExecuteListenerProvider;
 
 /**
  * A default implementation for {@link ExecuteListenerProvider}.
  * <p>
  * This implementation just wraps an instance of {@link ExecuteListener}, always
- * providing the same.
+ * providing the same. Such stateless listeners are looked up only once per
+ * {@link org.jooq.Configuration}, rather than once per execution, see
+ * {@link StatelessExecuteListenerProvider}.
  *
  * @author Lukas Eder
  */
-public class DefaultExecuteListenerProvider implements ExecuteListenerProvider, Serializable {
+public class DefaultExecuteListenerProvider implements StatelessExecuteListenerProvider, Serializable {
 
     /**
      * Generated UID.
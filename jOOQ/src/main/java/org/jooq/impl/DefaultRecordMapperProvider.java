@@ -73,14 +73,14 @@ public class DefaultRecordMapperProvider implements RecordMapperProvider, Serial
      * Create a new {@link RecordMapperProvider} with a {@link Configuration}
      * that can be used by jOOQ for caching reflection information.
      */
-    protected DefaultRecordMapperProvider(Configuration configuration) {
+    public DefaultRecordMapperProvider(Configuration configuration) {
         // The configuration parameter may not yet be fully initialised at this point!
         this.configuration = configuration;
     }
 
     @Override
     public final <R extends Record, E> RecordMapper<R, E> provide(final RecordType<R> rowType, final Class<? extends E> type) {
-        if (TRUE.equals(configuration.settings().isCacheRecordMappers()))
+        if (configuration != null && TRUE.equals(configuration.settings().isCacheRecordMappers()))
             return Cache.run(configuration, new CachedOperation<RecordMapper<R, E>>() {
                 @Override
                 public RecordMapper<R, E> call() {
@@ -68,7 +68,7 @@ public class DefaultRecordUnmapperProvider implements RecordUnmapperProvider, Se
      * Create a new {@link RecordUnmapperProvider} with a {@link Configuration}
      * that can be used by jOOQ for caching reflection information.
      */
-    protected DefaultRecordUnmapperProvider(Configuration configuration) {
+    public DefaultRecordUnmapperProvider(Configuration configuration) {
         // The configuration parameter may not yet be fully initialised at this point!
         this.configuration = configuration;
     }
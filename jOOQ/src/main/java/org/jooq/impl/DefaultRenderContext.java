@@ -91,8 +91,14 @@ class DefaultRenderContext extends AbstractContext<RenderContext> implements Ren
     private static final Pattern          NEWLINE            = Pattern.compile("[\\n\\r]");
     private static final Set<String>      SQLITE_KEYWORDS;
 
+    // Render buffers are reused per thread, retaining the capacity of previous
+    // renders, unless they grew too large
+    private static final ThreadLocal<StringBuilder> BUFFERS             = new ThreadLocal<StringBuilder>();
+    private static final int                        MAX_BUFFER_CAPACITY = 1 << 16;
+
     private final StringBuilder           sql;
     private final QueryPartList<Param<?>> bindValues;
+    private List<Integer>                 bindValueOffsets;
     private int                           params;
     private int                           alias;
     private int                           indent;
@@ -114,11 +120,15 @@ class DefaultRenderContext extends AbstractContext<RenderContext> implements Ren
     int                                   cachedPrintMargin;
 
     DefaultRenderContext(Configuration configuration) {
+        this(configuration, new StringBuilder());
+    }
+
+    private DefaultRenderContext(Configuration configuration, StringBuilder sql) {
         super(configuration, null);
 
         Settings settings = configuration.settings();
 
-        this.sql = new StringBuilder();
+        this.sql = sql;
         this.bindValues = new QueryPartList<Param<?>>();
         this.cachedRenderKeywordCase = SettingsTools.getRenderKeywordCase(settings);
         this.cachedRenderFormatted = Boolean.TRUE.equals(settings.isRenderFormatted());
@@ -135,6 +145,33 @@ class DefaultRenderContext extends AbstractContext<RenderContext> implements Ren
         this.cachedPrintMargin = formatting.getPrintMargin() == null ? 80 : formatting.getPrintMargin();
     }
 
+    /**
+     * Create a render context using this thread's reusable render buffer, if
+     * it is available. Such contexts must be {@link #release() released} after
+     * rendering.
+     */
+    static final DefaultRenderContext pooled(Configuration configuration) {
+        StringBuilder sql = BUFFERS.get();
+
+        if (sql == null)
+            sql = new StringBuilder();
+        else
+            BUFFERS.set(null);
+
+        return new DefaultRenderContext(configuration, sql);
+    }
+
+    /**
+     * Return this context's render buffer to this thread's pool. The context
+     * must no longer be used afterwards.
+     */
+    final void release() {
+        if (sql.capacity() <= MAX_BUFFER_CAPACITY) {
+            sql.setLength(0);
+            BUFFERS.set(sql);
+        }
+    }
+
     DefaultRenderContext(RenderContext context) {
         this(context.configuration());
 
@@ -165,6 +202,18 @@ class DefaultRenderContext extends AbstractContext<RenderContext> implements Ren
         return bindValues;
     }
 
+    /**
+     * Start recording the start and end offsets of each bind value's SQL
+     * string, in the order of {@link #bindValues()}.
+     */
+    final void recordBindValueOffsets() {
+        bindValueOffsets = new ArrayList<Integer>();
+    }
+
+    final List<Integer> bindValueOffsets() {
+        return bindValueOffsets;
+    }
+
     // ------------------------------------------------------------------------
     // RenderContext API
     // ------------------------------------------------------------------------
@@ -289,6 +338,20 @@ class DefaultRenderContext extends AbstractContext<RenderContext> implements Ren
         return new DefaultRenderContext(this).visit(part).render();
     }
 
+    /**
+     * The length of the SQL string rendered so far.
+     */
+    final int length() {
+        return sql.length();
+    }
+
+    /**
+     * The SQL string rendered from a given position on.
+     */
+    final String substring(int start) {
+        return sql.substring(start);
+    }
+
     @Override
     public final RenderContext keyword(String keyword) {
         return visit(DSL.keyword(keyword));
@@ -509,6 +572,7 @@ class DefaultRenderContext extends AbstractContext<RenderContext> implements Ren
     @Override
     protected final void visit0(QueryPartInternal internal) {
         int before = bindValues.size();
+        int start = sql.length();
         internal.accept(this);
         int after = bindValues.size();
 
@@ -524,6 +588,11 @@ class DefaultRenderContext extends AbstractContext<RenderContext> implements Ren
             if (!param.isInline()) {
                 bindValues.add(param);
 
+                if (bindValueOffsets != null) {
+                    bindValueOffsets.add(start);
+                    bindValueOffsets.add(sql.length());
+                }
+
                 switch (family()) {
 
 
@@ -41,17 +41,24 @@ import static org.jooq.impl.Tools.DataKey.DATA_DEFAULT_TRANSACTION_PROVIDER_AUTO
 import static org.jooq.impl.Tools.DataKey.DATA_DEFAULT_TRANSACTION_PROVIDER_CONNECTION;
 import static org.jooq.impl.Tools.DataKey.DATA_DEFAULT_TRANSACTION_PROVIDER_SAVEPOINTS;
 
+import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.sql.Statement;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.Iterator;
 
 import org.jooq.Configuration;
 import org.jooq.ConnectionProvider;
+import org.jooq.ExecuteContext;
+import org.jooq.Select;
 import org.jooq.TransactionContext;
 import org.jooq.TransactionProvider;
 import org.jooq.exception.DataAccessException;
+import org.jooq.tools.jdbc.DefaultConnection;
 
 /**
  * A default implementation for the {@link TransactionProvider} SPI.
@@ -65,6 +72,22 @@ import org.jooq.exception.DataAccessException;
  * supported by the underlying JDBC driver, and if {@link #nested()} is
  * <code>true</code>. To deactivate nested transactions, use
  * {@link #DefaultTransactionProvider(ConnectionProvider, boolean)}.
+ * <p>
+ * <h3>Lazy savepoints</h3> If {@link #lazySavepoints()} is <code>true</code>,
+ * the {@link Savepoint} of a nested transaction is created only when the
+ * first statement is created in the nested transaction, or in any transaction
+ * nested in it, that is not a read only {@link Select} constructed with the
+ * jOOQ API. A <code>Select</code> is not read only if it contains a
+ * <code>SELECT .. INTO</code> or locking clause, a sequence or stored function
+ * call, or a plain SQL template with keywords like <code>INSERT</code> or
+ * <code>NEXTVAL</code>. Plain SQL queries, as well as statements created
+ * directly on the JDBC {@link Connection}, always create the savepoint. Nested
+ * transactions that only read through the jOOQ API thus do not incur any
+ * <code>SAVEPOINT</code> or <code>RELEASE SAVEPOINT</code> round trips.
+ * Beware that a nested rollback cannot undo side effects of functions called
+ * from plain SQL templates, if no savepoint was created. To activate lazy
+ * savepoints, use
+ * {@link #DefaultTransactionProvider(ConnectionProvider, boolean, boolean)}.
  *
  * @author Lukas Eder
  */
@@ -84,6 +107,7 @@ public class DefaultTransactionProvider implements TransactionProvider {
 
     private final ConnectionProvider connectionProvider;
     private final boolean            nested;
+    private final boolean            lazySavepoints;
 
     public DefaultTransactionProvider(ConnectionProvider connectionProvider) {
         this(connectionProvider, true);
@@ -94,14 +118,29 @@ public class DefaultTransactionProvider implements TransactionProvider {
      *            supported.
      */
     public DefaultTransactionProvider(ConnectionProvider connectionProvider, boolean nested) {
+        this(connectionProvider, nested, false);
+    }
+
+    /**
+     * @param nested Whether nested transactions via {@link Savepoint}s are
+     *            supported.
+     * @param lazySavepoints Whether {@link Savepoint}s of nested transactions
+     *            are created only once they are needed.
+     */
+    public DefaultTransactionProvider(ConnectionProvider connectionProvider, boolean nested, boolean lazySavepoints) {
         this.connectionProvider = connectionProvider;
         this.nested = nested;
+        this.lazySavepoints = lazySavepoints;
     }
 
     public final boolean nested() {
         return nested;
     }
 
+    public final boolean lazySavepoints() {
+        return lazySavepoints;
+    }
+
     final int nestingLevel(Configuration configuration) {
         return savepoints(configuration).size();
     }
@@ -133,7 +172,12 @@ public class DefaultTransactionProvider implements TransactionProvider {
         DefaultConnectionProvider connectionWrapper = (DefaultConnectionProvider) configuration.data(DATA_DEFAULT_TRANSACTION_PROVIDER_CONNECTION);
 
         if (connectionWrapper == null) {
-            connectionWrapper = new DefaultConnectionProvider(connectionProvider.acquire());
+            Connection connection = connectionProvider.acquire();
+
+            if (lazySavepoints && nested)
+                connection = new LazySavepointConnection(connection, savepoints(configuration));
+
+            connectionWrapper = new DefaultConnectionProvider(connection);
             configuration.data(DATA_DEFAULT_TRANSACTION_PROVIDER_CONNECTION, connectionWrapper);
         }
 
@@ -168,7 +212,9 @@ public class DefaultTransactionProvider implements TransactionProvider {
             case CUBRID:
                 return UNSUPPORTED_SAVEPOINT;
             default:
-                return connection(configuration).setSavepoint();
+                return lazySavepoints
+                    ? new LazySavepoint()
+                    : connection(configuration).setSavepoint();
         }
     }
 
@@ -177,6 +223,10 @@ public class DefaultTransactionProvider implements TransactionProvider {
         Deque<Savepoint> savepoints = savepoints(ctx.configuration());
         Savepoint savepoint = savepoints.pop();
 
+        // Lazy savepoints that have never been created need not be released
+        if (savepoint instanceof LazySavepoint)
+            savepoint = ((LazySavepoint) savepoint).delegate;
+
         // [#3489] Explicitly release savepoints prior to commit
         if (savepoint != null && savepoint != UNSUPPORTED_SAVEPOINT && savepoint != IGNORED_SAVEPOINT)
             try {
@@ -218,6 +268,15 @@ public class DefaultTransactionProvider implements TransactionProvider {
                 if (savepoints.isEmpty())
                     connection(ctx.configuration()).rollback();
             }
+
+            // Lazy savepoints that have never been created guarantee that
+            // nothing has been written since the nested transaction began
+            else if (savepoint instanceof LazySavepoint) {
+                Savepoint delegate = ((LazySavepoint) savepoint).delegate;
+
+                if (delegate != null)
+                    connection(ctx.configuration()).rollback(delegate);
+            }
             else {
                 connection(ctx.configuration()).rollback(savepoint);
             }
@@ -249,12 +308,134 @@ public class DefaultTransactionProvider implements TransactionProvider {
         //         try-finally will ensure that the ConnectionProvider.release() call is made
         finally {
             if (!start) {
-                connectionProvider.release(connection.connection);
+                connectionProvider.release(connection.connection instanceof LazySavepointConnection
+                    ? ((LazySavepointConnection) connection.connection).getDelegate()
+                    : connection.connection);
                 configuration.data().remove(DATA_DEFAULT_TRANSACTION_PROVIDER_CONNECTION);
             }
         }
     }
 
+    /**
+     * A {@link Savepoint} that is created only when it is first needed.
+     */
+    private static class LazySavepoint implements Savepoint {
+        Savepoint delegate;
+
+        @Override
+        public int getSavepointId() throws SQLException {
+            return delegate == null ? 0 : delegate.getSavepointId();
+        }
+
+        @Override
+        public String getSavepointName() throws SQLException {
+            return delegate == null ? null : delegate.getSavepointName();
+        }
+    }
+
+    /**
+     * A {@link Connection} that creates all pending {@link LazySavepoint}s,
+     * outermost first, before creating a statement that may write.
+     */
+    private static class LazySavepointConnection extends DefaultConnection {
+        private final Deque<Savepoint> savepoints;
+
+        LazySavepointConnection(Connection delegate, Deque<Savepoint> savepoints) {
+            super(delegate);
+
+            this.savepoints = savepoints;
+        }
+
+        private final void setSavepoints(String sql) throws SQLException {
+
+            // Only statements of read only Selects constructed with the jOOQ
+            // API can safely skip the savepoints
+            ExecuteContext ctx = DefaultExecuteContext.localExecuteContext();
+            if (sql != null && ctx != null && sql.equals(ctx.sql()) && ReadOnlyCheck.readOnly(ctx))
+                return;
+
+            Iterator<Savepoint> it = savepoints.descendingIterator();
+            while (it.hasNext()) {
+                Savepoint savepoint = it.next();
+
+                if (savepoint instanceof LazySavepoint && ((LazySavepoint) savepoint).delegate == null)
+                    ((LazySavepoint) savepoint).delegate = getDelegate().setSavepoint();
+            }
+        }
+
+        @Override
+        public Statement createStatement() throws SQLException {
+            setSavepoints(null);
+            return super.createStatement();
+        }
+
+        @Override
+        public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+            setSavepoints(null);
+            return super.createStatement(resultSetType, resultSetConcurrency);
+        }
+
+        @Override
+        public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+            setSavepoints(null);
+            return super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql) throws SQLException {
+            setSavepoints(sql);
+            return super.prepareStatement(sql);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+            setSavepoints(sql);
+            return super.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+            setSavepoints(sql);
+            return super.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+            setSavepoints(sql);
+            return super.prepareStatement(sql, autoGeneratedKeys);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+            setSavepoints(sql);
+            return super.prepareStatement(sql, columnIndexes);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+            setSavepoints(sql);
+            return super.prepareStatement(sql, columnNames);
+        }
+
+        @Override
+        public CallableStatement prepareCall(String sql) throws SQLException {
+            setSavepoints(null);
+            return super.prepareCall(sql);
+        }
+
+        @Override
+        public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+            setSavepoints(null);
+            return super.prepareCall(sql, resultSetType, resultSetConcurrency);
+        }
+
+        @Override
+        public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+            setSavepoints(null);
+            return super.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+        }
+    }
+
     private static class DefaultSavepoint implements Savepoint {
         @Override
         public int getSavepointId() throws SQLException {
@@ -0,0 +1,239 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jooq.TransactionContext;
+import org.jooq.TransactionRetryPolicy;
+import org.jooq.exception.ExceptionTools;
+
+/**
+ * A default implementation for {@link TransactionRetryPolicy}.
+ * <p>
+ * This implementation retries transactions that failed with a
+ * {@link SQLException} whose {@link SQLException#getSQLState()} matches any of
+ * a configurable set of SQL states, which defaults to <code>40001</code>
+ * (serialization failure, also used by many databases for deadlocks) and
+ * <code>40P01</code> (PostgreSQL deadlocks). An SQL state of fewer than five
+ * characters, such as <code>40</code>, matches all SQL states starting with it.
+ * <p>
+ * Attempts are delayed by a jittered exponential backoff, where the
+ * <code>n</code>th retry waits between half and the full amount of
+ * <code>initialBackoff * 2<sup>n - 1</sup></code>, bounded by
+ * <code>maxBackoff</code>. Retrying stops once <code>maxAttempts</code> have
+ * been made, or if the next attempt would start after the total
+ * <code>deadline</code>.
+ * <p>
+ * Instances are thread safe and can be shared. They count the retries they
+ * have requested in {@link #retries()}, the retryable failures they have given
+ * up on in {@link #exhausted()}, and the total backoff delay in
+ * {@link #delayNanos()}.
+ */
+public class DefaultTransactionRetryPolicy implements TransactionRetryPolicy {
+
+    private final int        maxAttempts;
+    private final long       initialBackoffNanos;
+    private final long       maxBackoffNanos;
+    private final long       deadlineNanos;
+    private final String[]   sqlStates;
+
+    private final AtomicLong retries;
+    private final AtomicLong exhausted;
+    private final AtomicLong delayNanos;
+
+    /**
+     * Create a policy that makes up to <code>3</code> attempts with a backoff
+     * between <code>10ms</code> and <code>1s</code>, without any deadline, for
+     * SQL states <code>40001</code> and <code>40P01</code>.
+     */
+    public DefaultTransactionRetryPolicy() {
+        this(3);
+    }
+
+    /**
+     * Create a policy that makes up to <code>maxAttempts</code> attempts with a
+     * backoff between <code>10ms</code> and <code>1s</code>, without any
+     * deadline, for SQL states <code>40001</code> and <code>40P01</code>.
+     */
+    public DefaultTransactionRetryPolicy(int maxAttempts) {
+        this(maxAttempts, 10, 1000, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Create a policy.
+     *
+     * @param maxAttempts The maximum number of attempts, including the first
+     *            one.
+     * @param initialBackoff The backoff before the first retry.
+     * @param maxBackoff The maximum backoff before any retry.
+     * @param deadline The total time after which no further attempts are
+     *            started, or <code>0</code> if there is no deadline.
+     * @param unit The unit of the backoffs and the deadline.
+     * @param sqlStates The SQL states that are retried, defaulting to
+     *            <code>40001</code> and <code>40P01</code> if empty.
+     */
+    public DefaultTransactionRetryPolicy(
+        int maxAttempts,
+        long initialBackoff,
+        long maxBackoff,
+        long deadline,
+        TimeUnit unit,
+        String... sqlStates
+    ) {
+        if (maxAttempts < 1)
+            throw new IllegalArgumentException("maxAttempts must be at least 1: " + maxAttempts);
+
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = unit.toNanos(initialBackoff);
+        this.maxBackoffNanos = Math.max(initialBackoffNanos, unit.toNanos(maxBackoff));
+        this.deadlineNanos = unit.toNanos(deadline);
+        this.sqlStates = sqlStates.length == 0 ? new String[] { "40001", "40P01" } : sqlStates.clone();
+
+        this.retries = new AtomicLong();
+        this.exhausted = new AtomicLong();
+        this.delayNanos = new AtomicLong();
+    }
+
+    @Override
+    public long retryDelay(TransactionContext ctx, int attempt, long elapsedNanos) {
+        Throwable cause = ctx.cause() != null ? ctx.cause() : ctx.causeThrowable();
+
+        if (cause == null || !retryable(cause))
+            return -1L;
+
+        long delay = backoff(attempt);
+        if (attempt >= maxAttempts || (deadlineNanos > 0 && elapsedNanos + delay > deadlineNanos)) {
+            exhausted.incrementAndGet();
+            return -1L;
+        }
+
+        retries.incrementAndGet();
+        delayNanos.addAndGet(delay);
+        return delay;
+    }
+
+    /**
+     * Whether a failure should be retried.
+     * <p>
+     * By default, this looks for a {@link SQLException} in the causal chain of
+     * the argument failure, and checks whether its SQL state matches any of
+     * the configured SQL states. Override this to implement custom predicates.
+     */
+    protected boolean retryable(Throwable cause) {
+        SQLException e = cause instanceof SQLException
+            ? (SQLException) cause
+            : ExceptionTools.<SQLException>getCause(cause, SQLException.class);
+
+        for (; e != null; e = e.getNextException()) {
+            String state = e.getSQLState();
+
+            if (state != null)
+                for (String s : sqlStates)
+                    if (state.startsWith(s))
+                        return true;
+
+            // Don't loop on drivers that chain exceptions to themselves
+            if (e.getNextException() == e)
+                break;
+        }
+
+        return false;
+    }
+
+    /**
+     * The jittered backoff before the next attempt.
+     */
+    private final long backoff(int attempt) {
+        long delay = initialBackoffNanos;
+
+        for (int i = 1; i < attempt && delay < maxBackoffNanos; i++)
+            delay = delay * 2;
+
+        delay = Math.min(delay, maxBackoffNanos);
+        return delay <= 1 ? delay : delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * The maximum number of attempts, including the first one.
+     */
+    public final int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * The SQL states that are retried.
+     */
+    public final String[] sqlStates() {
+        return sqlStates.clone();
+    }
+
+    /**
+     * The number of retries this policy has requested so far.
+     */
+    public final long retries() {
+        return retries.get();
+    }
+
+    /**
+     * The number of retryable failures this policy has given up on so far,
+     * because the maximum number of attempts or the deadline was reached.
+     */
+    public final long exhausted() {
+        return exhausted.get();
+    }
+
+    /**
+     * The total backoff delay in nanoseconds this policy has requested so far.
+     */
+    public final long delayNanos() {
+        return delayNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultTransactionRetryPolicy [maxAttempts=" + maxAttempts
+            + ", sqlStates=" + Arrays.toString(sqlStates)
+            + ", retries=" + retries
+            + ", exhausted=" + exhausted + "]";
+    }
+}
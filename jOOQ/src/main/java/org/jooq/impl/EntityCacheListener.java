@@ -0,0 +1,371 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import static org.jooq.impl.Tools.DataKey.DATA_ENTITY_CACHE_DIRTY_KEYS;
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jooq.Configuration;
+import org.jooq.DAO;
+import org.jooq.EntityCache;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RecordContext;
+import org.jooq.RecordListener;
+import org.jooq.RecordListenerProvider;
+import org.jooq.Table;
+import org.jooq.TransactionContext;
+import org.jooq.TransactionListener;
+import org.jooq.UniqueKey;
+import org.jooq.UpdatableRecord;
+import org.jooq.tools.StringUtils;
+
+/**
+ * A {@link RecordListener} and {@link TransactionListener} that plugs an
+ * {@link EntityCache} into a {@link Configuration}.
+ * <p>
+ * Register the same instance both as a record listener and as a transaction
+ * listener:
+ * <p>
+ * <code><pre>
+ * EntityCacheListener listener = new EntityCacheListener(new DefaultEntityCache(10000, 5, TimeUnit.MINUTES));
+ *
+ * configuration.set(new DefaultRecordListenerProvider(listener));
+ * configuration.set(new DefaultTransactionListenerProvider(listener));
+ * </pre></code>
+ * <p>
+ * {@link DAO} types whose {@link Configuration} contains such a record
+ * listener read records by primary key from the cache. Entries are
+ * invalidated when an {@link UpdatableRecord} is stored, inserted, updated or
+ * deleted. Within a transaction, the keys of written records are remembered,
+ * and bypass the cache until the transaction ends, such that uncommitted
+ * changes are never visible to other transactions. Those keys are
+ * invalidated once more when the transaction commits or rolls back. Records
+ * read within a transaction are never put in the cache.
+ * <p>
+ * Transactions are recognised by their connection, if they are managed by a
+ * {@link DefaultTransactionProvider} or a
+ * {@link ThreadLocalTransactionProvider}. This way, {@link DAO} types and
+ * records whose {@link Configuration} is not derived from the transaction's
+ * take part in it, too, as long as they use the same transaction provider.
+ * Transactions managed outside of jOOQ cannot be recognised.
+ * <p>
+ * Changes made through plain SQL or through DML statements that do not
+ * operate on records are not tracked. Use {@link EntityCache#remove(Table)}
+ * to invalidate a table after such changes.
+ */
+public class EntityCacheListener extends DefaultRecordListener implements TransactionListener {
+
+    private final EntityCache                                           cache;
+
+    /**
+     * The dirty keys of ongoing transactions, by transaction connection.
+     */
+    private final ConcurrentMap<Connection, Map<Table<?>, Set<Object>>> transactions;
+
+    public EntityCacheListener(EntityCache cache) {
+        this.cache = cache;
+        this.transactions = new ConcurrentHashMap<Connection, Map<Table<?>, Set<Object>>>();
+    }
+
+    /**
+     * The underlying cache.
+     */
+    public final EntityCache cache() {
+        return cache;
+    }
+
+    // -------------------------------------------------------------------------
+    // XXX: Cache access
+    // -------------------------------------------------------------------------
+
+    /**
+     * Look up the <code>EntityCacheListener</code> of a configuration, if any.
+     */
+    static final EntityCacheListener listener(Configuration configuration) {
+        for (RecordListenerProvider provider : configuration.recordListenerProviders()) {
+            RecordListener listener = provider.provide();
+
+            if (listener instanceof EntityCacheListener)
+                return (EntityCacheListener) listener;
+        }
+
+        return null;
+    }
+
+    final <R extends UpdatableRecord<R>> R get(Configuration configuration, Table<R> table, Object key) {
+        if (dirty(configuration, table, key))
+            return null;
+
+        return cache.get(table, key);
+    }
+
+    final <R extends UpdatableRecord<R>> void put(Configuration configuration, Table<R> table, Object key, R record) {
+
+        // Records read within a transaction may not be visible to others yet
+        if (dirtyKeys(configuration) == null) {
+
+            // Cached records must not keep their configuration reachable
+            record.detach();
+            cache.put(table, key, record);
+        }
+    }
+
+    final void remove(Configuration configuration, Table<?> table, Object key) {
+        cache.remove(table, key);
+
+        Map<Table<?>, Set<Object>> dirty = dirtyKeys(configuration);
+        if (dirty != null) {
+            synchronized (dirty) {
+                Set<Object> keys = dirty.get(table);
+
+                if (keys == null)
+                    dirty.put(table, keys = new HashSet<Object>());
+
+                keys.add(key);
+            }
+        }
+    }
+
+    final void remove(Configuration configuration, UpdatableRecord<?> record) {
+        UniqueKey<?> pk = record.getTable().getPrimaryKey();
+
+        if (pk != null) {
+            Field<?>[] fields = pk.getFieldsArray();
+            Object key = key(record, fields, false);
+            Object original = key(record, fields, true);
+
+            remove(configuration, record.getTable(), key);
+
+            // [#979] The primary key may have been changed
+            if (!StringUtils.equals(key, original))
+                remove(configuration, record.getTable(), original);
+        }
+    }
+
+    /**
+     * The cache key of a primary key value, as passed to a {@link DAO}.
+     * <p>
+     * Composite primary key values are passed as {@link Record} instances.
+     */
+    static final Object key(Field<?>[] pk, Object id) {
+        if (pk.length == 1)
+            return pk[0].getDataType().convert(id);
+
+        Record record = (Record) id;
+        Object[] result = new Object[pk.length];
+
+        for (int i = 0; i < pk.length; i++)
+            result[i] = pk[i].getDataType().convert(record.get(i));
+
+        return Arrays.asList(result);
+    }
+
+    private static final Object key(Record record, Field<?>[] pk, boolean original) {
+        if (pk.length == 1)
+            return original ? record.original(pk[0]) : record.get(pk[0]);
+
+        Object[] result = new Object[pk.length];
+
+        for (int i = 0; i < pk.length; i++)
+            result[i] = original ? record.original(pk[i]) : record.get(pk[i]);
+
+        return Arrays.asList(result);
+    }
+
+    private final boolean dirty(Configuration configuration, Table<?> table, Object key) {
+        Map<Table<?>, Set<Object>> dirty = dirtyKeys(configuration);
+
+        if (dirty != null) {
+            synchronized (dirty) {
+                Set<Object> keys = dirty.get(table);
+                return keys != null && keys.contains(key);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The dirty keys of the transaction a configuration takes part in, or
+     * <code>null</code> if there is no ongoing transaction.
+     */
+    @SuppressWarnings("unchecked")
+    private final Map<Table<?>, Set<Object>> dirtyKeys(Configuration configuration) {
+        Map<Table<?>, Set<Object>> result = (Map<Table<?>, Set<Object>>) configuration.data(DATA_ENTITY_CACHE_DIRTY_KEYS);
+
+        if (result == null) {
+            Connection connection = Tools.transactionConnection(configuration);
+
+            if (connection != null)
+                result = transactions.get(connection);
+        }
+
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // XXX: RecordListener API
+    // -------------------------------------------------------------------------
+
+    /**
+     * Invalidate written records both before and after the write, as records
+     * may be cached again concurrently, in between.
+     */
+    private final void remove(RecordContext ctx) {
+        for (Record record : ctx.batchRecords())
+            if (record instanceof UpdatableRecord)
+                remove(ctx.configuration(), (UpdatableRecord<?>) record);
+    }
+
+    @Override
+    public void storeStart(RecordContext ctx) {
+        remove(ctx);
+    }
+
+    @Override
+    public void storeEnd(RecordContext ctx) {
+        remove(ctx);
+    }
+
+    @Override
+    public void insertStart(RecordContext ctx) {
+        remove(ctx);
+    }
+
+    @Override
+    public void insertEnd(RecordContext ctx) {
+        remove(ctx);
+    }
+
+    @Override
+    public void updateStart(RecordContext ctx) {
+        remove(ctx);
+    }
+
+    @Override
+    public void updateEnd(RecordContext ctx) {
+        remove(ctx);
+    }
+
+    @Override
+    public void deleteStart(RecordContext ctx) {
+        remove(ctx);
+    }
+
+    @Override
+    public void deleteEnd(RecordContext ctx) {
+        remove(ctx);
+    }
+
+    // -------------------------------------------------------------------------
+    // XXX: TransactionListener API
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void beginStart(TransactionContext ctx) {}
+
+    @Override
+    public void beginEnd(TransactionContext ctx) {
+
+        // Nested transactions share the keys of their outermost transaction
+        Map<Table<?>, Set<Object>> dirty = dirtyKeys(ctx.configuration());
+
+        if (dirty == null) {
+            dirty = new HashMap<Table<?>, Set<Object>>();
+            Connection connection = Tools.transactionConnection(ctx.configuration());
+
+            if (connection != null)
+                transactions.put(connection, dirty);
+        }
+
+        ctx.configuration().data(DATA_ENTITY_CACHE_DIRTY_KEYS, dirty);
+    }
+
+    @Override
+    public void commitStart(TransactionContext ctx) {}
+
+    @Override
+    public void commitEnd(TransactionContext ctx) {
+        removeDirtyKeys(ctx);
+    }
+
+    @Override
+    public void rollbackStart(TransactionContext ctx) {}
+
+    @Override
+    public void rollbackEnd(TransactionContext ctx) {
+        removeDirtyKeys(ctx);
+    }
+
+    private final void removeDirtyKeys(TransactionContext ctx) {
+        Map<Table<?>, Set<Object>> dirty = dirtyKeys(ctx.configuration());
+
+        if (dirty != null) {
+            synchronized (dirty) {
+                for (Entry<Table<?>, Set<Object>> entry : dirty.entrySet())
+                    for (Object key : entry.getValue())
+                        cache.remove(entry.getKey(), key);
+            }
+
+            // The outermost transaction has ended, once its connection is gone
+            if (Tools.transactionConnection(ctx.configuration()) == null) {
+                Iterator<Map<Table<?>, Set<Object>>> it = transactions.values().iterator();
+
+                while (it.hasNext())
+                    if (it.next() == dirty)
+                        it.remove();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EntityCacheListener [" + cache + "]";
+    }
+}
@@ -39,15 +39,19 @@ package org.jooq.impl;
 
 import static java.lang.Boolean.FALSE;
 import static org.jooq.impl.Tools.EMPTY_EXECUTE_LISTENER;
+import static org.jooq.impl.Tools.DataCacheKey.DATA_CACHE_EXECUTE_LISTENERS;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jooq.Configuration;
 import org.jooq.ExecuteContext;
 import org.jooq.ExecuteListener;
 import org.jooq.ExecuteListenerProvider;
+import org.jooq.StatelessExecuteListenerProvider;
 import org.jooq.conf.Settings;
 import org.jooq.conf.SettingsTools;
+import org.jooq.impl.Tools.DataCacheKey;
 import org.jooq.tools.JooqLogger;
 import org.jooq.tools.LoggerListener;
 
@@ -105,7 +109,18 @@ final class ExecuteListeners implements ExecuteListener {
                 (result = init(result)).add(new LoggerListener());
         }
 
-        for (ExecuteListenerProvider provider : ctx.configuration().executeListenerProviders())
+        ExecuteListenerProvider[] providers = ctx.configuration().executeListenerProviders();
+
+        // Without any internal listeners, the listeners of stateless providers
+        // can be shared by all executions
+        if (result == null) {
+            ExecuteListener[] stateless = stateless(ctx, providers);
+
+            if (stateless != null)
+                return stateless.length == 0 ? null : stateless;
+        }
+
+        for (ExecuteListenerProvider provider : providers)
 
             // Could be null after deserialisation
             if (provider != null)
@@ -114,6 +129,46 @@ final class ExecuteListeners implements ExecuteListener {
         return result == null ? null : result.toArray(EMPTY_EXECUTE_LISTENER);
     }
 
+    /**
+     * The listeners provided by {@link StatelessExecuteListenerProvider}
+     * instances, which always provide the same listener, cached per
+     * {@link Configuration}, or <code>null</code> if there are other providers.
+     * <p>
+     * The cache is stored under a {@link DataCacheKey}, which is excluded
+     * from serialisation.
+     */
+    private static final ExecuteListener[] stateless(ExecuteContext ctx, ExecuteListenerProvider[] providers) {
+        for (ExecuteListenerProvider provider : providers)
+            if (!(provider instanceof StatelessExecuteListenerProvider))
+                return null;
+
+        // [#4277] [#7569] Executions derive a new Configuration from the original one
+        Configuration configuration = ctx instanceof DefaultExecuteContext
+            ? ((DefaultExecuteContext) ctx).originalConfiguration()
+            : ctx.configuration();
+
+        Object cached = configuration.data(DATA_CACHE_EXECUTE_LISTENERS);
+        if (cached instanceof StatelessListeners && ((StatelessListeners) cached).providers == providers)
+            return ((StatelessListeners) cached).listeners;
+
+        ExecuteListener[] listeners = new ExecuteListener[providers.length];
+        for (int i = 0; i < providers.length; i++)
+            listeners[i] = providers[i].provide();
+
+        configuration.data(DATA_CACHE_EXECUTE_LISTENERS, new StatelessListeners(providers, listeners));
+        return listeners;
+    }
+
+    private static final class StatelessListeners {
+        final ExecuteListenerProvider[] providers;
+        final ExecuteListener[]         listeners;
+
+        StatelessListeners(ExecuteListenerProvider[] providers, ExecuteListener[] listeners) {
+            this.providers = providers;
+            this.listeners = listeners;
+        }
+    }
+
     private static final List<ExecuteListener> init(List<ExecuteListener> result) {
         return result == null ? new ArrayList<ExecuteListener>() : result;
     }
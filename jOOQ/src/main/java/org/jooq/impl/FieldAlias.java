@@ -57,6 +57,10 @@ final class FieldAlias<T> extends AbstractField<T> {
         this.alias = new Alias<Field<T>>(field, this, alias, false);
     }
 
+    final Field<T> getAliasedField() {
+        return alias.wrapped();
+    }
+
     @Override
     public final void accept(Context<?> ctx) {
         ctx.visit(alias);
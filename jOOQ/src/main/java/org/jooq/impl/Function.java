@@ -210,6 +210,17 @@ class Function<T> extends AbstractField<T> implements
         this.arguments = new QueryPartList<QueryPart>(arguments);
     }
 
+    final boolean isDistinct() {
+        return distinct;
+    }
+
+    /**
+     * Whether this function has an <code>OVER</code> clause.
+     */
+    final boolean isWindow() {
+        return windowSpecification != null || windowDefinition != null || windowName != null;
+    }
+
     // -------------------------------------------------------------------------
     // XXX QueryPart API
     // -------------------------------------------------------------------------
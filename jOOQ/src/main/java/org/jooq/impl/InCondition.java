@@ -49,18 +49,31 @@ import static org.jooq.Clause.CONDITION;
 import static org.jooq.Clause.CONDITION_IN;
 import static org.jooq.Clause.CONDITION_NOT_IN;
 import static org.jooq.Comparator.IN;
+import static org.jooq.SQLDialect.DERBY;
 import static org.jooq.SQLDialect.FIREBIRD;
+import static org.jooq.SQLDialect.H2;
+import static org.jooq.SQLDialect.HSQLDB;
+import static org.jooq.SQLDialect.POSTGRES;
+import static org.jooq.SQLDialect.SQLITE;
 // ...
 // ...
 // ...
 // ...
 import static org.jooq.conf.ParamType.INDEXED;
+import static org.jooq.conf.ParamType.INLINED;
+import static org.jooq.impl.DSL.all;
+import static org.jooq.impl.DSL.any;
 import static org.jooq.impl.DSL.falseCondition;
+import static org.jooq.impl.DSL.name;
+import static org.jooq.impl.DSL.row;
+import static org.jooq.impl.DSL.select;
 import static org.jooq.impl.DSL.trueCondition;
+import static org.jooq.impl.DSL.values;
 import static org.jooq.impl.Keywords.K_AND;
 import static org.jooq.impl.Keywords.K_OR;
 import static org.jooq.tools.StringUtils.defaultIfNull;
 
+import java.lang.reflect.Array;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.EnumSet;
@@ -68,9 +81,15 @@ import java.util.List;
 
 import org.jooq.Clause;
 import org.jooq.Comparator;
+import org.jooq.Condition;
 import org.jooq.Context;
 import org.jooq.Field;
+import org.jooq.Param;
+import org.jooq.RenderContext;
+import org.jooq.Record1;
+import org.jooq.Row1;
 import org.jooq.SQLDialect;
+import org.jooq.Select;
 
 /**
  * @author Lukas Eder
@@ -82,6 +101,8 @@ final class InCondition<T> extends AbstractCondition {
     private static final Clause[]            CLAUSES_IN        = { CONDITION, CONDITION_IN };
     private static final Clause[]            CLAUSES_IN_NOT    = { CONDITION, CONDITION_NOT_IN };
     private static final EnumSet<SQLDialect> REQUIRES_IN_LIMIT = EnumSet.of(FIREBIRD);
+    private static final EnumSet<SQLDialect> REWRITE_TO_ARRAY  = EnumSet.of(H2, HSQLDB, POSTGRES);
+    private static final EnumSet<SQLDialect> REWRITE_TO_VALUES = EnumSet.of(DERBY, SQLITE);
 
     private final Field<T>                   field;
     private final Field<?>[]                 values;
@@ -93,6 +114,18 @@ final class InCondition<T> extends AbstractCondition {
         this.comparator = comparator;
     }
 
+    final Field<T> getField() {
+        return field;
+    }
+
+    final Field<?>[] getValues() {
+        return values;
+    }
+
+    final Comparator getComparator() {
+        return comparator;
+    }
+
     @Override
     public final Clause[] clauses(Context<?> ctx) {
         return comparator == IN ? CLAUSES_IN : CLAUSES_IN_NOT;
@@ -108,6 +141,12 @@ final class InCondition<T> extends AbstractCondition {
             else
                 ctx.visit(trueCondition());
         }
+        else if (rewrite(ctx, list)) {
+            if (REWRITE_TO_ARRAY.contains(ctx.family()))
+                ctx.visit(arrayCondition(list));
+            else
+                ctx.visit(valuesCondition(padded(ctx, list)));
+        }
         else if (list.size() > IN_LIMIT) {
             // [#798] Oracle and some other dialects can only hold 1000 values
             // in an IN (...) clause
@@ -161,6 +200,51 @@ final class InCondition<T> extends AbstractCondition {
         }
     }
 
+    /**
+     * Whether an <code>IN</code> list should be rewritten to a form whose SQL
+     * string does not depend on its size.
+     */
+    private final boolean rewrite(Context<?> ctx, List<Field<?>> list) {
+        int threshold = defaultIfNull(ctx.settings().getInListRewriteThreshold(), 0);
+
+        if (threshold <= 0
+                || list.size() < threshold
+                || ctx.paramType() == INLINED
+                || field.getType().isPrimitive()
+                || !(REWRITE_TO_ARRAY.contains(ctx.family()) || REWRITE_TO_VALUES.contains(ctx.family())))
+            return false;
+
+        for (Field<?> value : list)
+            if (!(value instanceof Param) || ((Param<?>) value).isInline())
+                return false;
+
+        return true;
+    }
+
+    /**
+     * An <code>= ANY(?)</code> or <code>&lt;&gt; ALL(?)</code> condition with
+     * a single array bind value.
+     */
+    private final Condition arrayCondition(List<Field<?>> list) {
+        Field<T[]> bind = new ArrayParam<T>(field, list);
+        return comparator == IN ? field.eq(any(bind)) : field.ne(all(bind));
+    }
+
+    /**
+     * An <code>IN</code> condition with a subquery selecting from a
+     * <code>VALUES</code> derived table.
+     */
+    @SuppressWarnings("unchecked")
+    private final Condition valuesCondition(List<Field<?>> list) {
+        Row1<T>[] rows = new Row1[list.size()];
+
+        for (int i = 0; i < rows.length; i++)
+            rows[i] = row((Field<T>) list.get(i));
+
+        Select<Record1<T>> select = select(DSL.field(name("v"), field.getDataType())).from(values(rows).as("in_values", "v"));
+        return comparator == IN ? field.in(select) : field.notIn(select);
+    }
+
     static <T> List<T> padded(Context<?> ctx, List<T> list) {
         return ctx.paramType() == INDEXED && TRUE.equals(ctx.settings().isInListPadding())
             ? new PaddedList<T>(list, REQUIRES_IN_LIMIT.contains(ctx.family())
@@ -199,6 +283,52 @@ final class InCondition<T> extends AbstractCondition {
         ctx.sql(')');
     }
 
+    /**
+     * An array bind value containing the values of an <code>IN</code> list's
+     * {@link Param} values.
+     * <p>
+     * The array is created from the list's current values each time this
+     * bind value is rendered or bound, such that statements that are kept
+     * open through {@link org.jooq.Query#keepStatement(boolean)} bind the
+     * values that were set through {@link Param#setConverted(Object)} since
+     * the previous execution.
+     */
+    private static final class ArrayParam<T> extends AbstractParam<T[]> {
+
+        private static final long    serialVersionUID = -2411358640165719427L;
+        private final Field<T>       field;
+        private final List<Field<?>> list;
+
+        ArrayParam(Field<T> field, List<Field<?>> list) {
+            super(null, field.getDataType().getArrayDataType());
+
+            this.field = field;
+            this.list = list;
+        }
+
+        @Override
+        public void accept(Context<?> ctx) {
+            value = array();
+
+            // The array is rendered like any other bind value, but this
+            // instance is the one collected for binding
+            if (ctx instanceof RenderContext)
+                new Val<T[]>(value, getDataType()).accept(ctx);
+            else if (!isInline(ctx))
+                ctx.bindValue(value, this);
+        }
+
+        @SuppressWarnings("unchecked")
+        private final T[] array() {
+            T[] result = (T[]) Array.newInstance(field.getType(), list.size());
+
+            for (int i = 0; i < result.length; i++)
+                result[i] = field.getDataType().convert(((Param<?>) list.get(i)).getValue());
+
+            return result;
+        }
+    }
+
     static class PaddedList<T> extends AbstractList<T> {
         private final List<T> delegate;
         private final int     realSize;
@@ -0,0 +1,286 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import static org.jooq.conf.ParamType.INLINED;
+import static org.jooq.conf.SettingsTools.executePreparedStatements;
+import static org.jooq.conf.SettingsTools.getParamType;
+import static org.jooq.impl.DSL.val;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.jooq.Configuration;
+import org.jooq.Field;
+import org.jooq.KeysetScan;
+import org.jooq.Param;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.Select;
+import org.jooq.SortField;
+
+/**
+ * A keyset paginated scan, adding <code>ORDER BY</code>, <code>SEEK</code>
+ * and <code>LIMIT</code> clauses to a copy of a {@link SelectQueryImpl}.
+ */
+final class KeysetScanImpl<R extends Record> implements KeysetScan<R> {
+
+    static final int                 DEFAULT_CHUNK_SIZE = 1000;
+
+    private final Configuration      configuration;
+    private final SelectQueryImpl<R> query;
+    private final SortField<?>[]     orderBy;
+    private final Field<?>[]         keyFields;
+    private int                      chunkSize          = DEFAULT_CHUNK_SIZE;
+    private Param<?>[]               seek;
+    private Object[]                 lastKey;
+    private boolean                  started;
+    private boolean                  exhausted;
+    private Iterator<R>              iterator;
+
+    KeysetScanImpl(Configuration configuration, Select<R> select, SortField<?>... orderBy) {
+        if (orderBy.length == 0)
+            throw new IllegalArgumentException("A keyset scan requires at least one sort field");
+
+        this.configuration = configuration;
+        // The scan's clauses and kept statement must not leak into the
+        // caller's query
+        this.query = selectQueryImpl(select).copy();
+        this.orderBy = orderBy;
+        this.keyFields = new Field[orderBy.length];
+
+        for (int i = 0; i < orderBy.length; i++) {
+            SortFieldImpl<?> s = (SortFieldImpl<?>) orderBy[i];
+
+            // [#2786] SEEK predicates do not take NULLS FIRST | NULLS LAST
+            // clauses into account
+            if (s.getNullsFirst() || s.getNullsLast())
+                throw new IllegalArgumentException("NULLS FIRST and NULLS LAST are not supported in keyset scans: " + s);
+
+            keyFields[i] = s.getField();
+        }
+
+        if (!query.getOrderBy().isEmpty() || !query.getSeek().isEmpty() || query.getLimit().isApplicable())
+            throw new IllegalArgumentException("The scanned SELECT statement must not have any ORDER BY, SEEK, or LIMIT clauses");
+
+        query.attach(configuration);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final <R extends Record> SelectQueryImpl<R> selectQueryImpl(Select<R> select) {
+        if (select instanceof SelectQueryImpl)
+            return (SelectQueryImpl<R>) select;
+        else if (select instanceof SelectImpl)
+            return (SelectQueryImpl<R>) ((SelectImpl) select).getDelegate();
+        else
+            throw new IllegalArgumentException("Unsupported SELECT statement type: " + select.getClass());
+    }
+
+    @Override
+    public final KeysetScan<R> chunkSize(int size) {
+        checkNotStarted();
+
+        if (size <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive: " + size);
+
+        this.chunkSize = size;
+        return this;
+    }
+
+    @Override
+    public final KeysetScan<R> seekAfter(Object... values) {
+        checkNotStarted();
+
+        if (values != null && values.length != keyFields.length)
+            throw new IllegalArgumentException("Expected " + keyFields.length + " key values, got: " + values.length);
+
+        this.lastKey = values == null ? null : values.clone();
+        return this;
+    }
+
+    private final void checkNotStarted() {
+        if (started)
+            throw new IllegalStateException("The keyset scan has already started fetching records");
+    }
+
+    @Override
+    public final Object[] lastKey() {
+        return lastKey == null ? null : lastKey.clone();
+    }
+
+    @Override
+    public final Result<R> fetchNextChunk() {
+        if (exhausted)
+            return new ResultImpl<R>(configuration, query.getSelect());
+
+        if (!started) {
+            started = true;
+
+            query.addOrderBy(orderBy);
+            query.addLimit(chunkSize);
+            query.keepStatement(true);
+
+            if (lastKey != null)
+                addSeek();
+        }
+
+        // Inlined bind values cannot be re-bound to a kept statement
+        else if (!executePreparedStatements(configuration.settings()) || getParamType(configuration.settings()) == INLINED)
+            query.close();
+
+        Result<R> result;
+
+        try {
+            result = query.fetch();
+        }
+        catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+
+        if (result.size() < chunkSize)
+            close();
+
+        if (!result.isEmpty()) {
+            R last = result.get(result.size() - 1);
+
+            lastKey = new Object[keyFields.length];
+            for (int i = 0; i < keyFields.length; i++)
+                lastKey[i] = last.get(keyFields[i]);
+
+            if (!exhausted) {
+
+                // The first chunk was fetched without a SEEK clause, so the
+                // statement needs to be prepared anew, only once.
+                if (seek == null) {
+                    query.close();
+                    addSeek();
+                }
+                else
+                    bindSeek();
+            }
+        }
+
+        return result;
+    }
+
+    private final void addSeek() {
+        seek = new Param[keyFields.length];
+
+        for (int i = 0; i < keyFields.length; i++)
+            seek[i] = val(lastKey[i], keyFields[i]);
+
+        query.addSeekAfter(seek);
+    }
+
+    @SuppressWarnings("deprecation")
+    private final void bindSeek() {
+        for (int i = 0; i < seek.length; i++)
+            seek[i].setConverted(lastKey[i]);
+    }
+
+    @Override
+    public final Iterator<R> iterator() {
+        if (iterator == null)
+            iterator = new ScanIterator();
+
+        return iterator;
+    }
+
+
+    @Override
+    public final Stream<R> stream() {
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL
+            ),
+            false
+        ).onClose(() -> close());
+    }
+
+
+    @Override
+    public final void close() {
+        exhausted = true;
+        query.close();
+    }
+
+    @Override
+    public String toString() {
+        return query.toString();
+    }
+
+    /**
+     * An iterator for records fetched by this scan
+     */
+    final class ScanIterator implements Iterator<R> {
+
+        private Iterator<R> chunk = Collections.<R>emptyList().iterator();
+
+        @Override
+        public final boolean hasNext() {
+            while (!chunk.hasNext()) {
+                if (exhausted)
+                    return false;
+
+                chunk = fetchNextChunk().iterator();
+            }
+
+            return true;
+        }
+
+        @Override
+        public final R next() {
+            if (!hasNext())
+                throw new NoSuchElementException("There are no more records to fetch from this KeysetScan");
+
+            return chunk.next();
+        }
+
+        @Override
+        public final void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -67,6 +67,7 @@ import org.jooq.Param;
 import org.jooq.RenderContext.CastMode;
 import org.jooq.conf.ParamType;
 import org.jooq.exception.DataAccessException;
+import org.jooq.tools.Convert;
 
 /**
  * @author Lukas Eder
@@ -466,6 +467,35 @@ final class Limit extends AbstractQueryPart {
 
 
 
+    /**
+     * The constant number of rows, or <code>null</code> if there is no limit,
+     * or if it is not a {@link Param}.
+     */
+    final Long getNumberOfRowsValue() {
+        return numberOfRows instanceof Param ? Convert.convert(((Param<?>) numberOfRows).getValue(), Long.class) : null;
+    }
+
+    /**
+     * The constant offset, or <code>null</code> if there is no offset, or if
+     * it is not a {@link Param}.
+     */
+    final Long getOffsetValue() {
+        return offset instanceof Param ? Convert.convert(((Param<?>) offset).getValue(), Long.class) : null;
+    }
+
+    /**
+     * Copy the state of another limit into this limit.
+     */
+    final void setFrom(Limit other) {
+        this.numberOfRows = other.numberOfRows;
+        this.numberOfRowsOrMax = other.numberOfRowsOrMax;
+        this.offset = other.offset;
+        this.offsetOrZero = other.offsetOrZero;
+        this.offsetPlusOne = other.offsetPlusOne;
+        this.rendersParams = other.rendersParams;
+        this.withTies = other.withTies;
+    }
+
     final void setWithTies(boolean withTies) {
         this.withTies = withTies;
     }
@@ -0,0 +1,403 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import static org.jooq.impl.DSL.max;
+import static org.jooq.impl.DSL.min;
+import static org.jooq.impl.DSL.noCondition;
+import static org.jooq.impl.Tools.blocking;
+
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.jooq.Condition;
+import org.jooq.Configuration;
+import org.jooq.Cursor;
+import org.jooq.Field;
+import org.jooq.PartitionedScan;
+import org.jooq.Record;
+import org.jooq.Record2;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.Select;
+import org.jooq.SelectConditionStep;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+
+/**
+ * A partitioned scan, nesting a {@link Select} in a derived table and adding
+ * key range predicates for each partition.
+ */
+final class PartitionedScanImpl<R extends Record> implements PartitionedScan<R> {
+
+    private final Configuration configuration;
+    private final Table<R>      table;
+    private final Field<Object> key;
+    private int                 partitions  = Runtime.getRuntime().availableProcessors();
+    private Object[]            bounds;
+    private int                 parallelism;
+    private boolean             ordered;
+
+    @SuppressWarnings("unchecked")
+    PartitionedScanImpl(Configuration configuration, Select<R> select, Field<?> key) {
+        this.configuration = configuration;
+        this.table = select.asTable("p");
+        this.key = (Field<Object>) table.field(key);
+
+        if (this.key == null)
+            throw new IllegalArgumentException("Partition key " + key + " is not contained in the SELECT clause");
+    }
+
+    @Override
+    public final PartitionedScan<R> partitions(int count) {
+        if (count <= 0)
+            throw new IllegalArgumentException("Partition count must be positive: " + count);
+
+        this.partitions = count;
+        this.bounds = null;
+        return this;
+    }
+
+    @Override
+    public final PartitionedScan<R> splitAt(Object... b) {
+        this.bounds = b.clone();
+        return this;
+    }
+
+    @Override
+    public final PartitionedScan<R> parallelism(int connections) {
+        if (connections <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive: " + connections);
+
+        this.parallelism = connections;
+        return this;
+    }
+
+    @Override
+    public final PartitionedScan<R> ordered(boolean o) {
+        this.ordered = o;
+        return this;
+    }
+
+    @Override
+    public final Stream<R> stream() {
+        Execution execution = new Execution(queries(bounds()));
+
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                execution,
+                Spliterator.ORDERED | Spliterator.NONNULL
+            ),
+            false
+        ).onClose(execution::close);
+    }
+
+    @Override
+    public final Result<R> fetch() {
+        Result<R> result = new ResultImpl<R>(configuration, table.fields());
+
+        try (Stream<R> stream = stream()) {
+            stream.forEach(result::add);
+        }
+
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // XXX: Partitioning
+    // -------------------------------------------------------------------------
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private final List<Object> bounds() {
+        List<Object> result = new ArrayList<Object>();
+
+        if (bounds != null) {
+            for (Object b : bounds)
+                result.add(key.getDataType().convert(b));
+
+            result.sort((o1, o2) -> ((Comparable) o1).compareTo(o2));
+            for (int i = result.size() - 1; i > 0; i--)
+                if (result.get(i).equals(result.get(i - 1)))
+                    result.remove(i);
+        }
+        else if (partitions > 1) {
+            Record2<Object, Object> minMax = configuration.dsl().select(min(key), max(key)).from(table).fetchOne();
+            Object lo = minMax.value1();
+            Object hi = minMax.value2();
+
+            if (lo != null) {
+                BigInteger l = BigInteger.valueOf(toLong(lo));
+                BigInteger range = BigInteger.valueOf(toLong(hi)).subtract(l);
+                BigInteger count = BigInteger.valueOf(partitions);
+                long previous = l.longValue();
+
+                for (int i = 1; i < partitions; i++) {
+                    long bound = l.add(range.multiply(BigInteger.valueOf(i)).divide(count)).longValue();
+
+                    if (bound > previous)
+                        result.add(fromLong(previous = bound, lo));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private final List<ResultQuery<R>> queries(List<Object> b) {
+        List<ResultQuery<R>> result = new ArrayList<ResultQuery<R>>(b.size() + 1);
+
+        for (int i = 0; i <= b.size(); i++) {
+            Condition c;
+
+            if (b.isEmpty())
+                c = noCondition();
+            else if (i == 0)
+                c = key.lt(b.get(i)).or(key.isNull());
+            else if (i == b.size())
+                c = key.ge(b.get(i - 1));
+            else
+                c = key.ge(b.get(i - 1)).and(key.lt(b.get(i)));
+
+            SelectConditionStep<R> select = configuration.dsl().selectFrom(table).where(c);
+            result.add(ordered ? select.orderBy(key) : select);
+        }
+
+        return result;
+    }
+
+    private static final long toLong(Object value) {
+        if (value instanceof Number)
+            return ((Number) value).longValue();
+        else if (value instanceof java.util.Date)
+            return ((java.util.Date) value).getTime();
+
+        else if (value instanceof LocalDate)
+            return ((LocalDate) value).toEpochDay();
+        else if (value instanceof LocalDateTime)
+            return Timestamp.valueOf((LocalDateTime) value).getTime();
+
+        else
+            throw new IllegalArgumentException("Cannot compute partition bounds for key of type " + value.getClass() + ". Use splitAt() instead.");
+    }
+
+    private final Object fromLong(long value, Object template) {
+        if (template instanceof Timestamp)
+            return new Timestamp(value);
+        else if (template instanceof Time)
+            return new Time(value);
+        else if (template instanceof java.sql.Date)
+            return new java.sql.Date(value);
+        else if (template instanceof java.util.Date)
+            return new java.util.Date(value);
+
+        else if (template instanceof LocalDate)
+            return LocalDate.ofEpochDay(value);
+        else if (template instanceof LocalDateTime)
+            return new Timestamp(value).toLocalDateTime();
+
+        else
+            return key.getDataType().convert(value);
+    }
+
+    // -------------------------------------------------------------------------
+    // XXX: Execution
+    // -------------------------------------------------------------------------
+
+    /**
+     * The number of records per partition that workers fetch ahead of the
+     * consumer.
+     */
+    private static final int BUFFER_SIZE = 1000;
+
+    /**
+     * The end of a partition's records.
+     */
+    private static final Object END = new Object();
+
+    /**
+     * The concurrent execution of all partitions, iterating over partition
+     * records either in key range order or in completion order.
+     * <p>
+     * Workers fetch partitions lazily and hand records over through bounded
+     * buffers, such that at most {@link #BUFFER_SIZE} records per worker are
+     * held in memory, regardless of the size of the scanned table.
+     */
+    private final class Execution implements Iterator<R> {
+
+        private final List<ResultQuery<R>>         queries;
+        private final List<BlockingQueue<Object>>  buffers;
+        private final AtomicInteger                next;
+        private volatile boolean                   closed;
+        private int                                finished;
+        private R                                  lookahead;
+
+        Execution(List<ResultQuery<R>> queries) {
+            this.queries = queries;
+            this.next = new AtomicInteger();
+
+            // A single JDBC connection cannot be shared by concurrent executions
+            int workers = configuration.connectionProvider() instanceof DefaultConnectionProvider
+                ? 1
+                : Math.min(queries.size(), parallelism > 0 ? parallelism : queries.size());
+
+            // Ordered scans consume partitions one after the other, unordered
+            // scans consume records from all partitions as they are produced
+            this.buffers = new ArrayList<BlockingQueue<Object>>(queries.size());
+            BlockingQueue<Object> shared = ordered ? null : new LinkedBlockingQueue<Object>(Math.max(BUFFER_SIZE, workers));
+            for (int i = 0; i < queries.size(); i++)
+                buffers.add(ordered ? new LinkedBlockingQueue<Object>(BUFFER_SIZE) : shared);
+
+            Executor executor = configuration.executorProvider().provide();
+            for (int i = 0; i < workers; i++)
+                CompletableFuture.supplyAsync(blocking(this::work), executor);
+        }
+
+        private final Boolean work() {
+            int i;
+
+            try {
+                while (!closed && (i = next.getAndIncrement()) < queries.size()) {
+                    BlockingQueue<Object> buffer = buffers.get(i);
+
+                    try (Cursor<R> cursor = queries.get(i).fetchLazy()) {
+                        for (R record : cursor) {
+                            if (closed)
+                                return true;
+
+                            buffer.put(record);
+                        }
+                    }
+                    catch (InterruptedException e) {
+                        throw e;
+                    }
+                    catch (Throwable e) {
+                        if (!closed)
+                            buffer.put(e);
+
+                        return true;
+                    }
+
+                    if (!closed)
+                        buffer.put(END);
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return true;
+        }
+
+        @Override
+        public final boolean hasNext() {
+            if (lookahead == null && !closed)
+                lookahead = take();
+
+            return lookahead != null;
+        }
+
+        @Override
+        public final R next() {
+            if (!hasNext())
+                throw new NoSuchElementException("There are no more records to fetch");
+
+            R result = lookahead;
+            lookahead = null;
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private final R take() {
+            try {
+                while (finished < buffers.size()) {
+                    Object o = buffers.get(finished).take();
+
+                    if (o == END) {
+                        finished++;
+                    }
+                    else if (o instanceof Throwable) {
+                        close();
+
+                        if (o instanceof RuntimeException)
+                            throw (RuntimeException) o;
+                        else
+                            throw new DataAccessException("Error while fetching partition", (Throwable) o);
+                    }
+                    else {
+                        return (R) o;
+                    }
+                }
+
+                return null;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new DataAccessException("Interrupted while waiting for partition results", e);
+            }
+        }
+
+        /**
+         * Stop all workers. Clearing the buffers releases workers that are
+         * blocked on a full buffer, after which they observe the closed flag
+         * prior to producing any further records.
+         */
+        final void close() {
+            closed = true;
+
+            for (BlockingQueue<Object> buffer : buffers)
+                buffer.clear();
+        }
+    }
+}
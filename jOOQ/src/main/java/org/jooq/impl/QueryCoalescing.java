@@ -0,0 +1,205 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jooq.Configuration;
+import org.jooq.ConnectionProvider;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.conf.Settings;
+import org.jooq.exception.DataAccessException;
+
+/**
+ * A registry of in-flight {@link org.jooq.ResultQuery} executions, shared by
+ * identical concurrent executions if
+ * {@link Settings#isExecuteWithQueryCoalescing()} is turned on.
+ * <p>
+ * The first execution of a given key becomes the leader of a {@link Flight},
+ * and executes the query against the database. Identical executions arriving
+ * while the flight is in progress wait for the leader's outcome. Flights are
+ * removed from the registry before their outcome is published, so executions
+ * arriving afterwards start a new flight. Waiting executions receive a copy
+ * of the leader's data, from which they read their own {@link Result} through
+ * their own fields, converters and bindings.
+ */
+final class QueryCoalescing {
+
+    private static final ConcurrentMap<Key, Flight> FLIGHTS = new ConcurrentHashMap<Key, Flight>();
+
+    /**
+     * Join an in-flight execution, or start a new one, in case of which
+     * {@link Flight#leader()} returns <code>true</code> for the calling
+     * thread.
+     */
+    static final Flight join(Configuration configuration, Object key) {
+        Key k = new Key(scope(configuration), key);
+        Flight flight = new Flight(k);
+        Flight existing = FLIGHTS.putIfAbsent(k, flight);
+
+        if (existing == null)
+            return flight;
+
+        existing.waiters.incrementAndGet();
+        return existing;
+    }
+
+    /**
+     * The scope within which identical executions may be coalesced.
+     * <p>
+     * Within a transaction managed by jOOQ, this is the transaction's
+     * connection, such that executions never observe another transaction's
+     * data. {@link ThreadLocalTransactionProvider} shares a single
+     * {@link ConnectionProvider} between all threads and their transactions,
+     * so the connection provider cannot be used for that purpose. Outside of
+     * transactions, this is the connection provider.
+     */
+    private static final Object scope(Configuration configuration) {
+        Connection connection = Tools.transactionConnection(configuration);
+        return connection != null ? connection : configuration.connectionProvider();
+    }
+
+    static final class Flight {
+        private final Key                 key;
+        private final Thread              leader;
+        private final CountDownLatch      done;
+        private final AtomicInteger       waiters;
+        private volatile Field<?>[]       fields;
+        private volatile List<Object[]>   rows;
+        private volatile RuntimeException exception;
+
+        Flight(Key key) {
+            this.key = key;
+            this.leader = Thread.currentThread();
+            this.done = new CountDownLatch(1);
+            this.waiters = new AtomicInteger();
+        }
+
+        /**
+         * Whether the calling thread executes this flight's query.
+         */
+        final boolean leader() {
+            return leader == Thread.currentThread();
+        }
+
+        /**
+         * Publish the leader's outcome. A <code>null</code> result and
+         * exception indicates that waiting executions should execute
+         * themselves.
+         */
+        final void complete(Result<?> r, RuntimeException e) {
+            FLIGHTS.remove(key, this);
+
+            // Waiters that joined too late to be counted execute themselves
+            if (r != null && waiters.get() > 0) {
+                List<Object[]> copy = new ArrayList<Object[]>(r.size());
+
+                for (Record record : r)
+                    copy.add(ResultCacheListener.copy(record.intoArray()));
+
+                this.fields = r.fields();
+                this.rows = copy;
+            }
+
+            this.exception = e;
+            done.countDown();
+        }
+
+        /**
+         * Wait for the leader's outcome.
+         *
+         * @return The leader's rows, which must not be modified by the
+         *         caller, or <code>null</code> if the caller should execute
+         *         itself.
+         * @throws DataAccessException Wrapping the leader's exception.
+         */
+        final List<Object[]> await() {
+            try {
+                done.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DataAccessException("Interrupted while waiting for a coalesced execution", e);
+            }
+
+            // Each waiting thread gets its own stack trace
+            if (exception != null)
+                throw new DataAccessException("Coalesced execution failed: " + exception.getMessage(), exception);
+
+            return rows;
+        }
+
+        final Field<?>[] fields() {
+            return fields;
+        }
+    }
+
+    private static final class Key {
+        private final Object scope;
+        private final Object key;
+
+        Key(Object scope, Object key) {
+            this.scope = scope;
+            this.key = key;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(scope) + key.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+
+            Key other = (Key) obj;
+            return scope == other.scope && key.equals(other.key);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import static java.util.Collections.unmodifiableList;
+import static org.jooq.impl.Tools.DataKey.DATA_COUNT_BIND_VALUES;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.jooq.Clause;
+import org.jooq.Configuration;
+import org.jooq.Context;
+import org.jooq.Field;
+import org.jooq.Param;
+import org.jooq.Query;
+import org.jooq.QueryTemplate;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.exception.DataAccessException;
+
+/**
+ * A default implementation for {@link QueryTemplate}.
+ * <p>
+ * The template's SQL string is split into the chunks surrounding each bind
+ * value. Each execution renders these chunks around new {@link Param}
+ * instances, which takes care of bind value casts, inlining, and binding.
+ */
+final class QueryTemplateImpl<R extends Record> implements QueryTemplate<R> {
+
+    private final Configuration          configuration;
+    private final AbstractResultQuery<R> query;
+    private final String                 sql;
+    private final String[]               chunks;
+    private final Param<?>[]             params;
+
+    @SuppressWarnings("unchecked")
+    QueryTemplateImpl(Configuration configuration, ResultQuery<R> query) {
+        Query q = query;
+
+        while (q instanceof AbstractDelegatingQuery)
+            q = ((AbstractDelegatingQuery<?>) q).getDelegate();
+
+        if (!(q instanceof AbstractResultQuery))
+            throw new IllegalArgumentException("Cannot create a template from query type: " + query.getClass());
+
+        this.configuration = configuration;
+        this.query = (AbstractResultQuery<R>) q;
+
+        DefaultRenderContext render = new DefaultRenderContext(configuration);
+        render.data(DATA_COUNT_BIND_VALUES, true);
+        render.recordBindValueOffsets();
+
+        try {
+            this.sql = render.visit(query).render();
+        }
+        catch (DefaultRenderContext.ForceInlineSignal e) {
+            throw new DataAccessException("Cannot create a template from a query with too many bind values");
+        }
+
+        this.params = render.bindValues().toArray(new Param[0]);
+        this.chunks = new String[params.length + 1];
+
+        List<Integer> offsets = render.bindValueOffsets();
+        int position = 0;
+
+        for (int i = 0; i < params.length; i++) {
+            chunks[i] = sql.substring(position, offsets.get(2 * i));
+            position = offsets.get(2 * i + 1);
+        }
+
+        chunks[params.length] = sql.substring(position);
+    }
+
+    @Override
+    public final String getSQL() {
+        return sql;
+    }
+
+    @Override
+    public final List<Param<?>> getParams() {
+        return unmodifiableList(Arrays.asList(params));
+    }
+
+    @Override
+    public final ResultQuery<R> query(Object... values) {
+        if (values.length != params.length)
+            throw new IllegalArgumentException("Template has " + params.length + " parameters, but " + values.length + " values were supplied");
+
+        Param<?>[] bound = new Param[params.length];
+
+        for (int i = 0; i < params.length; i++)
+            bound[i] = param(params[i], values[i]);
+
+        return new TemplateQuery(bound);
+    }
+
+    @Override
+    public final ResultQuery<R> query(Map<String, ?> values) {
+        Param<?>[] bound = new Param[params.length];
+
+        for (int i = 0; i < params.length; i++) {
+            String name = params[i].getParamName();
+
+            bound[i] = name != null && values.containsKey(name)
+                ? param(params[i], values.get(name))
+                : params[i];
+        }
+
+        return new TemplateQuery(bound);
+    }
+
+    @Override
+    public final Result<R> fetch(Object... values) {
+        return query(values).fetch();
+    }
+
+    @Override
+    public final Result<R> fetch(Map<String, ?> values) {
+        return query(values).fetch();
+    }
+
+    @Override
+    public final R fetchOne(Object... values) {
+        return query(values).fetchOne();
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+
+    private static final <T> Param<T> param(Param<T> slot, Object value) {
+        return DSL.val(value, slot.getDataType());
+    }
+
+    /**
+     * A query rendering the template's chunks around new bind values.
+     */
+    private final class TemplateQuery extends AbstractResultQuery<R> {
+
+        /**
+         * Generated UID
+         */
+        private static final long serialVersionUID = 7049471255463203315L;
+
+        private final Param<?>[]  values;
+
+        TemplateQuery(Param<?>[] values) {
+            super(configuration);
+
+            this.values = values;
+        }
+
+        @Override
+        public final void accept(Context<?> ctx) {
+            for (int i = 0; i < values.length; i++)
+                ctx.sql(chunks[i], true)
+                   .visit(values[i]);
+
+            ctx.sql(chunks[values.length], true);
+        }
+
+        @Override
+        public final Clause[] clauses(Context<?> ctx) {
+            return null;
+        }
+
+        @Override
+        public final Class<? extends R> getRecordType() {
+            return query.getRecordType();
+        }
+
+        @Override
+        protected final Field<?>[] getFields(ResultSetMetaData meta) throws SQLException {
+            return query.getFields(meta);
+        }
+
+        @Override
+        final boolean isForUpdate() {
+            return query.isForUpdate();
+        }
+    }
+}
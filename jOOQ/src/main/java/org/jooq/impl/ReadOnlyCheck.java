@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.util.regex.Pattern;
+
+import org.jooq.BindContext;
+import org.jooq.Configuration;
+import org.jooq.ExecuteContext;
+import org.jooq.Field;
+import org.jooq.Param;
+import org.jooq.Query;
+import org.jooq.QueryPartInternal;
+import org.jooq.SQL;
+import org.jooq.Select;
+
+/**
+ * A render-free traversal of a query, looking for anything that might write
+ * or lock data.
+ * <p>
+ * Only {@link Select} statements constructed with the jOOQ API can be read
+ * only. They are not if they contain any <code>SELECT .. INTO</code> or
+ * locking clause, sequence or stored function call, or plain {@link SQL}
+ * template with keywords like <code>INSERT</code>, <code>INTO</code>,
+ * <code>NEXTVAL</code>, or <code>LOCK</code>.
+ */
+final class ReadOnlyCheck extends AbstractBindContext {
+
+    private static final Pattern WRITES   = Pattern.compile("(?i)\\b(insert|update|delete|merge|upsert|into|call|exec|execute|nextval|setval|next\\s+value|lock|share)\\b");
+
+    private boolean              readOnly = true;
+
+    private ReadOnlyCheck(Configuration configuration) {
+        super(configuration, null);
+    }
+
+    /**
+     * Whether an execution's query is read only.
+     */
+    static final boolean readOnly(ExecuteContext ctx) {
+        Query query = ctx.query();
+
+        // Selects may have been combined by DSLContext.fetchAll()
+        if (!(query instanceof Select || query instanceof CombinedResultQuery))
+            return false;
+
+        ReadOnlyCheck check = new ReadOnlyCheck(ctx.configuration());
+        check.visit(query);
+        return check.readOnly;
+    }
+
+    @Override
+    protected final void bindInternal(QueryPartInternal internal) {
+        if (!readOnly || internal instanceof Param)
+            return;
+
+        if (internal instanceof SQL && WRITES.matcher(internal.toString()).find()
+            || internal instanceof SequenceImpl.SequenceFunction
+            || internal instanceof AbstractRoutine.RoutineField
+            || internal instanceof SelectQueryImpl && !((SelectQueryImpl<?>) internal).isReadOnly())
+            readOnly = false;
+        else
+            super.bindInternal(internal);
+    }
+
+    @Override
+    protected final BindContext bindValue0(Object value, Field<?> field) {
+        return this;
+    }
+}
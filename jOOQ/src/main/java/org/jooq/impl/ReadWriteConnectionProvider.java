@@ -0,0 +1,301 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jooq.ConnectionProvider;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteType;
+import org.jooq.ResultQuery;
+import org.jooq.SQL;
+import org.jooq.Select;
+import org.jooq.Sequence;
+import org.jooq.exception.DataAccessException;
+import org.jooq.tools.JooqLogger;
+
+/**
+ * A {@link ConnectionProvider} that routes reads to replicas and everything
+ * else to a primary.
+ * <p>
+ * Connections acquired through {@link #acquire(ExecuteContext)} for a
+ * {@link Select} statement constructed with the jOOQ API are served by one of
+ * the replicas, unless the statement might write or lock data. This is the case
+ * when it contains:
+ * <ul>
+ * <li>A locking clause like <code>FOR UPDATE</code> or
+ * <code>FOR SHARE</code>, or a <code>SELECT .. INTO</code> clause.</li>
+ * <li>A {@link Sequence} call, such as {@link Sequence#nextval()}.</li>
+ * <li>A stored function call, which may modify data.</li>
+ * <li>A plain {@link SQL} template containing keywords like
+ * <code>INSERT</code>, <code>INTO</code>, <code>NEXTVAL</code>, or
+ * <code>LOCK</code>. Other plain SQL templates, including calls to stored
+ * functions, are assumed to be read only. Run such statements in a
+ * transaction to keep them on the primary.</li>
+ * </ul>
+ * All other executions (plain SQL queries, even if they are executed as
+ * {@link ResultQuery}, DML, DDL, batches, routines, etc.) and all connections
+ * acquired outside of an execution through {@link #acquire()}, such as by a
+ * {@link DefaultTransactionProvider} when starting a transaction, are served by
+ * the primary. As transactions keep using the connection they were started
+ * with, any statement inside of a transaction stays on the primary.
+ * <p>
+ * Additionally:
+ * <ul>
+ * <li>After a thread has acquired a primary connection, its reads stay on the
+ * primary for a configurable stickiness window, in order to read its own
+ * writes.</li>
+ * <li>Reads are balanced over replicas by choosing the replica with the fewest
+ * connections in use.</li>
+ * <li>Replicas whose connections cannot be acquired, or that are rejected by a
+ * {@link ReplicaCheck}, e.g. because of excessive replication lag, are evicted
+ * for a configurable amount of time. If no replica is available, reads are
+ * served by the primary.</li>
+ * </ul>
+ */
+public class ReadWriteConnectionProvider implements ConnectionProvider {
+
+    private static final JooqLogger         log     = JooqLogger.getLogger(ReadWriteConnectionProvider.class);
+
+    private final ConnectionProvider        primary;
+    private final Replica[]                 replicas;
+    private final long                      stickinessNanos;
+    private final long                      evictionNanos;
+    private final ReplicaCheck              check;
+    private final AtomicInteger             next;
+    private final ThreadLocal<Long>         lastPrimary;
+    private final Map<Connection, Replica>  acquired;
+
+    /**
+     * Create a provider with a read-your-writes stickiness of
+     * <code>1s</code>, and replica eviction for <code>10s</code>.
+     */
+    public ReadWriteConnectionProvider(ConnectionProvider primary, ConnectionProvider... replicas) {
+        this(primary, Arrays.asList(replicas), 1000, 10000, TimeUnit.MILLISECONDS, null);
+    }
+
+    /**
+     * Create a provider.
+     *
+     * @param primary The primary, serving all writes.
+     * @param replicas The replicas, serving reads.
+     * @param stickiness The time after acquiring a primary connection, during
+     *            which a thread's reads are also served by the primary.
+     * @param eviction The time for which a failed replica is evicted.
+     * @param unit The unit of <code>stickiness</code> and
+     *            <code>eviction</code>.
+     * @param check An additional check for replica connections, or
+     *            <code>null</code> if no check is needed.
+     */
+    public ReadWriteConnectionProvider(
+        ConnectionProvider primary,
+        List<? extends ConnectionProvider> replicas,
+        long stickiness,
+        long eviction,
+        TimeUnit unit,
+        ReplicaCheck check
+    ) {
+        this.primary = primary;
+        this.replicas = new Replica[replicas.size()];
+        this.stickinessNanos = unit.toNanos(stickiness);
+        this.evictionNanos = unit.toNanos(eviction);
+        this.check = check;
+        this.next = new AtomicInteger();
+        this.lastPrimary = new ThreadLocal<Long>();
+        this.acquired = new IdentityHashMap<Connection, Replica>();
+
+        for (int i = 0; i < this.replicas.length; i++)
+            this.replicas[i] = new Replica(replicas.get(i));
+    }
+
+    /**
+     * The primary.
+     */
+    public final ConnectionProvider primary() {
+        return primary;
+    }
+
+    /**
+     * The number of replicas that are currently not evicted.
+     */
+    public final int availableReplicas() {
+        long now = System.nanoTime();
+        int result = 0;
+
+        for (Replica replica : replicas)
+            if (replica.available(now))
+                result++;
+
+        return result;
+    }
+
+    @Override
+    public final Connection acquire() {
+        return acquirePrimary();
+    }
+
+    @Override
+    public final Connection acquire(ExecuteContext ctx) {
+        if (replicas.length == 0 || ctx.type() != ExecuteType.READ || !ReadOnlyCheck.readOnly(ctx))
+            return acquirePrimary();
+
+        // Read-your-writes
+        Long last = lastPrimary.get();
+        if (last != null && System.nanoTime() - last < stickinessNanos)
+            return primary.acquire();
+
+        Connection result = acquireReplica();
+        return result != null ? result : primary.acquire();
+    }
+
+    private final Connection acquirePrimary() {
+        if (stickinessNanos > 0)
+            lastPrimary.set(System.nanoTime());
+
+        return primary.acquire();
+    }
+
+    private final Connection acquireReplica() {
+        int offset = next.getAndIncrement() & Integer.MAX_VALUE;
+
+        for (int attempt = 0; attempt < replicas.length; attempt++) {
+            long now = System.nanoTime();
+            Replica replica = null;
+
+            // Choose the least busy available replica, starting with a rotating offset
+            for (int i = 0; i < replicas.length; i++) {
+                Replica r = replicas[(offset + i) % replicas.length];
+
+                if (r.available(now) && (replica == null || r.inUse.get() < replica.inUse.get()))
+                    replica = r;
+            }
+
+            if (replica == null)
+                return null;
+
+            Connection connection;
+            try {
+                connection = replica.provider.acquire();
+            }
+            catch (DataAccessException e) {
+                log.warn("Replica", "Evicting replica " + replica.provider + " after failure: " + e.getMessage());
+                replica.evict(now);
+                continue;
+            }
+
+            if (connection == null)
+                continue;
+
+            if (check != null && !check.isUsable(connection)) {
+                log.debug("Replica", "Evicting replica " + replica.provider + " after failed check");
+                replica.evict(now);
+                replica.provider.release(connection);
+                continue;
+            }
+
+            replica.inUse.incrementAndGet();
+            synchronized (acquired) {
+                acquired.put(connection, replica);
+            }
+
+            return connection;
+        }
+
+        return null;
+    }
+
+    @Override
+    public final void release(Connection connection) {
+        Replica replica;
+
+        synchronized (acquired) {
+            replica = acquired.remove(connection);
+        }
+
+        if (replica == null) {
+            primary.release(connection);
+        }
+        else {
+            replica.inUse.decrementAndGet();
+            replica.provider.release(connection);
+        }
+    }
+
+    /**
+     * A check for replica connections.
+     * <p>
+     * Implementations could e.g. check a replica's replication lag. Checks are
+     * performed for each acquired replica connection, so implementations
+     * should cache expensive results.
+     */
+    public interface ReplicaCheck {
+
+        /**
+         * Whether a freshly acquired replica connection may be used for reads.
+         * If not, the connection is released and its replica is evicted.
+         */
+        boolean isUsable(Connection connection);
+    }
+
+    private final class Replica {
+        final ConnectionProvider provider;
+        final AtomicInteger      inUse;
+        volatile long            evictedAt;
+        volatile boolean         evicted;
+
+        Replica(ConnectionProvider provider) {
+            this.provider = provider;
+            this.inUse = new AtomicInteger();
+        }
+
+        boolean available(long now) {
+            return !evicted || now - evictedAt >= evictionNanos;
+        }
+
+        void evict(long now) {
+            evictedAt = now;
+            evicted = true;
+        }
+    }
+}
@@ -37,25 +37,40 @@
  */
 package org.jooq.impl;
 
+import static java.lang.Boolean.TRUE;
+import static org.jooq.conf.ParamType.INLINED;
+import static org.jooq.conf.SettingsTools.executePreparedStatements;
+import static org.jooq.conf.SettingsTools.getParamType;
 import static org.jooq.impl.DSL.row;
+import static org.jooq.impl.DSL.val;
 import static org.jooq.impl.Tools.filterOne;
 import static org.jooq.impl.Tools.first;
 import static org.jooq.impl.Tools.list;
+import static org.jooq.tools.StringUtils.defaultIfNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.jooq.Condition;
+import org.jooq.Configuration;
 import org.jooq.Constraint;
 import org.jooq.DSLContext;
 import org.jooq.Field;
 import org.jooq.ForeignKey;
+import org.jooq.Param;
 import org.jooq.Record;
 import org.jooq.Result;
+import org.jooq.ResultQuery;
 import org.jooq.RowN;
 import org.jooq.Table;
 import org.jooq.TableField;
 import org.jooq.UniqueKey;
+import org.jooq.conf.Settings;
 import org.jooq.exception.DetachedException;
 
 /**
@@ -137,62 +152,216 @@ final class ReferenceImpl<R extends Record, O extends Record> extends AbstractKe
         }
     }
 
+    @Override
+    public final Map<R, O> fetchParentsGrouped(Collection<? extends R> records) {
+        Map<R, O> result = new LinkedHashMap<R, O>();
+
+        if (records == null || records.size() == 0)
+            return result;
+
+        TableField<O, ?>[] keyFields = key.getFieldsArray();
+        Map<List<Object>, O> parents = new HashMap<List<Object>, O>();
+
+        for (O parent : fetchParents(records))
+            parents.put(extractKey(parent, keyFields, keyFields), parent);
+
+        for (R record : records) {
+            List<Object> k = extractKey(record, getFieldsArray(), keyFields);
+            result.put(record, k == null ? null : parents.get(k));
+        }
+
+        return result;
+    }
+
+    @Override
+    public final Map<O, Result<R>> fetchChildrenGrouped(Collection<? extends O> records) {
+        Map<O, Result<R>> result = new LinkedHashMap<O, Result<R>>();
+
+        if (records == null || records.size() == 0)
+            return result;
+
+        TableField<O, ?>[] keyFields = key.getFieldsArray();
+        Map<List<Object>, List<O>> parents = new HashMap<List<Object>, List<O>>();
+
+        for (O record : records) {
+            if (!result.containsKey(record)) {
+                result.put(record, new ResultImpl<R>(record.configuration(), getFields()));
+
+                List<Object> k = extractKey(record, keyFields, keyFields);
+                if (k != null) {
+                    List<O> list = parents.get(k);
+
+                    if (list == null)
+                        parents.put(k, list = new ArrayList<O>());
+
+                    list.add(record);
+                }
+            }
+        }
+
+        for (R child : fetchChildren(records)) {
+            List<O> list = parents.get(extractKey(child, getFieldsArray(), keyFields));
+
+            if (list != null)
+                for (O parent : list)
+                    result.get(parent).add(child);
+        }
+
+        return result;
+    }
+
     /**
      * Do the actual fetching
      */
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({ "unchecked", "rawtypes", "deprecation" })
     private static <R1 extends Record, R2 extends Record> Result<R1> fetch(
         Collection<? extends R2> records,
         Table<R1> table,
         TableField<R1, ?>[] fields1,
         TableField<R2, ?>[] fields2) {
 
-        // Use regular predicates
-        if (fields1.length == 1) {
-            return extractDSLContext(records)
-                .selectFrom(table)
-                .where(((Field<Object>) fields1[0]).in(extractValues(records, fields2[0])))
-                .fetch();
+        DSLContext ctx = extractDSLContext(records);
+        List<Object[]> keys = extractKeys(records, fields2);
+        int chunkSize = chunkSize(ctx.configuration(), fields1.length);
+
+        if (keys.size() <= chunkSize)
+            return ctx.selectFrom(table)
+                      .where(condition(fields1, keys))
+                      .fetch();
+
+        // Fetch large sets of keys in chunks of equal size, padding the last
+        // chunk, such that all chunks can share the same prepared statement
+        Param<?>[][] params = new Param[chunkSize][fields1.length];
+        List<Object[]> rows = new ArrayList<Object[]>(chunkSize);
+
+        for (int i = 0; i < chunkSize; i++) {
+            for (int j = 0; j < fields1.length; j++)
+                params[i][j] = val(null, fields1[j]);
+
+            rows.add(params[i]);
         }
 
-        // Use row value expressions
-        else {
-            return extractDSLContext(records)
-                .selectFrom(table)
-                .where(row(fields1).in(extractRows(records, fields2)))
-                .fetch();
+        Settings settings = ctx.settings();
+        ResultQuery<R1> query = ctx.selectFrom(table)
+                                   .where(condition(fields1, rows))
+                                   .keepStatement(true);
+        Result<R1> result = new ResultImpl<R1>(ctx.configuration(), table.fields());
+
+        try {
+            for (int offset = 0; offset < keys.size(); offset += chunkSize) {
+                for (int i = 0; i < chunkSize; i++) {
+                    Object[] k = keys.get(Math.min(offset + i, keys.size() - 1));
+
+                    for (int j = 0; j < fields1.length; j++)
+                        params[i][j].setConverted(k[j]);
+                }
+
+                // Inlined bind values cannot be re-bound to a kept statement
+                if (!executePreparedStatements(settings) || getParamType(settings) == INLINED)
+                    query.close();
+
+                result.addAll(query.fetch());
+            }
+        }
+        finally {
+            query.close();
         }
 
+        return result;
     }
 
     /**
-     * Extract a list of values from a set of records given some fields
+     * The maximum number of keys per query.
      */
-    private static <R extends Record> List<Object> extractValues(Collection<? extends R> records, TableField<R, ?> field2) {
-        List<Object> result = new ArrayList<Object>(records.size());
+    private static final int chunkSize(Configuration configuration, int keyLength) {
+        int max;
+
+        switch (configuration.family()) {
+            case SQLITE:
+                max = 999;
+                break;
+
+            // [#798] Oracle and some other dialects can only hold 1000 values
+            // in an IN (...) clause
+            default:
+                max = 1000;
+                break;
+        }
+
+        int result = Math.max(1, max / keyLength);
+
+        // IN list padding must not exceed the limit, so chunks are sized to a
+        // power of the padding base
+        if (TRUE.equals(configuration.settings().isInListPadding())) {
+            int base = Math.max(2, defaultIfNull(configuration.settings().getInListPadBase(), 2));
+            int padded = 1;
 
-        for (R record : records)
-            result.add(record.get(field2));
+            while (padded <= result / base)
+                padded *= base;
+
+            result = padded;
+        }
 
         return result;
     }
 
     /**
-     * Extract a list of row value expressions from a set of records given some fields
+     * Create an <code>IN</code> predicate for a list of keys
      */
-    private static <R extends Record> List<RowN> extractRows(Collection<? extends R> records, TableField<R, ?>[] fields) {
-        List<RowN> rows = new ArrayList<RowN>(records.size());
+    @SuppressWarnings("unchecked")
+    private static <R extends Record> Condition condition(TableField<R, ?>[] fields, List<Object[]> keys) {
 
-        for (R record : records) {
-            Object[] values = new Object[fields.length];
+        // Use regular predicates
+        if (fields.length == 1) {
+            List<Object> values = new ArrayList<Object>(keys.size());
+
+            for (Object[] k : keys)
+                values.add(k[0]);
+
+            return ((Field<Object>) fields[0]).in(values);
+        }
 
-            for (int i = 0; i < fields.length; i++)
-                values[i] = record.get(fields[i]);
+        // Use row value expressions
+        else {
+            List<RowN> rows = new ArrayList<RowN>(keys.size());
+
+            for (Object[] k : keys)
+                rows.add(row(k));
 
-            rows.add(row(values));
+            return row(fields).in(rows);
         }
+    }
+
+    /**
+     * Extract a list of distinct, non-null keys from a set of records given
+     * some fields
+     */
+    private static <R extends Record> List<Object[]> extractKeys(Collection<? extends R> records, TableField<R, ?>[] fields) {
+        Map<List<Object>, Object[]> result = new LinkedHashMap<List<Object>, Object[]>();
+
+        for (R record : records) {
+            List<Object> k = extractKey(record, fields, fields);
+
+            if (k != null)
+                result.put(k, k.toArray());
+        }
+
+        return new ArrayList<Object[]>(result.values());
+    }
+
+    /**
+     * Extract a key from a record given some fields, converting values to the
+     * data types of the target fields, or <code>null</code> if any value is
+     * <code>null</code>
+     */
+    private static List<Object> extractKey(Record record, TableField<?, ?>[] fields, TableField<?, ?>[] targets) {
+        Object[] result = new Object[fields.length];
+
+        for (int i = 0; i < fields.length; i++)
+            if ((result[i] = targets[i].getDataType().convert(record.get(fields[i]))) == null)
+                return null;
 
-        return rows;
+        return Arrays.asList(result);
     }
 
     /**
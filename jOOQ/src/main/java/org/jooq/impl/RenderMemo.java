@@ -0,0 +1,124 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import org.jooq.Context;
+import org.jooq.QueryPart;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+
+/**
+ * A memoized rendering of a {@link QueryPart} whose SQL string depends only on
+ * the dialect, the {@link Settings}, and a few {@link Context} flags.
+ * <p>
+ * This is used for the qualified and quoted identifiers of generated tables
+ * and fields, which are static singletons rendered over and over again. A
+ * memo is immutable. Query parts keep the most recent one in a volatile
+ * field, and replace it when the rendering context differs. {@link Settings}
+ * are compared by identity, so changing a {@link Settings} object after it
+ * has been used for rendering may produce stale identifiers.
+ */
+final class RenderMemo {
+
+    private final SQLDialect dialect;
+    private final Settings   settings;
+    private final boolean    quote;
+    private final boolean    qualifySchema;
+    private final boolean    qualifyCatalog;
+    private final String     sql;
+
+    private RenderMemo(Context<?> ctx, String sql) {
+        this.dialect = ctx.dialect();
+        this.settings = ctx.settings();
+        this.quote = ctx.quote();
+        this.qualifySchema = ctx.qualifySchema();
+        this.qualifyCatalog = ctx.qualifyCatalog();
+        this.sql = sql;
+    }
+
+    /**
+     * Render the memoized SQL string, if it is applicable to a context.
+     *
+     * @return Whether the memoized SQL string was rendered.
+     */
+    static final boolean replay(Context<?> ctx, RenderMemo memo) {
+        if (memo == null || !memoizable(ctx))
+            return false;
+
+        if (memo.dialect != ctx.dialect()
+                || memo.settings != ctx.settings()
+                || memo.quote != ctx.quote()
+                || memo.qualifySchema != ctx.qualifySchema()
+                || memo.qualifyCatalog != ctx.qualifyCatalog())
+            return false;
+
+        ((DefaultRenderContext) ctx).sql(memo.sql, true);
+        return true;
+    }
+
+    /**
+     * Start recording the SQL string rendered to a context.
+     *
+     * @return The start position, or <code>-1</code> if the context doesn't
+     *         allow for memoizing.
+     */
+    static final int start(Context<?> ctx) {
+        return memoizable(ctx) ? ((DefaultRenderContext) ctx).length() : -1;
+    }
+
+    /**
+     * Stop recording the SQL string rendered to a context.
+     *
+     * @return A new memo, or the previous one if <code>start</code> is
+     *         <code>-1</code>.
+     */
+    static final RenderMemo end(Context<?> ctx, int start, RenderMemo previous) {
+        return start < 0 ? previous : new RenderMemo(ctx, ((DefaultRenderContext) ctx).substring(start));
+    }
+
+    /**
+     * Memoizing is possible only for plain SQL string rendering.
+     * {@link org.jooq.VisitListener} instances expect to see all the query
+     * parts, and string literals escape differently.
+     */
+    private static final boolean memoizable(Context<?> ctx) {
+        return ctx instanceof DefaultRenderContext
+            && ((DefaultRenderContext) ctx).visitListeners == null
+            && !ctx.stringLiteral();
+    }
+}
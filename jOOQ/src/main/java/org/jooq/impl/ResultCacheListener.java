@@ -0,0 +1,500 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import static org.jooq.impl.Tools.DataKey.DATA_RESULT_CACHE_DIRTY_TABLES;
+
+import java.lang.reflect.Array;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jooq.BindContext;
+import org.jooq.Configuration;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.Field;
+import org.jooq.Param;
+import org.jooq.Query;
+import org.jooq.QueryPartInternal;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.SQL;
+import org.jooq.Table;
+import org.jooq.TransactionContext;
+import org.jooq.TransactionListener;
+import org.jooq.UDTRecord;
+import org.jooq.tools.jdbc.MockResultSet;
+
+/**
+ * An {@link ExecuteListener} and {@link TransactionListener} that caches the
+ * results of {@link ResultQuery} executions.
+ * <p>
+ * Register the same instance both as an execute listener and as a transaction
+ * listener:
+ * <p>
+ * <code><pre>
+ * ResultCacheListener listener = new ResultCacheListener(1000);
+ *
+ * configuration.set(new DefaultExecuteListenerProvider(listener));
+ * configuration.set(new DefaultTransactionListenerProvider(listener));
+ * </pre></code>
+ * <p>
+ * Only queries that opt in through {@link ResultQuery#cacheable(long, java.util.concurrent.TimeUnit)}
+ * are cached, keyed by their SQL string and bind values. A cache entry is a
+ * deep copy of the fetched data. On each cache hit, the query reads a new
+ * {@link Result} from that data through its own fields, converters and
+ * bindings, as if it had been fetched from the database. This way, queries
+ * rendering the same SQL string may still project different types. The tables read by a query are collected from its
+ * query tree, and any other query executed through jOOQ, e.g. an
+ * <code>INSERT</code>, <code>UPDATE</code>, <code>DELETE</code>,
+ * <code>MERGE</code> or <code>TRUNCATE</code> statement, invalidates all
+ * entries depending on the tables it references. Queries or routines whose
+ * tables cannot be known, such as plain SQL queries, invalidate all entries.
+ * <p>
+ * Within a transaction, the tables written to are remembered, and queries
+ * depending on them bypass the cache until the transaction ends, such that
+ * uncommitted changes are never visible to other transactions.
+ * <p>
+ * Changes made outside of jOOQ are not tracked. They become visible once the
+ * time to live of the affected entries has expired.
+ */
+public class ResultCacheListener extends DefaultExecuteListener implements TransactionListener {
+
+    /**
+     * Generated UID
+     */
+    private static final long               serialVersionUID = -8154409245683911275L;
+
+    /**
+     * The table names of queries whose tables cannot be known.
+     */
+    private static final Set<String>        ALL_TABLES       = Collections.singleton("*");
+
+    private final Map<Object, CachedResult> cache;
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxSize The maximum number of results kept in the cache, evicting
+     *            the least recently used ones first.
+     */
+    public ResultCacheListener(final int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+
+        this.cache = new LinkedHashMap<Object, CachedResult>(16, 0.75f, true) {
+
+            /**
+             * Generated UID
+             */
+            private static final long serialVersionUID = 2904839143425011725L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, CachedResult> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Remove all results that depend on a table from the cache.
+     */
+    public final void remove(Table<?> table) {
+        remove(Collections.singleton(name(table)));
+    }
+
+    /**
+     * Remove all results from the cache.
+     */
+    public final void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * The number of results in the cache.
+     */
+    public final int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // XXX: Cache access
+    // -------------------------------------------------------------------------
+
+    /**
+     * Look up the <code>ResultCacheListener</code> of a configuration, if any.
+     */
+    static final ResultCacheListener listener(Configuration configuration) {
+        for (ExecuteListenerProvider provider : configuration.executeListenerProviders()) {
+            ExecuteListener listener = provider.provide();
+
+            if (listener instanceof ResultCacheListener)
+                return (ResultCacheListener) listener;
+        }
+
+        return null;
+    }
+
+    static final Object key(String sql, List<Param<?>> bindValues) {
+        List<Object> result = new ArrayList<Object>(bindValues == null ? 1 : bindValues.size() + 1);
+        result.add(sql);
+
+        if (bindValues != null)
+            for (Param<?> param : bindValues)
+                result.add(param.getValue());
+
+        return result;
+    }
+
+    final CachedResult get(Configuration configuration, Object key) {
+        CachedResult entry;
+
+        synchronized (cache) {
+            entry = cache.get(key);
+
+            if (entry != null && System.nanoTime() - entry.expires > 0L) {
+                cache.remove(key);
+                return null;
+            }
+        }
+
+        if (entry != null && dirty(configuration, entry.tables))
+            return null;
+
+        return entry;
+    }
+
+    final void put(Configuration configuration, Object key, Query query, Result<?> result, long ttlNanos) {
+        Set<String> tables = tables(configuration, query);
+
+        if (dirty(configuration, tables))
+            return;
+
+        Object[][] rows = new Object[result.size()][];
+        for (int i = 0; i < rows.length; i++)
+            rows[i] = copy(result.get(i).intoArray());
+
+        CachedResult entry = new CachedResult(result.fields(), rows, tables, System.nanoTime() + ttlNanos);
+
+        synchronized (cache) {
+            cache.put(key, entry);
+        }
+    }
+
+    private final void remove(Set<String> tables) {
+        synchronized (cache) {
+            Iterator<CachedResult> it = cache.values().iterator();
+
+            while (it.hasNext())
+                if (intersects(it.next().tables, tables))
+                    it.remove();
+        }
+    }
+
+    private final void remove(Configuration configuration, Set<String> tables) {
+        remove(tables);
+
+        Set<String> dirty = dirtyTables(configuration);
+        if (dirty != null) {
+            synchronized (dirty) {
+                dirty.addAll(tables);
+            }
+        }
+    }
+
+    private final boolean dirty(Configuration configuration, Set<String> tables) {
+        Set<String> dirty = dirtyTables(configuration);
+
+        if (dirty != null) {
+            synchronized (dirty) {
+                return intersects(dirty, tables);
+            }
+        }
+
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final Set<String> dirtyTables(Configuration configuration) {
+        return (Set<String>) configuration.data(DATA_RESULT_CACHE_DIRTY_TABLES);
+    }
+
+    private static final boolean intersects(Set<String> s1, Set<String> s2) {
+        if (s1.contains("*") || s2.contains("*"))
+            return !s1.isEmpty() && !s2.isEmpty();
+
+        for (String s : s2)
+            if (s1.contains(s))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * The names of the tables referenced by a query.
+     * <p>
+     * Names are compared case insensitively and without qualification, which
+     * may invalidate too many entries, but never too few.
+     */
+    private static final Set<String> tables(Configuration configuration, Query query) {
+        TableCollector collector = new TableCollector(configuration);
+        collector.visit(query);
+        return collector.unknown ? ALL_TABLES : collector.tables;
+    }
+
+    private static final String name(Table<?> table) {
+        return table.getName().toUpperCase();
+    }
+
+    /**
+     * A deep copy of a row, such that mutable values like arrays,
+     * <code>byte[]</code>, dates or UDT records are never shared between the
+     * cache and the {@link Result} instances it produces.
+     */
+    static final Object[] copy(Object[] row) {
+        Object[] result = new Object[row.length];
+
+        for (int i = 0; i < row.length; i++)
+            result[i] = copy(row[i]);
+
+        return result;
+    }
+
+    /**
+     * A {@link ResultSet} serving a deep copy of cached or coalesced data.
+     * <p>
+     * The {@link MockResultSet} returns values unconverted through the
+     * converters of the fields the data was fetched with, such that any other
+     * query rendering the same SQL string can read it through its own fields.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    static final ResultSet resultSet(Configuration configuration, Field<?>[] fields, List<Object[]> rows) {
+        Result<Record> result = new ResultImpl<Record>(configuration, fields);
+
+        for (Object[] row : rows) {
+            RecordImpl record = new RecordImpl(fields);
+            System.arraycopy(copy(row), 0, record.values, 0, row.length);
+            result.add(record);
+        }
+
+        return new MockResultSet(result);
+    }
+
+    private static final Object copy(Object value) {
+        if (value == null)
+            return null;
+        else if (value instanceof byte[])
+            return ((byte[]) value).clone();
+        else if (value instanceof Object[])
+            return copy((Object[]) value);
+        else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object result = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, result, 0, length);
+            return result;
+        }
+        else if (value instanceof java.util.Date)
+            return ((java.util.Date) value).clone();
+        else if (value instanceof UDTRecord) {
+            UDTRecord<?> record = (UDTRecord<?>) value;
+            UDTRecord<?> result = record.getUDT().newRecord();
+            result.fromArray(copy(record.intoArray()));
+            return result;
+        }
+        else
+            return value;
+    }
+
+    // -------------------------------------------------------------------------
+    // XXX: ExecuteListener API
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void executeStart(ExecuteContext ctx) {
+        Set<String> tables = writtenTables(ctx);
+
+        if (tables != null) {
+            ctx.data(DATA_RESULT_CACHE_DIRTY_TABLES, tables);
+            remove(ctx.configuration(), tables);
+        }
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+
+        // Invalidate written tables again, as results may have been cached
+        // again concurrently, in between
+        @SuppressWarnings("unchecked")
+        Set<String> tables = (Set<String>) ctx.data(DATA_RESULT_CACHE_DIRTY_TABLES);
+
+        if (tables != null)
+            remove(ctx.configuration(), tables);
+    }
+
+    private final Set<String> writtenTables(ExecuteContext ctx) {
+        Query[] queries = ctx.batchQueries();
+
+        if (queries.length == 0)
+            return ctx.routine() != null ? ALL_TABLES : null;
+
+        Set<String> result = null;
+        for (Query query : queries) {
+            if (query instanceof ResultQuery && !(query instanceof AbstractDMLQuery))
+                continue;
+
+            Set<String> tables = tables(ctx.configuration(), query);
+            if (tables == ALL_TABLES)
+                return ALL_TABLES;
+
+            if (result == null)
+                result = new HashSet<String>();
+
+            result.addAll(tables);
+        }
+
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // XXX: TransactionListener API
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void beginStart(TransactionContext ctx) {}
+
+    @Override
+    public void beginEnd(TransactionContext ctx) {
+
+        // Nested transactions share the tables of their outermost transaction
+        if (dirtyTables(ctx.configuration()) == null)
+            ctx.configuration().data(DATA_RESULT_CACHE_DIRTY_TABLES, new HashSet<String>());
+    }
+
+    @Override
+    public void commitStart(TransactionContext ctx) {}
+
+    @Override
+    public void commitEnd(TransactionContext ctx) {
+        removeDirtyTables(ctx);
+    }
+
+    @Override
+    public void rollbackStart(TransactionContext ctx) {}
+
+    @Override
+    public void rollbackEnd(TransactionContext ctx) {
+        removeDirtyTables(ctx);
+    }
+
+    private final void removeDirtyTables(TransactionContext ctx) {
+        Set<String> dirty = dirtyTables(ctx.configuration());
+
+        if (dirty != null) {
+            synchronized (dirty) {
+                remove(dirty);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResultCacheListener [size=" + size() + "]";
+    }
+
+    /**
+     * A cached result.
+     */
+    static final class CachedResult {
+        final Field<?>[]  fields;
+        final Object[][]  rows;
+        final Set<String> tables;
+        final long        expires;
+
+        CachedResult(Field<?>[] fields, Object[][] rows, Set<String> tables, long expires) {
+            this.fields = fields;
+            this.rows = rows;
+            this.tables = tables;
+            this.expires = expires;
+        }
+    }
+
+    /**
+     * A stub {@link BindContext} that traverses a query and collects the names
+     * of all its tables, without rendering it.
+     */
+    private static final class TableCollector extends AbstractBindContext {
+        final Set<String> tables = new HashSet<String>();
+        boolean           unknown;
+
+        TableCollector(Configuration configuration) {
+            super(configuration, null);
+        }
+
+        @Override
+        protected final void bindInternal(QueryPartInternal internal) {
+            if (internal instanceof SQL) {
+                unknown = true;
+            }
+            else if (!(internal instanceof Param)) {
+                if (internal instanceof TableImpl)
+                    tables.add(name((Table<?>) internal));
+
+                // Aliased tables are collected along with their alias
+                super.bindInternal(internal);
+            }
+        }
+
+        @Override
+        protected final BindContext bindValue0(Object value, Field<?> field) {
+            return this;
+        }
+    }
+}
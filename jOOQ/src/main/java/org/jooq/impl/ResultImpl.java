@@ -53,7 +53,9 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.Spliterator;
 
 import org.jooq.Configuration;
 import org.jooq.Converter;
@@ -102,7 +104,7 @@ import org.jooq.tools.jdbc.MockResultSet;
  * @author Ivan Dugic
  */
 @SuppressWarnings({"rawtypes", "unchecked" })
-final class ResultImpl<R extends Record> extends AbstractCursor<R> implements Result<R> {
+final class ResultImpl<R extends Record> extends AbstractCursor<R> implements Result<R>, RandomAccess {
 
     /**
      * Generated UID
@@ -1703,6 +1705,18 @@ final class ResultImpl<R extends Record> extends AbstractCursor<R> implements Re
         return records.iterator();
     }
 
+
+    /**
+     * The default {@link List#spliterator()} splits off batches from an
+     * iterator. Splitting the backing list by index range is what allows for
+     * parallel streams to scale.
+     */
+    @Override
+    public final Spliterator<R> spliterator() {
+        return records.spliterator();
+    }
+
+
     @Override
     public final ListIterator<R> listIterator() {
         return records.listIterator();
@@ -55,9 +55,14 @@ import static org.jooq.SQLDialect.SQLITE;
 // ...
 // ...
 // ...
+import static org.jooq.impl.DSL.exists;
 import static org.jooq.impl.DSL.falseCondition;
+import static org.jooq.impl.DSL.row;
+import static org.jooq.impl.DSL.selectOne;
 import static org.jooq.impl.DSL.trueCondition;
+import static org.jooq.impl.DSL.values;
 import static org.jooq.impl.InCondition.padded;
+import static org.jooq.tools.StringUtils.defaultIfNull;
 
 import java.util.ArrayList;
 import java.util.EnumSet;
@@ -68,9 +73,12 @@ import org.jooq.Comparator;
 import org.jooq.Condition;
 import org.jooq.Configuration;
 import org.jooq.Context;
+import org.jooq.Field;
 import org.jooq.QueryPartInternal;
 import org.jooq.Row;
+import org.jooq.RowN;
 import org.jooq.SQLDialect;
+import org.jooq.Table;
 
 /**
  * @author Lukas Eder
@@ -109,6 +117,9 @@ final class RowInCondition extends AbstractCondition {
 
     private final QueryPartInternal delegate(Configuration configuration) {
         if (EMULATE_IN.contains(configuration.family())) {
+            if (comparator == IN && emulateWithValues(configuration))
+                return (QueryPartInternal) existsInValues();
+
             List<Condition> conditions = new ArrayList<Condition>(right.size());
 
             for (Row row : right)
@@ -126,6 +137,44 @@ final class RowInCondition extends AbstractCondition {
         }
     }
 
+    /**
+     * Whether the emulation should use a <code>VALUES</code> derived table
+     * rather than an <code>OR</code> chain.
+     */
+    private final boolean emulateWithValues(Configuration configuration) {
+        int threshold = defaultIfNull(configuration.settings().getRowInListEmulationThreshold(), 100);
+        return threshold > 0 && right.size() >= threshold;
+    }
+
+    /**
+     * An <code>EXISTS</code> predicate correlating the left row with a
+     * <code>VALUES</code> derived table containing the right rows.
+     */
+    private final Condition existsInValues() {
+        Field<?>[] fields = left.fields();
+        String[] names = new String[fields.length];
+        RowN[] rows = new RowN[right.size()];
+
+        for (int i = 0; i < names.length; i++)
+            names[i] = "v" + (i + 1);
+
+        for (int i = 0; i < rows.length; i++)
+            rows[i] = row(right.get(i).fields());
+
+        Table<?> table = values(rows).as("in_values", names);
+        List<Condition> conditions = new ArrayList<Condition>(fields.length);
+
+        for (int i = 0; i < fields.length; i++)
+            conditions.add(compare(fields[i], table.field(i)));
+
+        return exists(selectOne().from(table).where(conditions));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final Condition compare(Field left, Field right) {
+        return left.eq(right);
+    }
+
     private class Native extends AbstractCondition {
 
         /**
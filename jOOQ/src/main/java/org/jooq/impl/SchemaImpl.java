@@ -124,8 +124,14 @@ public class SchemaImpl extends AbstractNamed implements Schema {
         return CLAUSES;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Subclasses may override this method to look up a table without
+     * initialising all the schema's tables through {@link #getTables()}.
+     */
     @Override
-    public final Table<?> getTable(String tableName) {
+    public Table<?> getTable(String tableName) {
         for (Table<?> table : getTables())
             if (table.getName().equals(tableName))
                 return table;
@@ -54,6 +54,7 @@ import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collector;
@@ -2526,6 +2527,11 @@ final class SelectImpl<R extends Record, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10
         return getDelegate().fetchSize(rows);
     }
 
+    @Override
+    public final ResultQuery<R> cacheable(long ttl, TimeUnit unit) {
+        return getDelegate().cacheable(ttl, unit);
+    }
+
     @Override
     public final ResultQuery<R> resultSetConcurrency(int resultSetConcurrency) {
         return getDelegate().resultSetConcurrency(resultSetConcurrency);
@@ -293,6 +293,61 @@ final class SelectQueryImpl<R extends Record> extends AbstractResultQuery<R> imp
             this.from.add(from.asTable());
     }
 
+    /**
+     * A copy of this query, whose clauses can be modified without affecting
+     * this query.
+     * <p>
+     * The copy shares this query's {@link Configuration} and the query parts
+     * contained in its clauses, but no execution state, such as a statement
+     * kept open by {@link #keepStatement(boolean)}.
+     */
+    final SelectQueryImpl<R> copy() {
+        SelectQueryImpl<R> result = new SelectQueryImpl<R>(configuration(), with, distinct);
+
+        result.select.addAll(select);
+        result.into = into;
+        result.hint = hint;
+        result.option = option;
+        result.distinctOn = distinctOn == null ? null : new QueryPartList<SelectFieldOrAsterisk>(distinctOn);
+        result.forUpdateOf = forUpdateOf == null ? null : new QueryPartList<Field<?>>(forUpdateOf);
+        result.forUpdateOfTables = forUpdateOfTables == null ? null : new TableList(forUpdateOfTables);
+        result.forUpdateLockMode = forUpdateLockMode;
+        result.forUpdateWaitMode = forUpdateWaitMode;
+        result.forUpdateWait = forUpdateWait;
+        result.from.addAll(from);
+        result.condition.addConditions(condition.getWhere());
+        result.connectBy.addConditions(connectBy.getWhere());
+        result.connectByNoCycle = connectByNoCycle;
+        result.connectByStartWith.addConditions(connectByStartWith.getWhere());
+        result.grouping = grouping;
+        result.groupBy = groupBy == null ? null : new QueryPartList<GroupField>(groupBy);
+        result.having.addConditions(having.getWhere());
+
+        if (window != null) {
+            result.window = new WindowList();
+            result.window.addAll(window);
+        }
+
+        result.orderBy.addAll(orderBy);
+        result.orderBySiblings = orderBySiblings;
+        result.seek.addAll(seek);
+        result.seekBefore = seekBefore;
+        result.limit.setFrom(limit);
+
+        for (int i = 0; i < union.size(); i++) {
+            result.unionOp.add(unionOp.get(i));
+            result.union.add(new QueryPartList<Select<?>>(union.get(i)));
+        }
+
+        result.unionOrderBy.addAll(unionOrderBy);
+        result.unionOrderBySiblings = unionOrderBySiblings;
+        result.unionSeek.addAll(unionSeek);
+        result.unionSeekBefore = unionSeekBefore;
+        result.unionLimit.setFrom(unionLimit);
+
+        return result;
+    }
+
     @Override
     public final int fetchCount() throws DataAccessException {
         return DSL.using(configuration()).fetchCount(this);
@@ -1940,6 +1995,15 @@ final class SelectQueryImpl<R extends Record> extends AbstractResultQuery<R> imp
         this.forUpdateWait = 0;
     }
 
+    /**
+     * Whether this query's own clauses neither write nor lock data, i.e.
+     * whether it has no <code>SELECT .. INTO</code> and no
+     * <code>FOR UPDATE</code> or <code>FOR SHARE</code> clause.
+     */
+    final boolean isReadOnly() {
+        return into == null && forUpdateLockMode == null;
+    }
+
 
 
 
@@ -2111,6 +2175,22 @@ final class SelectQueryImpl<R extends Record> extends AbstractResultQuery<R> imp
         return connectByStartWith;
     }
 
+    final QueryPartList<GroupField> getGroupBy() {
+        return groupBy;
+    }
+
+    final boolean isGrouping() {
+        return grouping;
+    }
+
+    final boolean isDistinct() {
+        return distinct || (distinctOn != null && !distinctOn.isEmpty());
+    }
+
+    final boolean hasUnions() {
+        return !unionOp.isEmpty();
+    }
+
     final ConditionProviderImpl getHaving() {
         return having;
     }
@@ -0,0 +1,706 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import static org.jooq.SortOrder.DESC;
+import static org.jooq.impl.Tools.EMPTY_FIELD;
+import static org.jooq.impl.Tools.blocking;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.jooq.BindContext;
+import org.jooq.Condition;
+import org.jooq.Configuration;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Name;
+import org.jooq.Operator;
+import org.jooq.Param;
+import org.jooq.QueryPart;
+import org.jooq.QueryPartInternal;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.Select;
+import org.jooq.SortField;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+
+/**
+ * A facade for executing queries on a set of horizontally partitioned
+ * databases ("shards"), each of which is accessed through its own
+ * {@link DSLContext}.
+ * <p>
+ * Rows are distributed over shards by a set of shard key columns. By default,
+ * a shard key value is mapped to the shard at index
+ * <code>hash(value) mod shards</code>, which can be changed by overriding
+ * {@link #shardIndex(Object)}.
+ * <p>
+ * {@link #fetch(Select)} inspects the <code>WHERE</code> clause of a
+ * {@link Select} for predicates of the form <code>key = value</code> or
+ * <code>key IN (value1, value2, ...)</code> on one of the shard key columns,
+ * including such predicates connected by <code>AND</code> or <code>OR</code>.
+ * A column is recognised as a shard key column if it is the same
+ * {@link Field} instance or has the same qualified name. Unqualified column
+ * references are recognised only if the query selects from a single table,
+ * which is the shard key column's table, if the latter is qualified. All
+ * other predicates, e.g. on aliased tables or on joined tables' columns,
+ * don't restrict the queried shards. If all qualifying rows live
+ * on a single shard, the query is executed only there. Otherwise, the query is
+ * executed on all relevant shards in parallel, using the first shard's
+ * {@link Configuration#executorProvider()}, and the results are merged in
+ * memory:
+ * <ul>
+ * <li>Results are concatenated, or merged by a k-way merge if the query has an
+ * <code>ORDER BY</code> clause on projected columns.</li>
+ * <li><code>LIMIT</code> and <code>OFFSET</code> are widened to
+ * <code>LIMIT offset + limit</code> on each shard, and re-applied to the
+ * merged result.</li>
+ * <li>Queries with <code>GROUP BY</code> or aggregate functions are executed
+ * without <code>LIMIT</code> and <code>OFFSET</code> on each shard, and the
+ * decomposable aggregate functions <code>COUNT</code>, <code>SUM</code>,
+ * <code>MIN</code> and <code>MAX</code> are re-aggregated per group. The
+ * merged groups are then sorted and limited in memory.</li>
+ * <li><code>DISTINCT</code> results are made distinct again after
+ * merging.</li>
+ * </ul>
+ * <p>
+ * Queries that cannot be merged this way, such as queries with set
+ * operations, <code>HAVING</code> clauses, window functions, or
+ * non-decomposable aggregate functions like <code>AVG</code> or
+ * <code>COUNT(DISTINCT ..)</code>, or aggregate functions nested in other
+ * expressions like <code>SUM(x) + 1</code>, are rejected with a
+ * {@link DataAccessException} when they need to be executed on more than one
+ * shard. In-memory sorting uses {@link Comparable} and sorts
+ * <code>NULL</code> values last in ascending order unless specified
+ * otherwise, which may differ from a database's collation or default
+ * <code>NULL</code> ordering.
+ */
+public class ShardedDSLContext {
+
+    private static final int         NONE                = 0;
+    private static final int         SUM                 = 1;
+    private static final int         MIN                 = 2;
+    private static final int         MAX                 = 3;
+
+    private static final Set<String> NON_DECOMPOSABLE    = new HashSet<String>(Arrays.asList(
+        "avg", "median", "mode", "stddev_pop", "stddev_samp", "var_pop", "var_samp",
+        "array_agg", "listagg", "group_concat", "string_agg", "every", "bool_and", "bool_or",
+        "percentile_cont", "percentile_disc", "cume_dist", "percent_rank", "rank", "dense_rank",
+        "product", "bit_and", "bit_or", "bit_xor", "corr", "covar_pop", "covar_samp"
+    ));
+    private static final Set<String> DECOMPOSABLE        = new HashSet<String>(Arrays.asList(
+        "count", "sum", "min", "max"
+    ));
+
+    private final List<DSLContext>   shards;
+    private final Field<?>[]         shardKeys;
+
+    /**
+     * Create a new facade.
+     *
+     * @param shards The shards, the order of which determines the shard
+     *            indexes.
+     * @param shardKeys The shard key columns.
+     */
+    public ShardedDSLContext(List<? extends DSLContext> shards, Field<?>... shardKeys) {
+        if (shards.isEmpty())
+            throw new IllegalArgumentException("At least one shard is required");
+
+        this.shards = Collections.unmodifiableList(new ArrayList<DSLContext>(shards));
+        this.shardKeys = shardKeys.clone();
+    }
+
+    /**
+     * The shards.
+     */
+    public final List<DSLContext> shards() {
+        return shards;
+    }
+
+    /**
+     * The shard containing the rows for a shard key value.
+     */
+    public final DSLContext shard(Object shardKey) {
+        return shards.get(shardIndex(shardKey));
+    }
+
+    /**
+     * Execute a query on all shards that may contain qualifying rows, and
+     * merge the results.
+     *
+     * @throws DataAccessException if something went wrong executing the
+     *             query, or if the results cannot be merged.
+     */
+    public <R extends Record> Result<R> fetch(Select<R> select) {
+        Set<Integer> indexes = shardIndexes(select);
+
+        if (indexes == null)
+            return fetch(select, shards);
+        else if (indexes.size() == 1)
+            return shards.get(indexes.iterator().next()).fetch(select);
+
+        List<DSLContext> targets = new ArrayList<DSLContext>(indexes.size());
+        for (Integer index : indexes)
+            targets.add(shards.get(index));
+
+        return fetch(select, targets);
+    }
+
+    /**
+     * Map a shard key value to a shard index.
+     * <p>
+     * Integral numbers are hashed by their <code>long</code> value, such that
+     * e.g. <code>Integer</code> and <code>Long</code> values map to the same
+     * shard. Override this method to implement custom distributions, such as
+     * range based partitioning.
+     */
+    protected int shardIndex(Object shardKey) {
+        int hash;
+
+        if (shardKey instanceof Long || shardKey instanceof Integer || shardKey instanceof Short || shardKey instanceof Byte)
+            hash = Long.hashCode(((Number) shardKey).longValue());
+        else
+            hash = shardKey == null ? 0 : shardKey.hashCode();
+
+        return Math.floorMod(hash, shards.size());
+    }
+
+    /**
+     * The indexes of the shards that may contain rows qualifying for a query,
+     * or <code>null</code> if this cannot be determined and all shards need to
+     * be queried.
+     */
+    protected Set<Integer> shardIndexes(Select<?> select) {
+        SelectQueryImpl<?> query = query(select);
+        if (query == null || shardKeys.length == 0)
+            return null;
+
+        // Unqualified column references are unambiguous only with a single table
+        List<Table<?>> from = query.getFrom();
+        Table<?> table = from.size() == 1 && !(from.get(0) instanceof JoinTable) ? from.get(0) : null;
+
+        Set<Object> keys = shardKeyValues(table, query.getWhere().getWhere());
+        if (keys == null || keys.isEmpty())
+            return null;
+
+        Set<Integer> result = new TreeSet<Integer>();
+        for (Object key : keys)
+            result.add(shardIndex(key));
+
+        return result;
+    }
+
+    /**
+     * The shard key values that a condition restricts results to, or
+     * <code>null</code> if the condition doesn't restrict shard keys.
+     */
+    private final Set<Object> shardKeyValues(Table<?> table, Condition condition) {
+        if (condition instanceof CombinedCondition) {
+            CombinedCondition c = (CombinedCondition) condition;
+            Set<Object> result = null;
+
+            for (Condition part : c.getConditions()) {
+                Set<Object> keys = shardKeyValues(table, part);
+
+                if (c.getOperator() == Operator.AND) {
+                    if (keys == null)
+                        continue;
+                    else if (result == null)
+                        result = keys;
+                    else
+                        result.retainAll(keys);
+                }
+                else {
+                    if (keys == null)
+                        return null;
+                    else if (result == null)
+                        result = keys;
+                    else
+                        result.addAll(keys);
+                }
+            }
+
+            return result;
+        }
+        else if (condition instanceof CompareCondition) {
+            CompareCondition c = (CompareCondition) condition;
+
+            if (c.getComparator() == org.jooq.Comparator.EQUALS) {
+                if (isShardKey(table, c.getField1()) && c.getField2() instanceof Param)
+                    return new LinkedHashSet<Object>(Collections.singleton(((Param<?>) c.getField2()).getValue()));
+                else if (isShardKey(table, c.getField2()) && c.getField1() instanceof Param)
+                    return new LinkedHashSet<Object>(Collections.singleton(((Param<?>) c.getField1()).getValue()));
+            }
+        }
+        else if (condition instanceof InCondition) {
+            InCondition<?> c = (InCondition<?>) condition;
+
+            if (c.getComparator() == org.jooq.Comparator.IN && isShardKey(table, c.getField())) {
+                Set<Object> result = new LinkedHashSet<Object>();
+
+                for (Field<?> value : c.getValues())
+                    if (value instanceof Param)
+                        result.add(((Param<?>) value).getValue());
+                    else
+                        return null;
+
+                return result;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Whether a column reference unambiguously references a shard key column.
+     *
+     * @param table The single table the query selects from, or
+     *            <code>null</code> if there are several tables.
+     */
+    private final boolean isShardKey(Table<?> table, Field<?> field) {
+        Name name = field.getQualifiedName();
+
+        for (Field<?> key : shardKeys) {
+            Name keyName = key.getQualifiedName();
+
+            if (key == field || keyName.equals(name))
+                return true;
+
+            if (table != null && (!name.qualified() || !keyName.qualified())
+                    && keyName.unqualifiedName().equals(name.unqualifiedName())
+                    && (!name.qualified() || name.qualifier().equals(table.getQualifiedName()))
+                    && (!keyName.qualified() || keyName.qualifier().equals(table.getQualifiedName())))
+                return true;
+        }
+
+        return false;
+    }
+
+    // -------------------------------------------------------------------------
+    // XXX: Scatter-gather execution
+    // -------------------------------------------------------------------------
+
+    private final <R extends Record> Result<R> fetch(Select<R> select, final List<DSLContext> targets) {
+        SelectQueryImpl<R> query = query(select);
+        if (query != null && query.hasUnions())
+            throw new DataAccessException("Cannot merge set operations across shards: " + select);
+
+        final Field<?>[] fields = select.getSelect().toArray(EMPTY_FIELD);
+        int[] aggregates = new int[fields.length];
+        boolean grouped = query != null && query.isGrouping();
+
+        for (int i = 0; i < fields.length; i++)
+            grouped |= (aggregates[i] = aggregate(targets.get(0).configuration(), fields[i])) != NONE;
+
+        if (grouped && query != null && query.getHaving().hasWhere())
+            throw new DataAccessException("Cannot merge HAVING clauses across shards: " + select);
+
+        // Render all shard queries upfront, from a copy with a wider LIMIT and no OFFSET
+        final String[] sql = new String[targets.size()];
+        final Object[][] bindValues = new Object[targets.size()][];
+        long offset = 0L;
+        Long limit = null;
+
+        Select<R> rendered = select;
+        Limit l = query == null ? null : query.getLimit();
+
+        if (l != null && l.isApplicable()) {
+            Long o = l.getOffsetValue();
+            limit = l.getNumberOfRowsValue();
+
+            if (l.withTies() || (!l.offsetZero() && o == null) || (!l.limitZero() && limit == null))
+                throw new DataAccessException("Cannot merge LIMIT clauses across shards: " + select);
+
+            offset = o == null ? 0L : o;
+
+            SelectQueryImpl<R> copy = query.copy();
+            copy.getLimit().setFrom(new Limit());
+
+            if (!grouped && limit != null)
+                copy.getLimit().setNumberOfRows(offset + limit);
+
+            rendered = copy;
+        }
+
+        for (int i = 0; i < sql.length; i++) {
+            sql[i] = targets.get(i).render(rendered);
+            bindValues[i] = targets.get(i).extractBindValues(rendered).toArray();
+        }
+
+        Executor executor = targets.get(0).configuration().executorProvider().provide();
+        List<CompletableFuture<Result<Record>>> futures = new ArrayList<CompletableFuture<Result<Record>>>(sql.length);
+
+        for (int i = 0; i < sql.length; i++) {
+            final int shard = i;
+            futures.add(CompletableFuture.supplyAsync(blocking(() -> fetch(targets.get(shard), sql[shard], bindValues[shard], fields)), executor));
+        }
+
+        List<Result<Record>> parts = new ArrayList<Result<Record>>(sql.length);
+        for (CompletableFuture<Result<Record>> future : futures) {
+            try {
+                parts.add(future.join());
+            }
+            catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                else
+                    throw new DataAccessException("Error executing query on shard", e.getCause());
+            }
+        }
+
+        return merge(query, select.getRecordType(), fields.length > 0 ? fields : parts.get(0).fields(), aggregates, grouped, offset, limit, targets, parts);
+    }
+
+    private static final Result<Record> fetch(DSLContext shard, String sql, Object[] bindValues, Field<?>[] fields) {
+        try (Cursor<Record> cursor = shard.resultQuery(sql, bindValues).fetchLazy()) {
+
+            // Read values through the projection's data types and bindings
+            return fields.length == 0 ? cursor.fetch() : shard.fetch(cursor.resultSet(), fields);
+        }
+    }
+
+    private final <R extends Record> Result<R> merge(
+        SelectQueryImpl<R> query,
+        Class<? extends R> type,
+        Field<?>[] fields,
+        int[] aggregates,
+        boolean grouped,
+        long offset,
+        Long limit,
+        List<DSLContext> targets,
+        List<Result<Record>> parts
+    ) {
+        Comparator<Record> comparator = query == null ? null : comparator(query, fields);
+        List<R> records = new ArrayList<R>();
+
+        if (grouped) {
+            Map<List<Object>, Object[]> groups = new LinkedHashMap<List<Object>, Object[]>();
+
+            for (Result<Record> part : parts) {
+                for (Record record : part) {
+                    Object[] values = record.intoArray();
+                    List<Object> key = new ArrayList<Object>();
+
+                    for (int i = 0; i < aggregates.length; i++)
+                        if (aggregates[i] == NONE)
+                            key.add(values[i]);
+
+                    Object[] group = groups.get(key);
+                    if (group == null)
+                        groups.put(key, values);
+                    else
+                        for (int i = 0; i < aggregates.length; i++)
+                            if (aggregates[i] != NONE)
+                                group[i] = combine(fields[i], aggregates[i], group[i], values[i]);
+                }
+            }
+
+            for (Object[] group : groups.values())
+                records.add(record(type, fields, targets.get(0).configuration(), group));
+
+            if (comparator != null)
+                Collections.sort(records, comparator);
+        }
+        else {
+
+            // Keep records attached to the shard they were fetched from
+            List<List<R>> sorted = new ArrayList<List<R>>(parts.size());
+            for (int i = 0; i < parts.size(); i++) {
+                List<R> list = new ArrayList<R>(parts.get(i).size());
+
+                for (Record record : parts.get(i))
+                    list.add(record(type, fields, targets.get(i).configuration(), record.intoArray()));
+
+                sorted.add(list);
+            }
+
+            if (comparator == null)
+                for (List<R> list : sorted)
+                    records.addAll(list);
+            else
+                mergeSorted(sorted, comparator, records);
+        }
+
+        ResultImpl<R> result = new ResultImpl<R>(targets.get(0).configuration(), fields);
+        Set<List<Object>> distinct = query != null && query.isDistinct() ? new HashSet<List<Object>>() : null;
+        long skip = offset;
+
+        for (R record : records) {
+            if (limit != null && result.size() >= limit)
+                break;
+            if (distinct != null && !distinct.add(Arrays.asList(record.intoArray())))
+                continue;
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+
+            result.add(record);
+        }
+
+        return result;
+    }
+
+    /**
+     * A k-way merge of individually sorted lists.
+     */
+    private static final <R extends Record> void mergeSorted(final List<List<R>> lists, final Comparator<Record> comparator, List<R> result) {
+        PriorityQueue<int[]> queue = new PriorityQueue<int[]>(lists.size(), new Comparator<int[]>() {
+            @Override
+            public int compare(int[] o1, int[] o2) {
+                int c = comparator.compare(lists.get(o1[0]).get(o1[1]), lists.get(o2[0]).get(o2[1]));
+
+                // Keep the merge stable with respect to the shard order
+                return c != 0 ? c : o1[0] - o2[0];
+            }
+        });
+
+        for (int i = 0; i < lists.size(); i++)
+            if (!lists.get(i).isEmpty())
+                queue.add(new int[] { i, 0 });
+
+        while (!queue.isEmpty()) {
+            int[] head = queue.poll();
+            List<R> list = lists.get(head[0]);
+            result.add(list.get(head[1]));
+
+            if (++head[1] < list.size())
+                queue.add(head);
+        }
+    }
+
+    private static final Comparator<Record> comparator(SelectQueryImpl<?> query, Field<?>[] fields) {
+        List<SortField<?>> orderBy = query.getOrderBy();
+        if (orderBy.isEmpty())
+            return null;
+
+        final int[] indexes = new int[orderBy.size()];
+        final boolean[] descending = new boolean[indexes.length];
+        final boolean[] nullsFirst = new boolean[indexes.length];
+
+        for (int i = 0; i < indexes.length; i++) {
+            SortField<?> s = orderBy.get(i);
+            Field<?> field = s instanceof SortFieldImpl ? ((SortFieldImpl<?>) s).getField() : null;
+
+            indexes[i] = field == null ? -1 : indexOf(fields, field);
+            if (indexes[i] < 0)
+                throw new DataAccessException("Cannot merge ORDER BY " + s + " across shards, as it is not projected");
+
+            descending[i] = s.getOrder() == DESC;
+            nullsFirst[i] = ((SortFieldImpl<?>) s).getNullsFirst() || (!((SortFieldImpl<?>) s).getNullsLast() && descending[i]);
+        }
+
+        return new Comparator<Record>() {
+            @SuppressWarnings({ "rawtypes", "unchecked" })
+            @Override
+            public int compare(Record r1, Record r2) {
+                for (int i = 0; i < indexes.length; i++) {
+                    Object v1 = r1.get(indexes[i]);
+                    Object v2 = r2.get(indexes[i]);
+                    int c;
+
+                    if (v1 == null && v2 == null)
+                        continue;
+                    else if (v1 == null)
+                        return nullsFirst[i] ? -1 : 1;
+                    else if (v2 == null)
+                        return nullsFirst[i] ? 1 : -1;
+                    else if ((c = ((Comparable) v1).compareTo(v2)) != 0)
+                        return descending[i] ? -c : c;
+                }
+
+                return 0;
+            }
+        };
+    }
+
+    private static final int indexOf(Field<?>[] fields, Field<?> field) {
+        for (int i = 0; i < fields.length; i++)
+            if (fields[i].equals(field) || unalias(fields[i]).equals(field))
+                return i;
+
+        for (int i = 0; i < fields.length; i++)
+            if (fields[i].getName().equals(field.getName()))
+                return i;
+
+        return -1;
+    }
+
+    private static final Field<?> unalias(Field<?> field) {
+        return field instanceof FieldAlias ? ((FieldAlias<?>) field).getAliasedField() : field;
+    }
+
+    /**
+     * The re-aggregation that is needed for a projected column.
+     * <p>
+     * Only bare <code>COUNT</code>, <code>SUM</code>, <code>MIN</code> and
+     * <code>MAX</code> aggregate functions can be re-aggregated. Aggregate
+     * functions nested in other expressions, such as
+     * <code>SUM(x) + 1</code> or <code>COALESCE(MAX(x), 0)</code>, cannot.
+     */
+    private static final int aggregate(Configuration configuration, Field<?> field) {
+        field = unalias(field);
+
+        if (field instanceof Function && isAggregate(field)) {
+            Function<?> function = (Function<?>) field;
+            String name = function.getName().toLowerCase();
+
+            if (function.isWindow())
+                throw new DataAccessException("Cannot merge window functions across shards: " + field);
+            else if (NON_DECOMPOSABLE.contains(name))
+                throw new DataAccessException("Cannot merge non-decomposable aggregate functions across shards: " + field);
+            else if ("min".equals(name))
+                return MIN;
+            else if ("max".equals(name))
+                return MAX;
+            else if (function.isDistinct())
+                throw new DataAccessException("Cannot merge non-decomposable aggregate functions across shards: " + field);
+            else
+                return SUM;
+        }
+
+        AggregateFinder finder = new AggregateFinder(configuration);
+        finder.visit(field);
+
+        if (finder.aggregate != null)
+            throw new DataAccessException("Cannot merge aggregate or window function " + finder.aggregate + " nested in expression across shards: " + field);
+
+        return NONE;
+    }
+
+    /**
+     * Whether a query part is an aggregate or window function.
+     * <p>
+     * Built-in aggregate functions and plain SQL functions share the same
+     * implementation, so aggregate functions are recognised by name.
+     */
+    private static final boolean isAggregate(QueryPart part) {
+        if (part instanceof Function) {
+            Function<?> function = (Function<?>) part;
+            String name = function.getName().toLowerCase();
+
+            return function.isWindow() || DECOMPOSABLE.contains(name) || NON_DECOMPOSABLE.contains(name);
+        }
+
+        return part instanceof GroupConcat;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final Object combine(Field<?> field, int aggregate, Object v1, Object v2) {
+        if (v1 == null)
+            return v2;
+        else if (v2 == null)
+            return v1;
+
+        switch (aggregate) {
+            case SUM:
+                return field.getDataType().convert(new BigDecimal(v1.toString()).add(new BigDecimal(v2.toString())));
+            case MIN:
+                return ((Comparable) v1).compareTo(v2) <= 0 ? v1 : v2;
+            case MAX:
+                return ((Comparable) v1).compareTo(v2) >= 0 ? v1 : v2;
+            default:
+                return v1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final <R extends Record> R record(Class<? extends R> type, Field<?>[] fields, Configuration configuration, final Object[] values) {
+        return (R) Tools.newRecord(true, (Class<AbstractRecord>) type, fields, configuration)
+                        .operate(new RecordOperation<AbstractRecord, RuntimeException>() {
+            @Override
+            public AbstractRecord operate(AbstractRecord record) {
+                System.arraycopy(values, 0, record.values, 0, values.length);
+                return record;
+            }
+        });
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final <R extends Record> SelectQueryImpl<R> query(Select<R> select) {
+        if (select instanceof SelectQueryImpl)
+            return (SelectQueryImpl<R>) select;
+        else if (select instanceof SelectImpl && ((SelectImpl) select).getDelegate() instanceof SelectQueryImpl)
+            return (SelectQueryImpl<R>) ((SelectImpl) select).getDelegate();
+        else
+            return null;
+    }
+
+    /**
+     * A stub {@link BindContext} that traverses an expression to find the
+     * first nested aggregate or window function, without rendering it.
+     */
+    private static final class AggregateFinder extends AbstractBindContext {
+        QueryPart aggregate;
+
+        AggregateFinder(Configuration configuration) {
+            super(configuration, null);
+        }
+
+        @Override
+        protected final void bindInternal(QueryPartInternal internal) {
+            if (aggregate != null)
+                return;
+            else if (isAggregate(internal))
+                aggregate = internal;
+            else if (!(internal instanceof Param))
+                super.bindInternal(internal);
+        }
+
+        @Override
+        protected final BindContext bindValue0(Object value, Field<?> field) {
+            return this;
+        }
+    }
+}
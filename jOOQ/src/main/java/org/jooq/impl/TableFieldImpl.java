@@ -60,10 +60,11 @@ import org.jooq.tools.StringUtils;
  */
 final class TableFieldImpl<R extends Record, T> extends AbstractField<T> implements TableField<R, T> {
 
-    private static final long     serialVersionUID = -2211214195583539735L;
-    private static final Clause[] CLAUSES          = { FIELD, FIELD_REFERENCE };
+    private static final long             serialVersionUID = -2211214195583539735L;
+    private static final Clause[]         CLAUSES          = { FIELD, FIELD_REFERENCE };
 
-    private final Table<R>        table;
+    private final Table<R>                table;
+    private transient volatile RenderMemo memo;
 
     TableFieldImpl(Name name, DataType<T> type, Table<R> table, Comment comment, Binding<?, T> binding) {
         super(qualify(table, name), type, comment, binding);
@@ -87,6 +88,13 @@ final class TableFieldImpl<R extends Record, T> extends AbstractField<T> impleme
 
     @Override
     public final void accept(Context<?> ctx) {
+
+        // Implicit join paths register themselves with the rendering scope
+        boolean memoizable = table == null || table instanceof TableImpl && ((TableImpl<?>) table).child == null;
+        if (memoizable && RenderMemo.replay(ctx, memo))
+            return;
+
+        int start = memoizable ? RenderMemo.start(ctx) : -1;
         ctx.data(DATA_OMIT_CLAUSE_EVENT_EMISSION, true);
 
         if (ctx.qualify()) {
@@ -96,6 +104,7 @@ final class TableFieldImpl<R extends Record, T> extends AbstractField<T> impleme
 
         ctx.visit(getUnqualifiedName());
         ctx.data(DATA_OMIT_CLAUSE_EVENT_EMISSION, null);
+        memo = RenderMemo.end(ctx, start, memo);
     }
 
     // ------------------------------------------------------------------------
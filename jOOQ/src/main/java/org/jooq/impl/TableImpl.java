@@ -83,6 +83,7 @@ public class TableImpl<R extends Record> extends AbstractTable<R> {
     protected final Field<?>[]               parameters;
     final Table<?>                           child;
     final ForeignKey<?, R>                   childPath;
+    private transient volatile RenderMemo    memo;
 
     /**
      * @deprecated - 3.10 - [#5996] - Use {@link #TableImpl(Name)} instead (or
@@ -237,6 +238,16 @@ public class TableImpl<R extends Record> extends AbstractTable<R> {
         if (ctx.declareTables())
             ctx.scopeMarkStart(this);
 
+        // Generated tables render the same identifier over and over again
+        if (parameters == null && RenderMemo.replay(ctx, memo)) {
+            if (ctx.declareTables())
+                ctx.scopeMarkEnd(this);
+
+            return;
+        }
+
+        int start = parameters == null ? RenderMemo.start(ctx) : -1;
+
         if (ctx.qualify() &&
                 (!NO_SUPPORT_QUALIFIED_TVF_CALLS.contains(ctx.family()) || parameters == null || ctx.declareTables())) {
             Schema mappedSchema = Tools.getMappedSchema(ctx.configuration(), getSchema());
@@ -248,6 +259,7 @@ public class TableImpl<R extends Record> extends AbstractTable<R> {
         }
 
         ctx.visit(Tools.getMappedTable(ctx.configuration(), this).getUnqualifiedName());
+        memo = RenderMemo.end(ctx, start, memo);
 
         if (parameters != null && ctx.declareTables()) {
 
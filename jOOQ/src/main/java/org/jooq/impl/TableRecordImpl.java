@@ -275,7 +275,7 @@ public class TableRecordImpl<R extends TableRecord<R>> extends AbstractRecord im
 
             values[fieldIndex] = value;
             originals[fieldIndex] = value;
-            changed.clear(fieldIndex);
+            changed0(fieldIndex, false);
         }
         if (timestamp != null) {
             TableField<R, ?> field = getTable().getRecordTimestamp();
@@ -284,7 +284,7 @@ public class TableRecordImpl<R extends TableRecord<R>> extends AbstractRecord im
 
             values[fieldIndex] = value;
             originals[fieldIndex] = value;
-            changed.clear(fieldIndex);
+            changed0(fieldIndex, false);
         }
     }
 
@@ -46,6 +46,7 @@ import java.util.Deque;
 
 import org.jooq.Configuration;
 import org.jooq.ConnectionProvider;
+import org.jooq.ExecuteContext;
 import org.jooq.TransactionContext;
 import org.jooq.TransactionProvider;
 
@@ -144,6 +145,16 @@ public class ThreadLocalTransactionProvider implements TransactionProvider {
                 return local;
         }
 
+        @Override
+        public final Connection acquire(ExecuteContext ctx) {
+            Connection local = localTxConnection.get();
+
+            if (local == null)
+                return delegateConnectionProvider.acquire(ctx);
+            else
+                return local;
+        }
+
         @Override
         public final void release(Connection connection) {
             Connection local = localTxConnection.get();
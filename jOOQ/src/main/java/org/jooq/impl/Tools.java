@@ -201,6 +201,7 @@ import org.jooq.Context;
 import org.jooq.Cursor;
 import org.jooq.DSLContext;
 import org.jooq.DataType;
+import org.jooq.EntityCache;
 import org.jooq.EnumType;
 import org.jooq.ExecuteContext;
 import org.jooq.ExecuteListener;
@@ -226,6 +227,7 @@ import org.jooq.Select;
 import org.jooq.SelectFieldOrAsterisk;
 import org.jooq.SortField;
 import org.jooq.Table;
+import org.jooq.TransactionProvider;
 import org.jooq.TableRecord;
 import org.jooq.UDT;
 import org.jooq.UDTRecord;
@@ -394,6 +396,19 @@ final class Tools {
          */
         DATA_DEFAULT_TRANSACTION_PROVIDER_CONNECTION,
 
+        /**
+         * The primary keys of records written in the current transaction,
+         * which must not be read from or written to an {@link EntityCache}.
+         */
+        DATA_ENTITY_CACHE_DIRTY_KEYS,
+
+        /**
+         * The names of tables written in the current transaction, whose
+         * dependent queries must not be read from or written to a
+         * {@link ResultCacheListener}.
+         */
+        DATA_RESULT_CACHE_DIRTY_TABLES,
+
         /**
          * [#2080] When emulating OFFSET pagination in certain databases, synthetic
          * aliases are generated that must be referenced also in
@@ -521,7 +536,8 @@ final class Tools {
 
     /**
      * [#2965] These are {@link ConcurrentHashMap}s containing caches for
-     * reflection information.
+     * reflection information, and other caches that are excluded from
+     * serialisation.
      * <p>
      * <code>new String()</code> is used to allow for synchronizing on these
      * objects.
@@ -534,7 +550,8 @@ final class Tools {
         DATA_REFLECTION_CACHE_GET_MATCHING_MEMBERS("org.jooq.configuration.reflection-cache.get-matching-members"),
         DATA_REFLECTION_CACHE_GET_MATCHING_SETTERS("org.jooq.configuration.reflection-cache.get-matching-setters"),
         DATA_REFLECTION_CACHE_HAS_COLUMN_ANNOTATIONS("org.jooq.configuration.reflection-cache.has-column-annotations"),
-        DATA_CACHE_RECORD_MAPPERS("org.jooq.configuration.cache.record-mappers");
+        DATA_CACHE_RECORD_MAPPERS("org.jooq.configuration.cache.record-mappers"),
+        DATA_CACHE_EXECUTE_LISTENERS("org.jooq.configuration.cache.execute-listeners");
 
         final String key;
 
@@ -886,6 +903,26 @@ final class Tools {
         return true;
     }
 
+    /**
+     * The connection of an ongoing transaction of a
+     * {@link DefaultTransactionProvider} or
+     * {@link ThreadLocalTransactionProvider} that a configuration takes part
+     * in, or <code>null</code> if there is no such transaction.
+     */
+    static final Connection transactionConnection(Configuration configuration) {
+        TransactionProvider tp = configuration.transactionProvider();
+
+        if (tp instanceof ThreadLocalTransactionProvider) {
+            Connection connection = ((ThreadLocalTransactionProvider) tp).localTxConnection.get();
+
+            if (connection != null)
+                return connection;
+        }
+
+        DefaultConnectionProvider transactional = (DefaultConnectionProvider) configuration.data(DataKey.DATA_DEFAULT_TRANSACTION_PROVIDER_CONNECTION);
+        return transactional != null ? transactional.connection : null;
+    }
+
     static final Field<?>[] fieldArray(Collection<? extends Field<?>> fields) {
         return fields == null ? null : fields.toArray(EMPTY_FIELD);
     }
@@ -2525,9 +2562,10 @@ final class Tools {
         int targetIndex = indexOrFail(target.fieldsRow(), targetField);
         int sourceIndex = indexOrFail(source.fieldsRow(), sourceField);
 
+        target.unshareOriginals();
         target.values[targetIndex] = targetType.convert(source.get(sourceIndex));
         target.originals[targetIndex] = targetType.convert(source.original(sourceIndex));
-        target.changed.set(targetIndex, source.changed(sourceIndex));
+        target.changed0(targetIndex, source.changed(sourceIndex));
     }
 
     /**
@@ -3608,8 +3646,17 @@ final class Tools {
      * [#3681] Consume all {@link ResultSet}s from a JDBC {@link Statement}.
      */
     static final void consumeResultSets(ExecuteContext ctx, ExecuteListener listener, Results results, Intern intern, SQLException prev) throws SQLException {
+        consumeResultSets(ctx, listener, results, intern, prev, null);
+    }
+
+    /**
+     * [#3681] Consume all {@link ResultSet}s from a JDBC {@link Statement},
+     * reading them with the fields and record types provided by a query.
+     */
+    static final void consumeResultSets(ExecuteContext ctx, ExecuteListener listener, Results results, Intern intern, SQLException prev, AbstractResultQuery<?> query) throws SQLException {
         boolean anyResults = false;
         int i = 0;
+        int n = 0;
         int rows = (ctx.resultSet() == null) ? ctx.rows() : 0;
 
         for (i = 0; i < maxConsumedResults; i++) {
@@ -3617,8 +3664,11 @@ final class Tools {
                 if (ctx.resultSet() != null) {
                     anyResults = true;
 
-                    Field<?>[] fields = new MetaDataFieldProvider(ctx.configuration(), ctx.resultSet().getMetaData()).getFields();
-                    Cursor<Record> c = new CursorImpl<Record>(ctx, listener, fields, intern != null ? intern.internIndexes(fields) : null, true, false);
+                    Field<?>[] fields = query != null
+                        ? query.getFields(ctx.resultSet().getMetaData(), n)
+                        : new MetaDataFieldProvider(ctx.configuration(), ctx.resultSet().getMetaData()).getFields();
+                    Cursor<Record> c = new CursorImpl<Record>(ctx, listener, fields, intern != null ? intern.internIndexes(fields) : null, true, false, query != null ? query.getRecordType(n) : RecordImpl.class, 0);
+                    n++;
                     results.resultsOrRows().add(new ResultOrRowsImpl(c.fetch()));
                 }
                 else if (prev == null) {
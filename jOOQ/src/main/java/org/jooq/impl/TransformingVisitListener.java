@@ -0,0 +1,194 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jooq.Clause;
+import org.jooq.QueryPart;
+import org.jooq.VisitContext;
+import org.jooq.VisitListener;
+
+/**
+ * A {@link VisitListener} that replaces {@link QueryPart} objects and caches
+ * the replacements.
+ * <p>
+ * Many transformations, such as adding a tenant filter to a table, produce the
+ * same replacement every time the same query part is visited in the same
+ * {@link Clause}. Implementations only need to implement
+ * {@link #transform(VisitContext, QueryPart)}. Its replacements are cached per
+ * query part instance, clause, and {@link #key(VisitContext)}, such that it is
+ * called only once for query parts that are replaced. Query parts that are
+ * kept are not cached, so it is called each time they are visited. Query
+ * parts are compared by identity, which works well with generated tables and
+ * fields.
+ * <p>
+ * Subclasses should override {@link #queryPartTypes()} to return only the
+ * types of query parts they transform, e.g. {@link org.jooq.Table}. Otherwise,
+ * this listener is called for every query part of every rendered query,
+ * including each bind value, name and keyword.
+ * <p>
+ * The replacement is itself not passed to {@link #visitStart(VisitContext)}
+ * again, but its contents are. Transformations must make sure not to recurse
+ * infinitely.
+ * <p>
+ * This implementation is thread safe, and can be shared using
+ * {@link DefaultVisitListenerProvider}. When the cache is full, an arbitrary
+ * replacement is evicted.
+ */
+public abstract class TransformingVisitListener extends DefaultVisitListener {
+
+    private final ConcurrentMap<Key, QueryPart> cache;
+    private final int                           maxSize;
+
+    /**
+     * Create a new listener caching up to 1000 transformations.
+     */
+    public TransformingVisitListener() {
+        this(1000);
+    }
+
+    /**
+     * Create a new listener caching up to <code>maxSize</code>
+     * transformations.
+     */
+    public TransformingVisitListener(int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+
+        this.cache = new ConcurrentHashMap<Key, QueryPart>();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Transform a query part.
+     *
+     * @param context The visit context.
+     * @param part The query part that is being visited.
+     * @return The replacement, or <code>part</code> itself, or
+     *         <code>null</code> to keep the query part.
+     */
+    protected abstract QueryPart transform(VisitContext context, QueryPart part);
+
+    /**
+     * Any additional value a transformation depends on, such as the current
+     * tenant, or <code>null</code> if transformations depend only on the query
+     * part and the clause.
+     */
+    protected Object key(VisitContext context) {
+        return null;
+    }
+
+    /**
+     * Remove all cached transformations.
+     */
+    public final void clear() {
+        cache.clear();
+    }
+
+    /**
+     * The number of cached transformations.
+     */
+    public final int size() {
+        return cache.size();
+    }
+
+    @Override
+    public void visitStart(VisitContext context) {
+        QueryPart part = context.queryPart();
+        Key key = new Key(part, context.clause(), key(context));
+        QueryPart replacement = cache.get(key);
+
+        if (replacement == null) {
+            replacement = transform(context, part);
+
+            // Only actual replacements are cached, in order not to retain
+            // query parts like bind values that are never transformed
+            if (replacement == null || replacement == part)
+                return;
+
+            if (cache.size() >= maxSize) {
+                Iterator<Key> it = cache.keySet().iterator();
+
+                if (it.hasNext()) {
+                    it.next();
+                    it.remove();
+                }
+            }
+
+            cache.put(key, replacement);
+        }
+
+        context.queryPart(replacement);
+    }
+
+    private static final class Key {
+        private final QueryPart part;
+        private final Clause    clause;
+        private final Object    key;
+
+        Key(QueryPart part, Clause clause, Object key) {
+            this.part = part;
+            this.clause = clause;
+            this.key = key;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(part);
+            result = 31 * result + (clause == null ? 0 : clause.hashCode());
+            result = 31 * result + (key == null ? 0 : key.hashCode());
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+
+            Key other = (Key) obj;
+            return part == other.part
+                && clause == other.clause
+                && (key == null ? other.key == null : key.equals(other.key));
+        }
+    }
+}
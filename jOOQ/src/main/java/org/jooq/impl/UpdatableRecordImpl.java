@@ -51,6 +51,7 @@ import static org.jooq.impl.Tools.settings;
 
 import java.math.BigInteger;
 import java.sql.Timestamp;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
@@ -243,7 +244,10 @@ public class UpdatableRecordImpl<R extends UpdatableRecord<R>> extends TableReco
             // Record's original values with the ones in the database
             // [#5384] Do this only if the exclusion flag for unversioned records is off
             else if (isExecuteWithOptimisticLockingIncludeUnversioned()) {
-                checkIfChanged(keys);
+                if (isExecuteWithOptimisticLockingCompareAndSet())
+                    addConditionForOriginalValues(update, keys);
+                else
+                    checkIfChanged(keys);
             }
         }
 
@@ -299,7 +303,10 @@ public class UpdatableRecordImpl<R extends UpdatableRecord<R>> extends TableReco
                 // Record's original values with the ones in the database
                 // [#5384] Do this only if the exclusion flag for unversioned records is off
                 else if (isExecuteWithOptimisticLockingIncludeUnversioned()) {
-                    checkIfChanged(keys);
+                    if (isExecuteWithOptimisticLockingCompareAndSet())
+                        addConditionForOriginalValues(delete1, keys);
+                    else
+                        checkIfChanged(keys);
                 }
             }
 
@@ -400,6 +407,15 @@ public class UpdatableRecordImpl<R extends UpdatableRecord<R>> extends TableReco
             : true;
     }
 
+    private final boolean isExecuteWithOptimisticLockingCompareAndSet() {
+        Configuration configuration = configuration();
+
+        // This can be null when the current record is detached
+        return configuration != null
+            ? TRUE.equals(configuration.settings().isExecuteWithOptimisticLockingCompareAndSet())
+            : false;
+    }
+
     @SuppressWarnings("deprecation")
     private final void addConditionForVersionAndTimestamp(org.jooq.ConditionProvider query) {
         TableField<R, ?> v = getTable().getRecordVersion();
@@ -409,6 +425,20 @@ public class UpdatableRecordImpl<R extends UpdatableRecord<R>> extends TableReco
         if (t != null) Tools.addCondition(query, this, t);
     }
 
+    /**
+     * Add conditions comparing all of this record's non-key, non-LOB fields
+     * with their original values, such that the statement does not affect
+     * any rows if the underlying database record has been changed.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private final void addConditionForOriginalValues(org.jooq.ConditionProvider query, TableField<R, ?>[] keys) {
+        List<TableField<R, ?>> key = Arrays.asList(keys);
+
+        for (Field<?> field : fields.fields.fields)
+            if (!key.contains(field) && !field.getDataType().isLob())
+                query.addConditions(Tools.condition((Field) field, original(field)));
+    }
+
     /**
      * Perform an additional SELECT .. FOR UPDATE to check if the underlying
      * database record has been changed compared to this record.